@@ -1,12 +1,14 @@
 package com.github.jbb248.jburst;
 
-import java.util.ArrayList;
-
-import com.github.jbb248.jburst.util.JBurstDestroyUtil;
+import java.util.AbstractList;
+import java.util.List;
 
 /**
- * The JBurst class is the core of the JBurst package. It manages every non-destroyed JBurstBasic.
- * It also contains static methods to alter frame rate and pause all JBurstBasics universally.
+ * The JBurst class is the core of the JBurst package. It manages the default {@link JBurstWorld},
+ * which updates every JBurstBasic started without a world of its own.
+ * It also contains static methods to alter the default world's frame rate and pause it.
+ * <p>
+ * <i>The default world and its thread are only created the first time they are needed.</i>
  * 
  * @author Joe Bray
  * <p> Modeled from <a href="https://api.haxeflixel.com/flixel/FlxG.html">FlxG</a>
@@ -15,111 +17,147 @@ import com.github.jbb248.jburst.util.JBurstDestroyUtil;
 public class JBurst
 {
     /**
-     * Whether or not ALL JBurst objects can update
+     * Whether or not the default world's members can update
+     * 
+     * @deprecated  in favor of {@code isActive()}, {@code kill()} and {@code revive()}.
+     * This holds the default world's state once it is created, so setting it kills or revives that world.
      */
-    public static boolean active = false;
+    @Deprecated
+    public static volatile boolean active = false;
 
     /**
-     * All currently active JBurstBasic objects are held within this ArrayList.
+     * The members of the default world as of its last tick. 
+     * Adding to it starts a JBurstBasic in the default world, and removing from it stops one.
+     * 
+     * @deprecated  in favor of {@code JBurstBasic.start()} and {@code JBurstBasic.stop()}.
+     * Like those, additions and removals are only seen from the default world's next tick.
      */
-    protected static ArrayList<JBurstBasic> members = new ArrayList<>();
+    @Deprecated
+    protected static final List<JBurstBasic> members = new DefaultMembers();
 
     /**
-     * The measured starting time used to calculate the elapsed time in milliseconds
+     * The world updating every JBurstBasic started without one, created by {@code getWorld()}
      */
-    private static long _startTime = 0;
+    private static volatile JBurstWorld _world;
 
     /**
-     * The total time in milliseconds since {@code _startTime} was decided
+     * Returns the default world, creating and starting it if it doesn't exist yet
      */
-    private static long _total = 0;
+    public static JBurstWorld getWorld()
+    {
+        JBurstWorld world = _world;
+        if(world != null)
+            return world;
+
+        synchronized(JBurst.class)
+        {
+            if(_world == null)
+            {
+                active = true;
+                world = new JBurstWorld("Burst", 60, true);
+                world.start();
+                _world = world;
+            }
+
+            return _world;
+        }
+    }
 
     /**
-     * The rate at which JBurst updates, in frames per second
+     * Returns how often {@code JBurst} should update its members, in frames per second.
+     * <p> 
+     * <i>This does not affect draw speed. JBurst's frame rate is simply how often {@code update()} is called.</i>
+     * 
+     * @see JBurstWorld#getFrameRate()
      */
-    private static int _frameRate = 60;
+    public static int getFrameRate()
+    {
+        return getWorld().getFrameRate();
+    }
 
     /**
-     * The amount of time between frames, in milliseconds
+     * Sets how often {@code JBurst} should update its members, in frames per second.
+     * The default frame rate is 60 fps.
+     * <p>
+     * <i>If {@code framerate} is less than 1, this call will be ignored.</i>
+     * <p>
+     * <i>This does not affect draw speed. JBurst's frame rate is simply how often {@code update()} is called.</i>
+     * 
+     * @see JBurstWorld#setFrameRate(int)
      */
-    private static double _stepMS = 1000.0 / _frameRate;
+    public static void setFrameRate(int frameRate)
+    {
+        getWorld().setFrameRate(frameRate);
+    }
 
     /**
-     * The amount of time between frames, in seconds
+     * Returns how {@code JBurst} waits between updates
      */
-    private static double _step = _stepMS / 1000.0;
-
-    private static double _accumulator = _stepMS;
+    public static JBurstScheduler.Mode getSchedulerMode()
+    {
+        return getWorld().getSchedulerMode();
+    }
 
     /**
-     * Independent thread running sprite update system
+     * Sets how {@code JBurst} waits between updates. The default mode is {@code HYBRID}.
+     * 
+     * @see JBurstScheduler.Mode
      */
-    private static Thread _burstThread = new Thread("Burst") 
+    public static void setSchedulerMode(JBurstScheduler.Mode mode)
     {
-        @Override
-        public void run()
-        {
-            _startTime = System.currentTimeMillis();
-            active = true;
-
-            while(!isInterrupted())
-            {
-                long ticks = System.currentTimeMillis() - _startTime;
-                long _elapsed = ticks - _total;
-                _total = ticks;
-
-                _accumulator += _elapsed;
-
-                while(_accumulator >= _stepMS) 
-                {
-                    update();
-                    _accumulator -= _stepMS;
-                }
-            }
+        getWorld().setSchedulerMode(mode);
+    }
 
-            active = false;
-        }
-    };
+    /**
+     * Returns measurements of how late {@code JBurst}'s updates have started since the scheduler mode was last set
+     */
+    public static JBurstScheduler.JitterStats getJitter()
+    {
+        return getWorld().getJitter();
+    }
 
-    private static void update()
+    /**
+     * Returns whether or not {@code JBurst} updates its members across several threads
+     */
+    public static boolean isParallelUpdate()
     {
-        if(!active || members.size() == 0) return;
+        return getWorld().isParallelUpdate();
+    }
 
-        for(int i = 0; i < members.size(); i++)
-        {
-            JBurstBasic basic = members.get(i);
-            if(basic != null)
-            {
-                if(basic.exists && basic.active)
-                    basic.update(_step);
+    /**
+     * Sets whether or not {@code JBurst} updates its members across several threads. It is disabled by default.
+     * 
+     * @see JBurstWorld#setParallelUpdate(boolean)
+     */
+    public static void setParallelUpdate(boolean parallel)
+    {
+        getWorld().setParallelUpdate(parallel);
+    }
 
-                basic.repaint();
-            }
-        }
+    /**
+     * Returns the most members a single thread updates at a time in parallel mode
+     */
+    public static int getParallelChunkSize()
+    {
+        return getWorld().getParallelChunkSize();
     }
 
     /**
-     * Returns how often {@code JBurst} should update its members, in frames per second.
-     * <p> 
-     * <i>This does not affect draw speed. JBurst's frame rate is simply how often {@code update()} is called.</i>
+     * Sets the most members a single thread updates at a time in parallel mode. The default is 256.
+     * 
+     * @see JBurstWorld#setParallelChunkSize(int)
      */
-    public static int getFrameRate()
+    public static void setParallelChunkSize(int chunkSize)
     {
-        return _frameRate;
+        getWorld().setParallelChunkSize(chunkSize);
     }
 
     /**
-     * Sets how often {@code JBurst} should update its members, in frames per second.
-     * The default frame rate is 60 fps.
-     * <p>
-     * <i>If {@code framerate} is less than 1, this call will be ignored.</i>
-     * <p>
-     * <i>This does not affect draw speed. JBurst's frame rate is simply how often {@code update()} is called.</i>
+     * Returns whether or not {@code JBurst} can update its members
      */
-    public static void setFrameRate(int frameRate)
+    public static boolean isActive()
     {
-        _frameRate = frameRate < 1 ? _frameRate : frameRate;
-        _step = (_stepMS = frameRate > 0 ? 1000.0 / frameRate : 0) / 1000.0;
+        return getWorld().isActive();
     }
 
     /**
@@ -129,7 +167,7 @@ public class JBurst
      */
     public static void kill()
     {
-        active = false;
+        getWorld().kill();
     }
 
     /**
@@ -139,11 +177,11 @@ public class JBurst
      */
     public static void revive()
     {
-        active = true;
+        getWorld().revive();
     }
 
     /**
-     * Resets {@code JBurst} and destroys all of its current members
+     * Resets {@code JBurst} and destroys all of its current members at the start of its next tick
      * <p>
      * <i>
      *  Warning: This will <strong>destroy</strong> every single object managed 
@@ -155,13 +193,49 @@ public class JBurst
      */
     public static void reset()
     {
-        JBurstDestroyUtil.destroyArrayList(members);
-        System.gc();
-
-        _startTime = System.currentTimeMillis();
+        getWorld().reset();
     }
 
-    static {
-        JBurst._burstThread.start();
+    /**
+     * Live view of the default world's members, backing the deprecated {@code members}
+     */
+    private static class DefaultMembers extends AbstractList<JBurstBasic>
+    {
+        @Override
+        public JBurstBasic get(int index)
+        {
+            return getWorld().members.getMembers()[index];
+        }
+
+        @Override
+        public int size()
+        {
+            return getWorld().members.getMembers().length;
+        }
+
+        @Override
+        public boolean add(JBurstBasic basic)
+        {
+            if(basic == null)
+                return false;
+
+            basic.start(getWorld());
+            return true;
+        }
+
+        @Override
+        public boolean remove(Object o)
+        {
+            if(!(o instanceof JBurstBasic))
+                return false;
+
+            // Stopped members stay in their world until its next tick
+            JBurstBasic basic = (JBurstBasic) o;
+            if(basic.getWorld() != getWorld() || !basic.exists)
+                return false;
+
+            basic.stop();
+            return true;
+        }
     }
-}
\ No newline at end of file
+}
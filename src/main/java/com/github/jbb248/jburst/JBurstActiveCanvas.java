@@ -0,0 +1,409 @@
+package com.github.jbb248.jburst;
+
+import java.awt.Canvas;
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+import java.util.ArrayList;
+
+import com.github.jbb248.jburst.util.JBurstDestroyUtil.IBurstDestroyable;
+
+/**
+ * A JBurstActiveCanvas paints JBurstSprites itself, once every tick of its world,
+ * instead of waiting for Swing to repaint it.
+ * <p>
+ * Right after its world updates, the canvas draws every sprite on its draw list into a back buffer
+ * and shows it, all on the world's thread. Frames are therefore shown at exactly the world's frame rate,
+ * with no delay from the event dispatch thread.
+ * <p>
+ * Being an AWT {@code Canvas}, it ignores repaints from the system. Once its world stops, it stops being drawn.
+ * <p>
+ * Like {@link JBurstCanvas}, it can be given cameras to draw its sprites through,
+ * and can batch sprites sharing a graphic. Only sprites inside the canvas, or a camera's view, are drawn.
+ *
+ * <pre>
+ * JBurstActiveCanvas canvas = new JBurstActiveCanvas();
+ * canvas.setSize(500, 500);
+ * window.add(canvas);
+ * window.setVisible(true);
+ * canvas.start();
+ *
+ * JBurstSprite sprite = new JBurstSprite(50, 50).loadGraphic("my-image.png");
+ * sprite.start();
+ * canvas.addSprite(sprite);
+ * </pre>
+ *
+ * @see JBurstCanvas
+ * @see JBurstCamera
+ */
+public class JBurstActiveCanvas extends Canvas implements IBurstDestroyable
+{
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The sprites and cameras drawn by this canvas
+     */
+    private final JBurstDrawList _drawList;
+
+    /**
+     * The number of buffers to flip between
+     */
+    private final int _numBuffers;
+
+    /**
+     * The world rendering this canvas, which may be {@code null}
+     */
+    private volatile JBurstWorld _world;
+
+    /**
+     * Creates a new, empty JBurstActiveCanvas that is double buffered
+     */
+    public JBurstActiveCanvas()
+    {
+        this(2);
+    }
+
+    /**
+     * Creates a new, empty JBurstActiveCanvas
+     *
+     * @param numBuffers    number of buffers to flip between, at least 2
+     */
+    public JBurstActiveCanvas(int numBuffers)
+    {
+        this(numBuffers, JBurstSpatialGrid.DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * Creates a new, empty JBurstActiveCanvas
+     *
+     * @param numBuffers    number of buffers to flip between, at least 2
+     * @param cellSize      width and height of the cells its sprites are indexed by, in pixels
+     *
+     * @see JBurstSpatialGrid#JBurstSpatialGrid(int)
+     */
+    public JBurstActiveCanvas(int numBuffers, int cellSize)
+    {
+        super();
+
+        _numBuffers = Math.max(2, numBuffers);
+        _drawList = new JBurstDrawList(cellSize);
+
+        setIgnoreRepaint(true);
+        setBackground(Color.BLACK);
+    }
+
+    /**
+     * Starts rendering this canvas every tick of JBurst's default world
+     *
+     * @see #start(JBurstWorld)
+     */
+    public void start()
+    {
+        start(JBurst.getWorld());
+    }
+
+    /**
+     * Starts rendering this canvas every tick of {@code world}, after its members have updated.
+     * If it was rendered by another world, it is removed from that one.
+     * <p>
+     * <i>Nothing is drawn until the canvas is displayable.</i>
+     */
+    public void start(JBurstWorld world)
+    {
+        JBurstWorld previous = _world;
+        if(previous != null && previous != world)
+            previous.canvases.remove(this);
+
+        _world = world;
+        world.canvases.addIfAbsent(this);
+    }
+
+    /**
+     * Stops rendering this canvas
+     */
+    public void stop()
+    {
+        JBurstWorld world = _world;
+        if(world != null)
+            world.canvases.remove(this);
+
+        _world = null;
+    }
+
+    /**
+     * Returns the world rendering this canvas, which may be {@code null}
+     */
+    public JBurstWorld getWorld()
+    {
+        return _world;
+    }
+
+    /**
+     * Adds {@code sprite} to this canvas' draw list, on top of any sprites with the same layer and z value.
+     * <p>
+     * <i>If {@code sprite} already belongs to a canvas, it will be moved to this one.</i>
+     *
+     * @param sprite    sprite to be drawn by this canvas
+     *
+     * @return  {@code sprite}. Useful for chaining.
+     */
+    public JBurstSprite addSprite(JBurstSprite sprite)
+    {
+        if(sprite == null || sprite._activeCanvas == this)
+            return sprite;
+
+        if(sprite._canvas != null)
+            sprite._canvas.removeSprite(sprite);
+        if(sprite._activeCanvas != null)
+            sprite._activeCanvas.removeSprite(sprite);
+
+        _drawList.add(sprite);
+        sprite._activeCanvas = this;
+
+        return sprite;
+    }
+
+    /**
+     * Removes {@code sprite} from this canvas' draw list
+     *
+     * @param sprite    sprite to no longer be drawn by this canvas
+     *
+     * @return  {@code sprite}. Useful for chaining.
+     */
+    public JBurstSprite removeSprite(JBurstSprite sprite)
+    {
+        if(sprite == null || sprite._activeCanvas != this)
+            return sprite;
+
+        _drawList.remove(sprite);
+        sprite._activeCanvas = null;
+        sprite.resetPaintState();
+
+        return sprite;
+    }
+
+    /**
+     * Returns the number of sprites drawn by this canvas
+     */
+    public int getNumSprites()
+    {
+        return _drawList.size();
+    }
+
+    /**
+     * Returns a list of the sprites drawn by this canvas, in the order they are painted.
+     * <p><i>Changes to the returned list do not affect this canvas.</i>
+     */
+    public ArrayList<JBurstSprite> getSprites()
+    {
+        return _drawList.getSprites();
+    }
+
+    /**
+     * Returns the grid indexing every sprite on this canvas by its bounds,
+     * which can be used to find the sprites in an area or under a point.
+     * <p>
+     * <i>Sprites are added and removed along with the canvas' draw list. Don't add or remove them directly.</i>
+     */
+    public JBurstSpatialGrid getSpatialIndex()
+    {
+        return _drawList.getGrid();
+    }
+
+    /**
+     * Marks the draw list as needing to be sorted
+     */
+    void orderChanged()
+    {
+        _drawList.orderChanged();
+    }
+
+    /**
+     * Adds {@code camera} to the cameras drawing this canvas' sprites, drawn on top of any added before it.
+     * <p>
+     * <i>If {@code camera} already belongs to a canvas, it will be moved to this one.</i>
+     *
+     * @return  {@code camera}. Useful for chaining.
+     */
+    public JBurstCamera addCamera(JBurstCamera camera)
+    {
+        if(camera == null || camera._activeCanvas == this)
+            return camera;
+
+        if(camera._canvas != null)
+            camera._canvas.removeCamera(camera);
+        if(camera._activeCanvas != null)
+            camera._activeCanvas.removeCamera(camera);
+
+        camera._activeCanvas = this;
+        _drawList.addCamera(camera);
+
+        return camera;
+    }
+
+    /**
+     * Removes {@code camera} from the cameras drawing this canvas' sprites
+     *
+     * @return  {@code camera}. Useful for chaining.
+     */
+    public JBurstCamera removeCamera(JBurstCamera camera)
+    {
+        if(camera == null || camera._activeCanvas != this)
+            return camera;
+
+        _drawList.removeCamera(camera);
+        camera._activeCanvas = null;
+
+        return camera;
+    }
+
+    /**
+     * Returns a list of the cameras drawing this canvas' sprites, in the order they are drawn.
+     * <p><i>Changes to the returned list do not affect this canvas.</i>
+     */
+    public ArrayList<JBurstCamera> getCameras()
+    {
+        return new ArrayList<>(_drawList.cameras());
+    }
+
+    /**
+     * Returns whether or not this canvas reorders sprites to draw those sharing a graphic together
+     */
+    public boolean isBatching()
+    {
+        return _drawList.isBatching();
+    }
+
+    /**
+     * Sets whether or not this canvas reorders sprites to draw those sharing a graphic together. Off by default.
+     *
+     * @see JBurstCanvas#setBatching(boolean)
+     */
+    public void setBatching(boolean batching)
+    {
+        _drawList.setBatching(batching);
+    }
+
+    /**
+     * Returns the number of batches the last frame drew its sprites in,
+     * where a batch is a run of sprites drawn from the same graphic in the same way
+     *
+     * @see JBurstCanvas#getBatchCount()
+     */
+    public int getBatchCount()
+    {
+        return _drawList.getBatchCount();
+    }
+
+    /**
+     * Returns the number of sprites drawn by the last frame
+     */
+    public int getDrawCount()
+    {
+        return _drawList.getDrawCount();
+    }
+
+    /**
+     * Draws every sprite on this canvas into its back buffer and shows it.
+     * <p>
+     * This is called by its world every tick. It can be called manually instead,
+     * as long as it is never called from two threads at once.
+     * <p>
+     * <i>This does nothing until the canvas is displayable.</i>
+     */
+    public void render()
+    {
+        if(!isDisplayable() || getWidth() <= 0 || getHeight() <= 0)
+            return;
+
+        BufferStrategy strategy = getBufferStrategy();
+        if(strategy == null)
+        {
+            try
+            {
+                createBufferStrategy(_numBuffers);
+            }
+            catch(IllegalStateException e) // Removed from its window since being checked
+            {
+                return;
+            }
+
+            strategy = getBufferStrategy();
+        }
+
+        // Repeated if the buffers are lost while drawing, which can happen when the display changes
+        do
+        {
+            do
+            {
+                Graphics2D graphics = (Graphics2D) strategy.getDrawGraphics();
+                try
+                {
+                    draw(graphics);
+                }
+                finally
+                {
+                    graphics.dispose();
+                }
+            }
+            while(strategy.contentsRestored());
+
+            strategy.show();
+        }
+        while(strategy.contentsLost());
+
+        Toolkit.getDefaultToolkit().sync();
+    }
+
+    /**
+     * Clears {@code graphics} with the background color and draws every sprite inside this canvas onto it,
+     * through each camera if there are any. Only the sprites drawn are on screen afterwards.
+     * <p>
+     * <i>Only called by {@code render()}, or by tests drawing into an image.</i>
+     */
+    void draw(Graphics2D graphics)
+    {
+        graphics.setColor(getBackground());
+        graphics.fillRect(0, 0, getWidth(), getHeight());
+
+        _drawList.drawVisible(graphics, getWidth(), getHeight());
+    }
+
+    /**
+     * Does nothing, since this canvas is only drawn by {@code render()}
+     */
+    @Override
+    public void paint(Graphics graphics) { }
+
+    /**
+     * Does nothing, since this canvas is only drawn by {@code render()}
+     */
+    @Override
+    public void update(Graphics graphics) { }
+
+    /**
+     * Stops rendering this canvas and removes every sprite from it.
+     * <p>
+     * <i>The sprites themselves are not destroyed.</i>
+     */
+    @Override
+    public void destroy()
+    {
+        stop();
+
+        _drawList.clearCameras(camera -> camera._activeCanvas = null);
+        _drawList.clear(sprite -> sprite._activeCanvas = null);
+
+        BufferStrategy strategy = getBufferStrategy();
+        if(strategy != null)
+            strategy.dispose();
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("%s[sprites=%d,buffers=%d]", getClass().getName(), getNumSprites(), _numBuffers);
+    }
+}
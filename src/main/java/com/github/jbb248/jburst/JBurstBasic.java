@@ -35,18 +35,58 @@ public class JBurstBasic extends JComponent implements IBurstDestroyable
      */
     public boolean alive = true;
 
+    /**
+     * The world updating this object, or {@code null} if it isn't started
+     */
+    volatile JBurstWorld _world;
+
     /**
      * Creates a new JBurstBasic
      */
     public JBurstBasic() { }
 
     /**
-     * Appends this JBurstBasic to JBurst's list of objects to update,
-     * allowing it to begin updating and drawing
+     * Appends this JBurstBasic to its world's list of objects to update,
+     * allowing it to begin updating and drawing.
+     * Objects that have never been started join JBurst's default world.
+     * <p>
+     * <i>This is safe to call from any thread. The object starts updating from the next tick.</i>
+     * 
+     * @see #start(JBurstWorld)
      */
     public void start()
     {
-        revive(); 
+        JBurstWorld world = _world;
+        start(world != null ? world : JBurst.getWorld());
+    }
+
+    /**
+     * Appends this JBurstBasic to {@code world}'s list of objects to update,
+     * allowing it to begin updating and drawing. 
+     * If it belongs to another world, it is removed from that one.
+     * <p>
+     * <i>This is safe to call from any thread. The object starts updating in {@code world} from its next tick.</i>
+     */
+    public void start(JBurstWorld world)
+    {
+        alive = true;
+        exists = true;
+
+        JBurstWorld previous = _world;
+        _world = world;
+
+        if(previous != null && previous != world)
+            previous.members.remove(this);
+
+        world.members.add(this);
+    }
+
+    /**
+     * Returns the world this object was last started in, or {@code null} if it has never been started
+     */
+    public JBurstWorld getWorld()
+    {
+        return _world;
     }
 
     /**
@@ -58,16 +98,15 @@ public class JBurstBasic extends JComponent implements IBurstDestroyable
     @Deprecated
     public void revive() 
     {
-        alive = true;
-        exists = true;
-
-        if(!JBurst.members.contains(this))
-            JBurst.members.add(this);
+        start();
     }
 
     /**
-     * Removes this JBurstBasic to JBurst's list of objects to update,
+     * Removes this JBurstBasic from its world's list of objects to update,
      * stopping it from begin updating and drawing
+     * <p>
+     * <i>This is safe to call from any thread. The object stops updating immediately 
+     * and is removed from the list at the start of the next tick.</i>
      */
     public void stop()
     {
@@ -85,14 +124,46 @@ public class JBurstBasic extends JComponent implements IBurstDestroyable
         alive = false;
         exists = false;
 
-        JBurst.members.remove(this);
+        JBurstWorld world = _world;
+        if(world != null)
+            world.members.remove(this);
+
         repaint(); // Ensure that the sprite is cleared
     }
 
+    /**
+     * Called by its world every frame while this object exists and is active.
+     * <p>
+     * If {@code setParallelUpdate()} is enabled on the world, this is called on a worker thread 
+     * at the same time as other members' updates, so it must:
+     * <ul>
+     *  <li>Only change this object's own state, or shared state that is itself thread-safe</li>
+     *  <li>Not call Swing methods, such as {@code setLocation()} or {@code add()}</li>
+     * </ul>
+     * Reading other members is safe as long as they aren't changed by their own update.
+     * Starting and stopping JBurstBasics is always safe, since it only takes effect at the next tick.
+     * 
+     * @param elapsed   time since the last call to {@code update()}, in seconds
+     * 
+     * @see JBurstWorld#setParallelUpdate(boolean)
+     */
     public void update(double elapsed) { }
 
     /**
-     * Removes this object from JBurst's list of members
+     * Called by its world after every update to have this object painted.
+     * <p>
+     * This is always called on the world's own thread. 
+     * In parallel mode, it is only called once every member has finished updating.
+     * <p>
+     * By default this simply calls {@code repaint()}.
+     */
+    protected void requestPaint()
+    {
+        repaint();
+    }
+
+    /**
+     * Removes this object from its world's list of members
      */
     public void destroy() 
     {
@@ -0,0 +1,440 @@
+package com.github.jbb248.jburst;
+
+import java.awt.Color;
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.NoninvertibleTransformException;
+import java.awt.geom.Point2D;
+
+/**
+ * A view into the sprites of a canvas, with its own scroll, zoom and rotation.
+ * <p>
+ * A camera covers an area of its canvas, its viewport, and draws the sprites of that canvas
+ * as seen from its scroll position. Sprites keep their position in the scene and never move
+ * when a camera does, so panning a large scene only changes the camera.
+ * Sprites outside of a camera's view are not drawn by it.
+ * <p>
+ * A canvas can have several cameras drawing the same sprites, such as for split screen or a minimap.
+ * They are drawn in the order they were added. A canvas without cameras draws its sprites as they are.
+ * <p>
+ * <i>This is thread-safe.</i>
+ *
+ * <pre>
+ * JBurstCamera camera = new JBurstCamera();
+ * canvas.addCamera(camera);
+ *
+ * camera.focusOn(player.getSpriteX(), player.getSpriteY());
+ * camera.setZoom(2);
+ * </pre>
+ *
+ * @see JBurstCanvas#addCamera(JBurstCamera)
+ * @see JBurstActiveCanvas#addCamera(JBurstCamera)
+ */
+public class JBurstCamera
+{
+    private int _x, _y, _width, _height;
+
+    private double _scrollX = 0, _scrollY = 0;
+
+    private double _zoom = 1;
+
+    private double _angle = 0;
+
+    private Color _background = null;
+
+    /**
+     * The camera's view as of its last change, or {@code null} if it has changed since
+     */
+    private View _view;
+
+    /**
+     * The canvas drawing through this camera, which may be {@code null}
+     */
+    JBurstCanvas _canvas;
+
+    /**
+     * The active canvas drawing through this camera, which may be {@code null}
+     */
+    JBurstActiveCanvas _activeCanvas;
+
+    /**
+     * The view last painted by its canvas. Only used by the canvas' thread.
+     */
+    View _paintedView;
+
+    /**
+     * Creates a new camera covering its entire canvas
+     */
+    public JBurstCamera()
+    {
+        this(0, 0, 0, 0);
+    }
+
+    /**
+     * Creates a new camera covering an area of its canvas
+     *
+     * @param x         x coordinate of the camera on its canvas
+     * @param y         y coordinate of the camera on its canvas
+     * @param width     width of the camera, or 0 to stretch to the right of its canvas
+     * @param height    height of the camera, or 0 to stretch to the bottom of its canvas
+     */
+    public JBurstCamera(int x, int y, int width, int height)
+    {
+        setViewport(x, y, width, height);
+    }
+
+    /**
+     * Returns the area this camera covers on its canvas, as it was given
+     *
+     * @see #setViewport(int, int, int, int)
+     */
+    public synchronized Rectangle getViewport()
+    {
+        return new Rectangle(_x, _y, _width, _height);
+    }
+
+    /**
+     * Sets the area this camera covers on its canvas.
+     * <p>
+     * <i>If {@code width} or {@code height} is 0 or less, the camera stretches to that edge of its canvas.</i>
+     */
+    public synchronized void setViewport(int x, int y, int width, int height)
+    {
+        _x = x;
+        _y = y;
+        _width = Math.max(0, width);
+        _height = Math.max(0, height);
+        _view = null;
+    }
+
+    /**
+     * Returns the x coordinate of the scene shown at the left of this camera, before zoom and rotation
+     */
+    public synchronized double getScrollX()
+    {
+        return _scrollX;
+    }
+
+    /**
+     * Returns the y coordinate of the scene shown at the top of this camera, before zoom and rotation
+     */
+    public synchronized double getScrollY()
+    {
+        return _scrollY;
+    }
+
+    /**
+     * Sets the point of the scene shown at the top-left of this camera, before zoom and rotation
+     */
+    public synchronized void setScroll(double x, double y)
+    {
+        if(x == _scrollX && y == _scrollY)
+            return;
+
+        _scrollX = x;
+        _scrollY = y;
+        _view = null;
+    }
+
+    /**
+     * Moves this camera by ({@code dx}, {@code dy}) in the scene
+     */
+    public synchronized void scrollBy(double dx, double dy)
+    {
+        setScroll(_scrollX + dx, _scrollY + dy);
+    }
+
+    /**
+     * Scrolls this camera so the point ({@code x}, {@code y}) of the scene is at its center
+     */
+    public synchronized void focusOn(double x, double y)
+    {
+        Rectangle screen = screenOf(ownerWidth(), ownerHeight());
+        setScroll(x - screen.width * 0.5, y - screen.height * 0.5);
+    }
+
+    /**
+     * Returns how much this camera magnifies the scene
+     */
+    public synchronized double getZoom()
+    {
+        return _zoom;
+    }
+
+    /**
+     * Sets how much this camera magnifies the scene, relative to its center. The default is 1.
+     * <p>
+     * <i>If {@code zoom} is 0 or less, this call will be ignored.</i>
+     */
+    public synchronized void setZoom(double zoom)
+    {
+        if(zoom <= 0 || zoom == _zoom)
+            return;
+
+        _zoom = zoom;
+        _view = null;
+    }
+
+    /**
+     * Returns the angle this camera is rotated by, in radians
+     */
+    public synchronized double getAngle()
+    {
+        return _angle;
+    }
+
+    /**
+     * Sets the angle, in radians, this camera is rotated by relative to its center.
+     * The scene appears rotated by the same amount.
+     * <p>
+     * <i>{@code theta} will be reduced if it isn't within a range of (-2pi, 2pi)</i>
+     */
+    public synchronized void setAngle(double theta)
+    {
+        theta %= 2.0 * Math.PI;
+        if(theta == _angle)
+            return;
+
+        _angle = theta;
+        _view = null;
+    }
+
+    /**
+     * Returns the color this camera's viewport is filled with before its sprites are drawn, which may be {@code null}
+     */
+    public synchronized Color getBackground()
+    {
+        return _background;
+    }
+
+    /**
+     * Sets the color this camera's viewport is filled with before its sprites are drawn.
+     * If {@code null}, which is the default, nothing is filled.
+     */
+    public synchronized void setBackground(Color color)
+    {
+        _background = color;
+        _view = null;
+    }
+
+    /**
+     * Returns the area of the scene this camera shows, as of the size of its canvas.
+     * If it is rotated, this is the smallest rectangle containing that area.
+     */
+    public Rectangle getViewArea()
+    {
+        View view = getView(ownerWidth(), ownerHeight());
+        return view.toScene(view.screen, new Rectangle());
+    }
+
+    /**
+     * Returns the point of the scene shown at ({@code x}, {@code y}) on its canvas, such as for finding what is under the mouse
+     */
+    public Point2D.Double toScene(double x, double y)
+    {
+        Point2D.Double point = new Point2D.Double(x, y);
+        getView(ownerWidth(), ownerHeight()).inverse.transform(point, point);
+
+        return point;
+    }
+
+    /**
+     * Returns the point on its canvas the point ({@code x}, {@code y}) of the scene is shown at
+     */
+    public Point2D.Double toCanvas(double x, double y)
+    {
+        Point2D.Double point = new Point2D.Double(x, y);
+        getView(ownerWidth(), ownerHeight()).transform.transform(point, point);
+
+        return point;
+    }
+
+    /**
+     * Returns the canvas this camera draws on, which may be {@code null}
+     */
+    public JBurstCanvas getCanvas()
+    {
+        return _canvas;
+    }
+
+    /**
+     * Returns the active canvas this camera draws on, which may be {@code null}
+     */
+    public JBurstActiveCanvas getActiveCanvas()
+    {
+        return _activeCanvas;
+    }
+
+    /**
+     * Returns a snapshot of this camera on a canvas of the given size
+     */
+    synchronized View getView(int canvasWidth, int canvasHeight)
+    {
+        View view = _view;
+        if(view != null && view.canvasWidth == canvasWidth && view.canvasHeight == canvasHeight)
+            return view;
+
+        view = new View(canvasWidth, canvasHeight, screenOf(canvasWidth, canvasHeight),
+            _scrollX, _scrollY, _zoom, _angle, _background);
+        _view = view;
+
+        return view;
+    }
+
+    private Rectangle screenOf(int canvasWidth, int canvasHeight)
+    {
+        int width = _width > 0 ? _width : Math.max(0, canvasWidth - _x);
+        int height = _height > 0 ? _height : Math.max(0, canvasHeight - _y);
+
+        return new Rectangle(_x, _y, width, height);
+    }
+
+    private int ownerWidth()
+    {
+        JBurstCanvas canvas = _canvas;
+        if(canvas != null)
+            return canvas.getWidth();
+
+        JBurstActiveCanvas activeCanvas = _activeCanvas;
+        return activeCanvas != null ? activeCanvas.getWidth() : 0;
+    }
+
+    private int ownerHeight()
+    {
+        JBurstCanvas canvas = _canvas;
+        if(canvas != null)
+            return canvas.getHeight();
+
+        JBurstActiveCanvas activeCanvas = _activeCanvas;
+        return activeCanvas != null ? activeCanvas.getHeight() : 0;
+    }
+
+    @Override
+    public synchronized String toString()
+    {
+        return String.format("%s[x=%d,y=%d,width=%d,height=%d,scrollx=%.2f,scrolly=%.2f,zoom=%.2f,angle=%.2f]",
+            getClass().getName(), _x, _y, _width, _height, _scrollX, _scrollY, _zoom, _angle);
+    }
+
+    /**
+     * An immutable snapshot of a camera on a canvas of a certain size
+     */
+    static final class View
+    {
+        final int canvasWidth, canvasHeight;
+
+        /**
+         * The area covered on the canvas
+         */
+        final Rectangle screen;
+
+        final double scrollX, scrollY, zoom, angle;
+
+        final Color background;
+
+        /**
+         * Maps the scene onto the canvas, and back
+         */
+        final AffineTransform transform, inverse;
+
+        View(int canvasWidth, int canvasHeight, Rectangle screen,
+            double scrollX, double scrollY, double zoom, double angle, Color background)
+        {
+            this.canvasWidth = canvasWidth;
+            this.canvasHeight = canvasHeight;
+            this.screen = screen;
+            this.scrollX = scrollX;
+            this.scrollY = scrollY;
+            this.zoom = zoom;
+            this.angle = angle;
+            this.background = background;
+
+            final double HALF_WIDTH = screen.width * 0.5;
+            final double HALF_HEIGHT = screen.height * 0.5;
+
+            // Zoomed and rotated around the center of the viewport
+            transform = new AffineTransform();
+            transform.translate(screen.x + HALF_WIDTH, screen.y + HALF_HEIGHT);
+            transform.rotate(angle);
+            transform.scale(zoom, zoom);
+            transform.translate(-HALF_WIDTH - scrollX, -HALF_HEIGHT - scrollY);
+
+            AffineTransform inverse;
+            try
+            {
+                inverse = transform.createInverse();
+            }
+            catch(NoninvertibleTransformException e) // Zoom is always positive, so this isn't expected
+            {
+                inverse = new AffineTransform();
+            }
+            this.inverse = inverse;
+        }
+
+        /**
+         * Sets {@code rv} to the area of the canvas covering {@code area} of the scene,
+         * limited to this camera's viewport
+         */
+        Rectangle toCanvas(Rectangle area, Rectangle rv)
+        {
+            bound(transform, area, rv);
+
+            // Widened a pixel for antialiased edges
+            rv.grow(1, 1);
+            Rectangle.intersect(rv, screen, rv);
+
+            return rv;
+        }
+
+        /**
+         * Sets {@code rv} to the area of the scene shown in {@code area} of the canvas
+         */
+        Rectangle toScene(Rectangle area, Rectangle rv)
+        {
+            return bound(inverse, area, rv);
+        }
+
+        /**
+         * Whether or not this view draws the same as {@code other}
+         */
+        boolean matches(View other)
+        {
+            return other != null && screen.equals(other.screen)
+                && scrollX == other.scrollX && scrollY == other.scrollY
+                && zoom == other.zoom && angle == other.angle
+                && (background == null ? other.background == null : background.equals(other.background));
+        }
+
+        /**
+         * Sets {@code rv} to the smallest rectangle containing {@code area} mapped by {@code xForm}
+         */
+        private static Rectangle bound(AffineTransform xForm, Rectangle area, Rectangle rv)
+        {
+            final double M00 = xForm.getScaleX(), M01 = xForm.getShearX(), M02 = xForm.getTranslateX();
+            final double M10 = xForm.getShearY(), M11 = xForm.getScaleY(), M12 = xForm.getTranslateY();
+
+            double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+            double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+
+            for(int corner = 0; corner < 4; corner++)
+            {
+                double x = (corner & 1) == 0 ? area.x : (double) area.x + area.width;
+                double y = (corner & 2) == 0 ? area.y : (double) area.y + area.height;
+
+                double mappedX = M00 * x + M01 * y + M02;
+                double mappedY = M10 * x + M11 * y + M12;
+
+                minX = Math.min(minX, mappedX);
+                minY = Math.min(minY, mappedY);
+                maxX = Math.max(maxX, mappedX);
+                maxY = Math.max(maxY, mappedY);
+            }
+
+            int x = (int) Math.floor(minX);
+            int y = (int) Math.floor(minY);
+            rv.setBounds(x, y, (int) Math.ceil(maxX) - x, (int) Math.ceil(maxY) - y);
+
+            return rv;
+        }
+    }
+}
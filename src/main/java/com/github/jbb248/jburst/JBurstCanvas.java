@@ -0,0 +1,478 @@
+package com.github.jbb248.jburst;
+
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * A JBurstCanvas is a single component that paints many JBurstSprites in one pass.
+ * <p>
+ * Sprites added to a canvas are not added to a container themselves. Instead, the canvas
+ * keeps a draw list and paints every sprite on it whenever it is repainted.
+ * Sprites are drawn by layer, then z value, then the order they were added.
+ * This avoids the cost of Swing managing, clipping and repainting thousands of separate components.
+ * <p>
+ * Every tick, the canvas collects the areas sprites that changed covered and now cover, 
+ * and merges them into a few rectangles. Each rectangle is then painted on its own,
+ * drawing only the sprites that overlap it, back to front. Idle sprites cost nothing to paint.
+ * <p>
+ * Sprites are kept in a {@link JBurstSpatialGrid}, so both painting and checking for changes
+ * only look at the sprites inside the canvas' visible area, plus any that just left it.
+ * Sprites far outside of view, such as in a large scrolling scene, cost nothing to paint.
+ * <p>
+ * With batching on, sprites that don't overlap are reordered so sprites drawn from the same graphic,
+ * in the same way, are drawn one after another. See {@link #setBatching(boolean)}.
+ * <p>
+ * A canvas can be given cameras, each drawing the sprites through its own scroll, zoom and rotation
+ * into an area of the canvas. Without any, sprites are drawn where they are.
+ * <p>
+ * Like any other JBurstBasic, the canvas must be activated with {@code start()} before it will repaint, 
+ * and the sprites drawn by it must be started for them to update.
+ * 
+ * <pre>
+ * JBurstCanvas canvas = new JBurstCanvas();
+ * canvas.setBounds(0, 0, 500, 500);
+ * canvas.start();
+ * 
+ * JBurstSprite sprite = new JBurstSprite(50, 50).loadGraphic("my-image.png");
+ * sprite.start();
+ * canvas.addSprite(sprite);
+ * 
+ * window.add(canvas);
+ * </pre>
+ * 
+ * @see JBurstSprite#draw(Graphics2D) JBurstSprite.draw()
+ * @see JBurstCamera
+ */
+public class JBurstCanvas extends JBurstBasic
+{
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The sprites and cameras drawn by this canvas
+     */
+    private final JBurstDrawList _drawList;
+
+    /**
+     * Whether or not this canvas was shown when it last requested to be repainted
+     */
+    private boolean _shown = false;
+
+    /**
+     * Reused by {@code requestPaint()} to collect the areas to repaint
+     */
+    private final Rectangle _oldArea = new Rectangle(), _newArea = new Rectangle();
+
+    /**
+     * Areas waiting to be repainted
+     */
+    private final JBurstDirtyRegion _dirtyRegion = new JBurstDirtyRegion(16);
+
+    /**
+     * Whether or not the dirty region is waiting to be painted on the event dispatch thread
+     */
+    private final AtomicBoolean _flushPending = new AtomicBoolean();
+
+    /**
+     * The number of rectangles painted by the last flush of the dirty region
+     */
+    private volatile int _dirtyCount = 0;
+
+    /**
+     * The area of this canvas visible on screen as of its last paint, or {@code null} if it hasn't been painted
+     */
+    private volatile Rectangle _viewport;
+
+    /**
+     * The views of every camera as of this tick
+     */
+    private final ArrayList<JBurstCamera.View> _views = new ArrayList<>();
+
+    /**
+     * Reused by {@code requestPaint()} to map areas through a camera's view
+     */
+    private final Rectangle _area = new Rectangle();
+
+    /**
+     * Creates a new, empty JBurstCanvas
+     */
+    public JBurstCanvas() 
+    { 
+        this(JBurstSpatialGrid.DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * Creates a new, empty JBurstCanvas
+     * 
+     * @param cellSize  width and height of the cells its sprites are indexed by, in pixels
+     * 
+     * @see JBurstSpatialGrid#JBurstSpatialGrid(int)
+     */
+    public JBurstCanvas(int cellSize)
+    {
+        super();
+
+        _drawList = new JBurstDrawList(cellSize);
+    }
+
+    /**
+     * Adds {@code sprite} to this canvas' draw list, on top of any sprites with the same layer and z value.
+     * <p>
+     * <i>If {@code sprite} already belongs to a canvas, it will be moved to this one.</i>
+     * 
+     * @param sprite    sprite to be drawn by this canvas
+     * 
+     * @return  {@code sprite}. Useful for chaining.
+     */
+    public JBurstSprite addSprite(JBurstSprite sprite)
+    {
+        if(sprite == null || sprite._canvas == this)
+            return sprite;
+
+        if(sprite._canvas != null)
+            sprite._canvas.removeSprite(sprite);
+        if(sprite._activeCanvas != null)
+            sprite._activeCanvas.removeSprite(sprite);
+
+        _drawList.add(sprite);
+        sprite._canvas = this;
+        sprite.resetPaintState();
+
+        return sprite;
+    }
+
+    /**
+     * Removes {@code sprite} from this canvas' draw list
+     * 
+     * @param sprite    sprite to no longer be drawn by this canvas
+     * 
+     * @return  {@code sprite}. Useful for chaining.
+     */
+    public JBurstSprite removeSprite(JBurstSprite sprite)
+    {
+        if(sprite == null || sprite._canvas != this)
+            return sprite;
+
+        _drawList.remove(sprite);
+        sprite._canvas = null;
+
+        _dirtyRegion.add(sprite.getPaintedBounds());
+        sprite.resetPaintState();
+        flush();
+
+        return sprite;
+    }
+
+    /**
+     * Returns the number of sprites drawn by this canvas
+     */
+    public int getNumSprites()
+    {
+        return _drawList.size();
+    }
+
+    /**
+     * Returns a list of the sprites drawn by this canvas, in the order they are painted.
+     * <p><i>Changes to the returned list do not affect this canvas.</i>
+     */
+    public ArrayList<JBurstSprite> getSprites()
+    {
+        return _drawList.getSprites();
+    }
+
+    /**
+     * Marks the draw list as needing to be sorted
+     */
+    void orderChanged()
+    {
+        _drawList.orderChanged();
+    }
+
+    /**
+     * Returns whether or not this canvas reorders sprites to draw those sharing a graphic together
+     */
+    public boolean isBatching()
+    {
+        return _drawList.isBatching();
+    }
+
+    /**
+     * Sets whether or not this canvas reorders sprites to draw those sharing a graphic together. Off by default.
+     * <p>
+     * Sprites are grouped by graphic and by how they are drawn: translated, from a transform cache, 
+     * or fully transformed. A sprite is only moved ahead of others it doesn't overlap, 
+     * so the result is the same as drawing in order. This suits scenes drawn from a few shared atlases.
+     * 
+     * @see #getBatchCount()
+     */
+    public void setBatching(boolean batching)
+    {
+        _drawList.setBatching(batching);
+    }
+
+    /**
+     * Returns the number of batches the last paint drew its sprites in,
+     * where a batch is a run of sprites drawn from the same graphic in the same way.
+     * <p>
+     * With batching off, this is how many times the graphic or way of drawing changed from one sprite to the next.
+     * Each area of the dirty region is a separate paint.
+     * 
+     * @see #getDrawCount()
+     */
+    public int getBatchCount()
+    {
+        return _drawList.getBatchCount();
+    }
+
+    /**
+     * Returns the number of sprites drawn by the last paint
+     */
+    public int getDrawCount()
+    {
+        return _drawList.getDrawCount();
+    }
+
+    /**
+     * Returns the number of times this canvas had so many layer or z changes at once
+     * that it sorted its draw list in full, rather than fixing the order of the sprites that moved
+     */
+    public int getFullSortCount()
+    {
+        return _drawList.getFullSortCount();
+    }
+
+    /**
+     * Adds {@code camera} to the cameras drawing this canvas' sprites, drawn on top of any added before it.
+     * <p>
+     * <i>If {@code camera} already belongs to a canvas, it will be moved to this one.</i>
+     * 
+     * @return  {@code camera}. Useful for chaining.
+     */
+    public JBurstCamera addCamera(JBurstCamera camera)
+    {
+        if(camera == null || camera._canvas == this)
+            return camera;
+
+        if(camera._canvas != null)
+            camera._canvas.removeCamera(camera);
+        if(camera._activeCanvas != null)
+            camera._activeCanvas.removeCamera(camera);
+
+        camera._canvas = this;
+        camera._paintedView = null;
+        _drawList.addCamera(camera);
+
+        repaint();
+
+        return camera;
+    }
+
+    /**
+     * Removes {@code camera} from the cameras drawing this canvas' sprites
+     * 
+     * @return  {@code camera}. Useful for chaining.
+     */
+    public JBurstCamera removeCamera(JBurstCamera camera)
+    {
+        if(camera == null || camera._canvas != this)
+            return camera;
+
+        _drawList.removeCamera(camera);
+        camera._canvas = null;
+
+        repaint();
+
+        return camera;
+    }
+
+    /**
+     * Returns a list of the cameras drawing this canvas' sprites, in the order they are drawn.
+     * <p><i>Changes to the returned list do not affect this canvas.</i>
+     */
+    public ArrayList<JBurstCamera> getCameras()
+    {
+        return new ArrayList<>(_drawList.cameras());
+    }
+
+    /**
+     * Returns the grid indexing every sprite on this canvas by its bounds, 
+     * which can be used to find the sprites in an area or under a point.
+     * <p>
+     * <i>Sprites are added and removed along with the canvas' draw list. Don't add or remove them directly.</i>
+     */
+    public JBurstSpatialGrid getSpatialIndex()
+    {
+        return _drawList.getGrid();
+    }
+
+    /**
+     * Repaints the areas of every sprite on this canvas that changed since the last tick.
+     * <p>
+     * Once the canvas has been painted, only sprites inside its visible area, 
+     * or that were inside it as of the last tick, are checked. With cameras, that is the part of the scene
+     * each camera shows, and a camera that scrolled, zoomed or rotated repaints its entire viewport.
+     * Sprites are checked whether or not they are started, so sprites that never update cost nothing.
+     * 
+     * @see #getDirtyRegionCount()
+     */
+    @Override
+    protected void requestPaint()
+    {
+        if(exists != _shown)
+        {
+            _shown = exists;
+            repaint();
+        }
+
+        if(!exists) return;
+
+        Rectangle viewport = _viewport;
+        updateViews();
+
+        if(viewport == null)
+            _drawList.forEach(this::checkSprite);
+        else
+        {
+            _drawList.beginVisible();
+            if(_views.isEmpty())
+                _drawList.collectVisible(viewport);
+            else
+            {
+                for(int i = 0; i < _views.size(); i++)
+                {
+                    JBurstCamera.View view = _views.get(i);
+
+                    Rectangle.intersect(viewport, view.screen, _area);
+                    if(!_area.isEmpty())
+                        _drawList.collectVisible(view.toScene(_area, _area));
+                }
+            }
+
+            // Sprites that left the visible area are checked once more to clear where they were
+            _drawList.endVisible(this::checkSprite);
+        }
+
+        flush();
+    }
+
+    /**
+     * Takes a snapshot of every camera for this tick, repainting the viewport of any that changed
+     */
+    private void updateViews()
+    {
+        _views.clear();
+
+        int width = getWidth();
+        int height = getHeight();
+        for(JBurstCamera camera : _drawList.cameras())
+        {
+            JBurstCamera.View view = camera.getView(width, height);
+            if(!view.matches(camera._paintedView))
+            {
+                if(camera._paintedView != null)
+                    _dirtyRegion.add(camera._paintedView.screen);
+                _dirtyRegion.add(view.screen);
+
+                camera._paintedView = view;
+            }
+
+            _views.add(view);
+        }
+    }
+
+    private void checkSprite(JBurstSprite sprite)
+    {
+        if(!sprite.checkPaintState(_oldArea, _newArea))
+            return;
+
+        if(_views.isEmpty())
+        {
+            _dirtyRegion.add(_oldArea);
+            _dirtyRegion.add(_newArea);
+            return;
+        }
+
+        // The sprite is repainted wherever a camera shows it
+        for(int i = 0; i < _views.size(); i++)
+        {
+            JBurstCamera.View view = _views.get(i);
+            if(!_oldArea.isEmpty())
+                _dirtyRegion.add(view.toCanvas(_oldArea, _area));
+            if(!_newArea.isEmpty())
+                _dirtyRegion.add(view.toCanvas(_newArea, _area));
+        }
+    }
+
+    /**
+     * Paints every area in the dirty region on the event dispatch thread, one at a time.
+     * <p>
+     * Swing would otherwise combine every repaint request into one rectangle covering them all.
+     */
+    private void flush()
+    {
+        if(_dirtyRegion.isEmpty() || !_flushPending.compareAndSet(false, true))
+            return;
+
+        SwingUtilities.invokeLater(() -> {
+            _flushPending.set(false);
+
+            ArrayList<Rectangle> rects = _dirtyRegion.drain();
+            if(!isShowing())
+                return;
+
+            _dirtyCount = rects.size();
+            for(Rectangle rect : rects)
+                paintImmediately(rect);
+        });
+    }
+
+    /**
+     * Returns the number of rectangles the areas changed by the last tick were merged into and painted as
+     */
+    public int getDirtyRegionCount()
+    {
+        return _dirtyCount;
+    }
+
+    /**
+     * Used by Java Swing internally to paint this canvas and all of its sprites.
+     */
+    @Override
+    public void paintComponent(Graphics graphics)
+    {
+        super.paintComponent(graphics);
+
+        if(!exists) return;
+
+        _viewport = getVisibleRect();
+
+        _drawList.draw((Graphics2D) graphics, graphics.getClipBounds(), getWidth(), getHeight());
+    }
+
+    /**
+     * Removes every sprite from this canvas and stops it from updating.
+     * <p>
+     * <i>The sprites themselves are not destroyed.</i>
+     */
+    @Override
+    public void destroy()
+    {
+        super.destroy();
+
+        _drawList.clearCameras(camera -> camera._canvas = null);
+        _drawList.clear(sprite -> {
+            sprite._canvas = null;
+            sprite._onScreen = true;
+        });
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("%s[sprites=%d,exists=%b]", getClass().getName(), getNumSprites(), exists);
+    }
+}
@@ -0,0 +1,137 @@
+package com.github.jbb248.jburst;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+
+/**
+ * The areas of a scene that need to be repainted, kept as a small set of rectangles.
+ * <p>
+ * Each rectangle added is merged with any it would be cheaper to paint together with,
+ * meaning their union is no larger than painting them separately plus the fixed cost of a paint.
+ * If there are still too many, the pair wasting the least area when merged is merged until there aren't.
+ * <p>
+ * <i>This is thread-safe.</i>
+ *
+ * @see JBurstCanvas
+ */
+final class JBurstDirtyRegion
+{
+    /**
+     * The area, in pixels, treated as the fixed cost of painting a rectangle separately
+     */
+    private static final long PAINT_COST = 64 * 64;
+
+    private final int _maxRects;
+
+    private ArrayList<Rectangle> _rects = new ArrayList<>();
+
+    /**
+     * @param maxRects  the most rectangles kept before the closest are merged
+     */
+    JBurstDirtyRegion(int maxRects)
+    {
+        _maxRects = Math.max(1, maxRects);
+    }
+
+    /**
+     * Marks an area as needing to be repainted. Empty areas are ignored.
+     */
+    synchronized void add(int x, int y, int width, int height)
+    {
+        if(width <= 0 || height <= 0)
+            return;
+
+        Rectangle rect = new Rectangle(x, y, width, height);
+
+        // Merging can make the rectangle reach others, so this repeats until nothing else is worth merging
+        boolean merged;
+        do
+        {
+            merged = false;
+            for(int i = _rects.size() - 1; i >= 0; i--)
+            {
+                Rectangle other = _rects.get(i);
+                if(other.contains(rect))
+                    return;
+
+                if(wasteOf(rect, other) <= PAINT_COST)
+                {
+                    _rects.remove(i);
+                    rect = rect.union(other);
+                    merged = true;
+                }
+            }
+        }
+        while(merged);
+
+        _rects.add(rect);
+
+        while(_rects.size() > _maxRects)
+            mergeClosest();
+    }
+
+    /**
+     * Marks an area as needing to be repainted. Empty areas are ignored.
+     */
+    void add(Rectangle rect)
+    {
+        add(rect.x, rect.y, rect.width, rect.height);
+    }
+
+    /**
+     * Returns whether or not nothing needs to be repainted
+     */
+    synchronized boolean isEmpty()
+    {
+        return _rects.isEmpty();
+    }
+
+    /**
+     * Returns every area that needs to be repainted, leaving this region empty
+     */
+    synchronized ArrayList<Rectangle> drain()
+    {
+        ArrayList<Rectangle> rects = _rects;
+        _rects = new ArrayList<>();
+
+        return rects;
+    }
+
+    private void mergeClosest()
+    {
+        int bestA = 0, bestB = 1;
+        long bestWaste = Long.MAX_VALUE;
+
+        for(int a = 0; a < _rects.size(); a++)
+        {
+            for(int b = a + 1; b < _rects.size(); b++)
+            {
+                long waste = wasteOf(_rects.get(a), _rects.get(b));
+                if(waste < bestWaste)
+                {
+                    bestWaste = waste;
+                    bestA = a;
+                    bestB = b;
+                }
+            }
+        }
+
+        Rectangle merged = _rects.get(bestA).union(_rects.get(bestB));
+        _rects.remove(bestB);
+        _rects.set(bestA, merged);
+    }
+
+    /**
+     * Returns how many more pixels painting the union of {@code a} and {@code b} covers
+     * than painting each of them does
+     */
+    private static long wasteOf(Rectangle a, Rectangle b)
+    {
+        return areaOf(a.union(b)) - areaOf(a) - areaOf(b);
+    }
+
+    private static long areaOf(Rectangle rect)
+    {
+        return (long) rect.width * rect.height;
+    }
+}
@@ -0,0 +1,162 @@
+package com.github.jbb248.jburst;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+
+import com.github.jbb248.jburst.graphics.JBurstGraphic;
+
+/**
+ * Groups the sprites of one paint into batches that draw from the same graphic in the same way,
+ * so Java2D can keep one source image and rendering state between consecutive draws.
+ * <p>
+ * Sprites are added in draw order. When reordering is allowed, a sprite joins an earlier batch
+ * with the same graphic and state as long as no batch after it overlaps the sprite,
+ * so the result looks exactly as if every sprite was drawn in order.
+ * Only the last few batches are searched, keeping the cost per sprite constant.
+ * <p>
+ * <i>This is not thread-safe. Each canvas keeps its own, used only by the thread painting it.</i>
+ *
+ * @see JBurstCanvas#setBatching(boolean)
+ * @see JBurstActiveCanvas#setBatching(boolean)
+ */
+final class JBurstDrawBatcher
+{
+    /**
+     * The most batches searched back through for one a sprite can join
+     */
+    private static final int LOOK_BACK = 16;
+
+    /**
+     * Batches in draw order. Only the first {@code _count} are in use, the rest are kept for reuse.
+     */
+    private final ArrayList<Batch> _batches = new ArrayList<>();
+
+    private int _count = 0;
+
+    private int _drawCount = 0;
+
+    private final Rectangle _bounds = new Rectangle();
+
+    /**
+     * Adds {@code sprite} to the batches, after every sprite added before it that it overlaps
+     *
+     * @param reorder   whether or not the sprite may join an earlier batch,
+     *                  instead of only the last one
+     */
+    void add(JBurstSprite sprite, boolean reorder)
+    {
+        if(!sprite.isDrawn())
+            return;
+
+        JBurstGraphic source = sprite.getDrawSource();
+        int state = sprite.getDrawState();
+
+        Batch target = null;
+        if(reorder)
+        {
+            sprite.getSpriteBounds(_bounds);
+
+            for(int i = _count - 1; i >= Math.max(0, _count - LOOK_BACK); i--)
+            {
+                Batch batch = _batches.get(i);
+                if(batch.source == source && batch.state == state)
+                {
+                    target = batch;
+                    break;
+                }
+
+                // The sprite has to be drawn over this batch, so it can't join any before it
+                if(batch.area.intersects(_bounds))
+                    break;
+            }
+        }
+        else if(_count > 0)
+        {
+            Batch last = _batches.get(_count - 1);
+            if(last.source == source && last.state == state)
+                target = last;
+        }
+
+        if(target == null)
+            target = nextBatch(source, state);
+
+        target.sprites.add(sprite);
+        if(reorder)
+        {
+            if(target.sprites.size() == 1)
+                target.area.setBounds(_bounds);
+            else
+                target.area.add(_bounds);
+        }
+    }
+
+    /**
+     * Draws every batch in order and empties them
+     *
+     * @return  the number of batches drawn
+     */
+    int draw(Graphics2D graphics)
+    {
+        int count = _count;
+        _drawCount = 0;
+
+        for(int i = 0; i < count; i++)
+        {
+            Batch batch = _batches.get(i);
+            for(int j = 0; j < batch.sprites.size(); j++)
+                batch.sprites.get(j).draw(graphics);
+
+            _drawCount += batch.sprites.size();
+            batch.clear();
+        }
+
+        _count = 0;
+        return count;
+    }
+
+    /**
+     * Returns the number of sprites drawn by the last {@code draw()}
+     */
+    int getDrawCount()
+    {
+        return _drawCount;
+    }
+
+    private Batch nextBatch(JBurstGraphic source, int state)
+    {
+        Batch batch;
+        if(_count < _batches.size())
+            batch = _batches.get(_count);
+        else
+        {
+            batch = new Batch();
+            _batches.add(batch);
+        }
+
+        _count++;
+        batch.source = source;
+        batch.state = state;
+
+        return batch;
+    }
+
+    /**
+     * Sprites drawn from the same graphic in the same way, with the area they cover
+     */
+    private static final class Batch
+    {
+        JBurstGraphic source;
+        int state;
+
+        final ArrayList<JBurstSprite> sprites = new ArrayList<>();
+        final Rectangle area = new Rectangle();
+
+        void clear()
+        {
+            source = null;
+            sprites.clear();
+            area.setBounds(0, 0, 0, 0);
+        }
+    }
+}
@@ -0,0 +1,484 @@
+package com.github.jbb248.jburst;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * The sprites and cameras of one canvas, and the drawing of them, shared by {@link JBurstCanvas}
+ * and {@link JBurstActiveCanvas}.
+ * <p>
+ * Sprites are kept in draw order, sorted only when a layer or z value changed,
+ * and indexed by a {@link JBurstSpatialGrid} so only the sprites overlapping an area are drawn.
+ * Each camera draws those it shows through its own view, into its own area of the canvas.
+ * <p>
+ * Once culling, the sprites inside the visible area are tracked from one update to the next,
+ * so each sprite knows whether it is on screen.
+ * <p>
+ * <i>Sprites and cameras can be added and removed from any thread.
+ * Drawing is not thread-safe, and is only done by the thread painting the canvas.</i>
+ */
+final class JBurstDrawList
+{
+    static final Comparator<JBurstSprite> DRAW_ORDER = (a, b) -> Long.compare(a._canvasOrder, b._canvasOrder);
+
+    /**
+     * The sprites drawn, in the order they are painted
+     */
+    private final ArrayList<JBurstSprite> _sprites = new ArrayList<>();
+
+    /**
+     * The order given to the next sprite added, to break ties in the draw order
+     */
+    private long _nextOrder = 0;
+
+    /**
+     * How many layer or z changes, or additions, were made since the draw list was last sorted
+     */
+    private final AtomicInteger _orderChanges = new AtomicInteger();
+
+    /**
+     * The number of times the draw list was sorted in full rather than incrementally
+     */
+    private volatile int _fullSorts = 0;
+
+    /**
+     * Index of every sprite by its bounds
+     */
+    private final JBurstSpatialGrid _grid;
+
+    /**
+     * The cameras drawing the sprites, in the order they are drawn
+     */
+    private final CopyOnWriteArrayList<JBurstCamera> _cameras = new CopyOnWriteArrayList<>();
+
+    /**
+     * Groups the sprites of each paint by graphic
+     */
+    private final JBurstDrawBatcher _batcher = new JBurstDrawBatcher();
+
+    private volatile boolean _batching = false;
+
+    /**
+     * The number of batches and sprites drawn by the last paint
+     */
+    private volatile int _batchCount = 0, _drawCount = 0;
+
+    /**
+     * Reused while drawing to collect the sprites overlapping the area being drawn,
+     * so they're drawn without holding the lock of {@code _sprites}
+     */
+    private final ArrayList<JBurstSprite> _paintList = new ArrayList<>();
+
+    /**
+     * Reused while drawing to hold the part of the canvas, then the scene, a camera shows
+     */
+    private final Rectangle _area = new Rectangle();
+
+    /**
+     * Reused by {@code drawVisible()} to hold the bounds of the canvas
+     */
+    private final Rectangle _bounds = new Rectangle();
+
+    /**
+     * Sprites inside the visible area as of the last update, and the ones found this update
+     */
+    private ArrayList<JBurstSprite> _visible = new ArrayList<>(), _nextVisible = new ArrayList<>();
+
+    /**
+     * Incremented every update to tell which sprites are still visible
+     */
+    private int _visibleStamp = 0;
+
+    /**
+     * Whether or not sprites are only on screen when found inside the visible area
+     */
+    private volatile boolean _culling = false;
+
+    /**
+     * Whether or not sprites drawn are collected as visible
+     */
+    private boolean _collecting = false;
+
+    /**
+     * Reused by {@code collectVisible()} to hold the sprites found in an area
+     */
+    private final ArrayList<JBurstSprite> _found = new ArrayList<>();
+
+    /**
+     * @param cellSize  width and height of the cells the sprites are indexed by, in pixels
+     */
+    JBurstDrawList(int cellSize)
+    {
+        _grid = new JBurstSpatialGrid(cellSize);
+    }
+
+    /**
+     * Adds {@code sprite} on top of any sprites with the same layer and z value
+     */
+    void add(JBurstSprite sprite)
+    {
+        synchronized(_sprites)
+        {
+            _sprites.add(sprite);
+            sprite._canvasOrder = _sprites.size() - 1;
+            sprite._addOrder = _nextOrder++;
+            orderChanged();
+        }
+        sprite._onScreen = !_culling;
+        _grid.add(sprite);
+    }
+
+    void remove(JBurstSprite sprite)
+    {
+        synchronized(_sprites)
+        {
+            _sprites.remove(sprite);
+        }
+        sprite._onScreen = true;
+        _grid.remove(sprite);
+    }
+
+    /**
+     * Removes every sprite, passing each to {@code action} first
+     */
+    void clear(Consumer<JBurstSprite> action)
+    {
+        _grid.clear();
+
+        synchronized(_sprites)
+        {
+            for(JBurstSprite sprite : _sprites)
+            {
+                sprite._onScreen = true;
+                action.accept(sprite);
+            }
+
+            _sprites.clear();
+        }
+
+        _culling = false;
+    }
+
+    int size()
+    {
+        synchronized(_sprites)
+        {
+            return _sprites.size();
+        }
+    }
+
+    /**
+     * Returns a copy of the sprites, in the order they are painted
+     */
+    ArrayList<JBurstSprite> getSprites()
+    {
+        synchronized(_sprites)
+        {
+            sortSprites();
+            return new ArrayList<>(_sprites);
+        }
+    }
+
+    /**
+     * Passes every sprite to {@code action} in draw order, holding the lock of the draw list
+     */
+    void forEach(Consumer<JBurstSprite> action)
+    {
+        synchronized(_sprites)
+        {
+            sortSprites();
+            for(int i = 0; i < _sprites.size(); i++)
+                action.accept(_sprites.get(i));
+        }
+    }
+
+    JBurstSpatialGrid getGrid()
+    {
+        return _grid;
+    }
+
+    /**
+     * Marks the draw list as needing to be sorted
+     */
+    void orderChanged()
+    {
+        _orderChanges.incrementAndGet();
+    }
+
+    /**
+     * Sorts the draw list if any sprite's layer or z value changed
+     */
+    void sort()
+    {
+        synchronized(_sprites)
+        {
+            sortSprites();
+        }
+    }
+
+    /**
+     * Must hold the lock of {@code _sprites}
+     */
+    private void sortSprites()
+    {
+        int changes = _orderChanges.getAndSet(0);
+        if(changes == 0)
+            return;
+
+        if(JBurstDrawOrder.sort(_sprites, changes))
+            _fullSorts++;
+    }
+
+    int getFullSortCount()
+    {
+        return _fullSorts;
+    }
+
+    /**
+     * Starts finding the sprites inside the visible area for this update. 
+     * The first time, every sprite is taken off screen until found.
+     * 
+     * @see #collectVisible(Rectangle)
+     * @see #endVisible(Consumer)
+     */
+    void beginVisible()
+    {
+        if(!_culling)
+        {
+            // Sprites are treated as visible until the visible area is known
+            _culling = true;
+            forEach(sprite -> sprite._onScreen = false);
+        }
+
+        _visibleStamp++;
+        _nextVisible.clear();
+    }
+
+    /**
+     * Adds every sprite inside {@code area} not already found this update to the visible sprites
+     */
+    void collectVisible(Rectangle area)
+    {
+        _found.clear();
+        _grid.query(area, _found);
+
+        for(int i = 0; i < _found.size(); i++)
+            markVisible(_found.get(i));
+
+        _found.clear();
+    }
+
+    private void markVisible(JBurstSprite sprite)
+    {
+        if(sprite._visibleStamp == _visibleStamp)
+            return;
+
+        sprite._visibleStamp = _visibleStamp;
+        _nextVisible.add(sprite);
+    }
+
+    /**
+     * Puts every sprite found this update on screen, and takes those that were visible last update
+     * but weren't found off screen. Each of them is then passed to {@code action}, if not {@code null},
+     * so sprites that just left the visible area can still clear where they were.
+     */
+    void endVisible(Consumer<JBurstSprite> action)
+    {
+        int stamp = _visibleStamp;
+
+        for(int i = 0; i < _nextVisible.size(); i++)
+        {
+            JBurstSprite sprite = _nextVisible.get(i);
+            sprite._onScreen = true;
+            if(action != null)
+                action.accept(sprite);
+        }
+
+        for(int i = 0; i < _visible.size(); i++)
+        {
+            JBurstSprite sprite = _visible.get(i);
+
+            // Sprites removed since are left alone
+            if(sprite._visibleStamp == stamp || sprite._grid != _grid)
+                continue;
+
+            sprite._onScreen = false;
+            if(action != null)
+                action.accept(sprite);
+        }
+
+        ArrayList<JBurstSprite> visible = _visible;
+        _visible = _nextVisible;
+        _nextVisible = visible;
+    }
+
+    void addCamera(JBurstCamera camera)
+    {
+        _cameras.add(camera);
+    }
+
+    void removeCamera(JBurstCamera camera)
+    {
+        _cameras.remove(camera);
+    }
+
+    /**
+     * Removes every camera, passing each to {@code action} first
+     */
+    void clearCameras(Consumer<JBurstCamera> action)
+    {
+        _cameras.forEach(action);
+        _cameras.clear();
+    }
+
+    /**
+     * Returns the cameras, in the order they are drawn. Safe to iterate while cameras are added or removed.
+     */
+    CopyOnWriteArrayList<JBurstCamera> cameras()
+    {
+        return _cameras;
+    }
+
+    boolean isBatching()
+    {
+        return _batching;
+    }
+
+    void setBatching(boolean batching)
+    {
+        _batching = batching;
+    }
+
+    int getBatchCount()
+    {
+        return _batchCount;
+    }
+
+    int getDrawCount()
+    {
+        return _drawCount;
+    }
+
+    /**
+     * Draws the sprites overlapping {@code clip}, through each camera if there are any.
+     * Each camera clips to its area of the canvas and fills it with its background first.
+     *
+     * @param clip      area of the canvas to draw, or {@code null} to draw all of it
+     * @param width     width of the canvas
+     * @param height    height of the canvas
+     */
+    void draw(Graphics2D graphics, Rectangle clip, int width, int height)
+    {
+        if(_cameras.isEmpty())
+        {
+            drawArea(graphics, clip);
+            return;
+        }
+
+        int batchCount = 0, drawCount = 0;
+        for(JBurstCamera camera : _cameras)
+        {
+            JBurstCamera.View view = camera.getView(width, height);
+
+            Rectangle area = _area;
+            if(clip != null)
+                Rectangle.intersect(clip, view.screen, area);
+            else
+                area.setBounds(view.screen);
+
+            if(area.isEmpty())
+                continue;
+
+            Graphics2D cameraGraphics = (Graphics2D) graphics.create();
+            try
+            {
+                cameraGraphics.clipRect(area.x, area.y, area.width, area.height);
+                if(view.background != null)
+                {
+                    cameraGraphics.setColor(view.background);
+                    cameraGraphics.fillRect(area.x, area.y, area.width, area.height);
+                }
+
+                cameraGraphics.transform(view.transform);
+                drawArea(cameraGraphics, view.toScene(area, area));
+
+                batchCount += _batchCount;
+                drawCount += _drawCount;
+            }
+            finally
+            {
+                cameraGraphics.dispose();
+            }
+        }
+
+        _batchCount = batchCount;
+        _drawCount = drawCount;
+    }
+
+    /**
+     * Draws every sprite inside a canvas of the given size, through each camera if there are any,
+     * and puts exactly the sprites drawn on screen
+     */
+    void drawVisible(Graphics2D graphics, int width, int height)
+    {
+        _bounds.setBounds(0, 0, width, height);
+
+        beginVisible();
+        _collecting = true;
+        try
+        {
+            draw(graphics, _bounds, width, height);
+        }
+        finally
+        {
+            _collecting = false;
+        }
+        endVisible(null);
+    }
+
+    /**
+     * Draws the sprites overlapping {@code area} in order, only looking at those found through the grid,
+     * batching them if enabled. A {@code null} area draws every sprite.
+     */
+    private void drawArea(Graphics2D graphics, Rectangle area)
+    {
+        if(area == null)
+        {
+            synchronized(_sprites)
+            {
+                sortSprites();
+                _paintList.addAll(_sprites);
+            }
+        }
+        else
+        {
+            _grid.query(area, _paintList);
+            if(_collecting)
+            {
+                for(int i = 0; i < _paintList.size(); i++)
+                    markVisible(_paintList.get(i));
+            }
+
+            // Sorted under the lock, so the draw order can't change while sorting
+            synchronized(_sprites)
+            {
+                sortSprites();
+                _paintList.sort(DRAW_ORDER);
+            }
+        }
+
+        boolean batching = _batching;
+        for(int i = 0; i < _paintList.size(); i++)
+            _batcher.add(_paintList.get(i), batching);
+
+        _batchCount = _batcher.draw(graphics);
+        _drawCount = _batcher.getDrawCount();
+
+        _paintList.clear();
+    }
+}
@@ -0,0 +1,89 @@
+package com.github.jbb248.jburst;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+
+/**
+ * Keeps the draw list of a canvas sorted by layer, then z value, then the order sprites were added.
+ * <p>
+ * Scenes usually change only a few sprites' z values each tick, and only by a little, leaving the list
+ * nearly sorted. The list is then put back in order with an insertion sort, which is close to a single pass.
+ * If many sprites changed since the last sort, it is sorted in full instead.
+ * <p>
+ * <i>Callers must hold the lock of the list being sorted.</i>
+ *
+ * @see JBurstSprite#setLayer(int)
+ * @see JBurstSprite#setZ(double)
+ */
+final class JBurstDrawOrder
+{
+    /**
+     * Once more than one in this many sprites changed, the list is sorted in full
+     */
+    private static final int FULL_SORT_RATIO = 8;
+
+    /**
+     * Compares the layer and z value of sprites as of their last sort, then the order they were added
+     */
+    private static final Comparator<JBurstSprite> DEPTH = (a, b) -> {
+        if(a._sortLayer != b._sortLayer)
+            return Integer.compare(a._sortLayer, b._sortLayer);
+        if(a._sortZ != b._sortZ)
+            return Double.compare(a._sortZ, b._sortZ);
+
+        return Long.compare(a._addOrder, b._addOrder);
+    };
+
+    private JBurstDrawOrder() {}
+
+    /**
+     * Sorts {@code sprites} back into draw order and numbers each sprite with its place in it
+     *
+     * @param sprites   draw list to sort
+     * @param changes   how many layer or z changes, or additions, were made since the last sort
+     *
+     * @return  whether or not a full sort was used
+     */
+    static boolean sort(ArrayList<JBurstSprite> sprites, int changes)
+    {
+        final int SIZE = sprites.size();
+
+        // Taken once, so the order can't change halfway through sorting
+        for(int i = 0; i < SIZE; i++)
+        {
+            JBurstSprite sprite = sprites.get(i);
+            sprite._sortLayer = sprite.getLayer();
+            sprite._sortZ = sprite.getZ();
+        }
+
+        boolean full = (long) changes * FULL_SORT_RATIO > SIZE;
+        if(full)
+            sprites.sort(DEPTH);
+        else
+            insertionSort(sprites);
+
+        for(int i = 0; i < SIZE; i++)
+            sprites.get(i)._canvasOrder = i;
+
+        return full;
+    }
+
+    private static void insertionSort(ArrayList<JBurstSprite> sprites)
+    {
+        for(int i = 1; i < sprites.size(); i++)
+        {
+            JBurstSprite sprite = sprites.get(i);
+            if(DEPTH.compare(sprites.get(i - 1), sprite) <= 0)
+                continue;
+
+            int j = i - 1;
+            while(j >= 0 && DEPTH.compare(sprites.get(j), sprite) > 0)
+            {
+                sprites.set(j + 1, sprites.get(j));
+                j--;
+            }
+
+            sprites.set(j + 1, sprite);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.github.jbb248.jburst;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * The list of JBurstBasics updated by a {@code JBurstWorld}.
+ * <p>
+ * Objects can be added and removed from any thread, but the changes are only queued.
+ * They are applied by the updating thread at the start of each tick through {@code applyChanges()},
+ * which publishes a new array of members. Published arrays are never modified,
+ * so they can be iterated without locking while objects are added and removed.
+ */
+final class JBurstRegistry
+{
+    private static final JBurstBasic[] EMPTY = new JBurstBasic[0];
+
+    private final ConcurrentLinkedQueue<Change> _changes = new ConcurrentLinkedQueue<>();
+
+    private volatile JBurstBasic[] _members = EMPTY;
+
+    /**
+     * Every member once queued changes are applied. Only used by the updating thread.
+     */
+    private final Set<JBurstBasic> _registered = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Objects added since the last tick, in the order they were first added. Only used by the updating thread.
+     * May hold objects that were removed again, which {@code _pending} no longer does.
+     */
+    private final ArrayList<JBurstBasic> _added = new ArrayList<>();
+
+    /**
+     * Objects added since the last tick that are still to be placed. Only used by the updating thread.
+     */
+    private final Set<JBurstBasic> _pending = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Published members removed since the last tick. Only used by the updating thread.
+     * <p>
+     * Kept here rather than on the objects themselves, since an object moving between worlds
+     * can be a member of two registries at once.
+     */
+    private final Set<JBurstBasic> _removed = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Queues {@code basic} to be added at the start of the next tick.
+     * <p>
+     * <i>Adding an object that is already a member does nothing.</i>
+     */
+    void add(JBurstBasic basic)
+    {
+        _changes.add(new Change(basic, true));
+    }
+
+    /**
+     * Queues {@code basic} to be removed at the start of the next tick
+     */
+    void remove(JBurstBasic basic)
+    {
+        _changes.add(new Change(basic, false));
+    }
+
+    /**
+     * Applies every queued change in the order they were made.
+     * <p>
+     * <i>Must only be called by the updating thread.</i>
+     *
+     * @return  the current members
+     */
+    JBurstBasic[] applyChanges()
+    {
+        JBurstBasic[] members = _members;
+        if(_changes.isEmpty())
+            return members;
+
+        // Only the objects changed this tick are hashed, so the cost doesn't grow with the number of members
+        Change change;
+        while((change = _changes.poll()) != null)
+        {
+            JBurstBasic basic = change.basic;
+            if(change.add)
+            {
+                if(!_registered.add(basic))
+                    continue;
+
+                if(_removed.remove(basic)) // Removed and added again, so it keeps its place
+                    continue;
+
+                if(_pending.add(basic))
+                    _added.add(basic);
+            }
+            else if(_registered.remove(basic))
+            {
+                if(!_pending.remove(basic))
+                    _removed.add(basic);
+            }
+        }
+
+        int removedCount = _removed.size();
+        if(removedCount == 0 && _pending.isEmpty())
+        {
+            _added.clear();
+            return members;
+        }
+
+        JBurstBasic[] next = new JBurstBasic[members.length - removedCount + _pending.size()];
+        int size = 0;
+        int i = 0;
+
+        // Only looks members up until every removed one is found, then copies the rest as is
+        for(; i < members.length && removedCount > 0; i++)
+        {
+            JBurstBasic basic = members[i];
+            if(_removed.contains(basic))
+                removedCount--;
+            else
+                next[size++] = basic;
+        }
+        System.arraycopy(members, i, next, size, members.length - i);
+        size += members.length - i;
+
+        for(int j = 0; j < _added.size(); j++)
+        {
+            JBurstBasic basic = _added.get(j);
+            if(_pending.remove(basic))
+                next[size++] = basic;
+        }
+
+        _added.clear();
+        _removed.clear();
+
+        _members = next;
+        return next;
+    }
+
+    /**
+     * Returns the members as of the last applied changes.
+     * <p>
+     * <i>The returned array must not be modified.</i>
+     */
+    JBurstBasic[] getMembers()
+    {
+        return _members;
+    }
+
+    /**
+     * Returns the number of members as of the last applied changes
+     */
+    int size()
+    {
+        return _members.length;
+    }
+
+    private static class Change
+    {
+        final JBurstBasic basic;
+        final boolean add;
+
+        Change(JBurstBasic basic, boolean add)
+        {
+            this.basic = basic;
+            this.add = add;
+        }
+    }
+}
@@ -0,0 +1,438 @@
+package com.github.jbb248.jburst;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A fixed timestep loop running on its own thread.
+ * <p>
+ * Tick deadlines are measured with {@code System.nanoTime()} and derived from the tick count
+ * rather than accumulated, so the schedule never drifts, even when the step
+ * (16.666ms at 60 fps) isn't a whole number of milliseconds.
+ * Between ticks the thread waits according to its {@link Mode}.
+ */
+public class JBurstScheduler
+{
+    /**
+     * How the scheduler waits for the next tick
+     */
+    public static enum Mode
+    {
+        /**
+         * Parks until shortly before the deadline, then spins the rest of the way.
+         * Low jitter while leaving the core idle for most of the frame.
+         */
+        HYBRID,
+
+        /**
+         * Parks until the deadline. Cheapest, but only as precise as the OS timer.
+         */
+        PARK,
+
+        /**
+         * Busy-waits until the deadline. Most precise, but keeps a core fully busy.
+         */
+        SPIN
+    }
+
+    private static final long NANOS_PER_SECOND = 1000000000L;
+
+    /**
+     * The most ticks that will be run back to back before the schedule is
+     * reset to the current time, preventing a long stall from being followed by a burst of updates
+     */
+    private static final int MAX_CATCH_UP = 10;
+
+    private final String _name;
+
+    private final Runnable _task;
+
+    private volatile Mode _mode = Mode.HYBRID;
+
+    private volatile int _frameRate = 60;
+
+    private volatile long _spinThreshold = 2000000L;
+
+    private final Jitter _jitter = new Jitter();
+
+    /**
+     * The number of ticks that have thrown, only written by the running thread
+     */
+    private volatile long _errorCount = 0;
+
+    /**
+     * The number of ticks in a row that have thrown, only used by the running thread
+     */
+    private long _failingTicks = 0;
+
+    /**
+     * The thread that should be running, or null once stopped
+     */
+    private volatile Thread _running;
+
+    /**
+     * The thread that is actually running, kept until it finishes its last tick
+     */
+    private Thread _thread;
+
+    /**
+     * Creates a new scheduler that calls {@code task} once every tick
+     *
+     * @param name  name given to the scheduler's thread
+     * @param task  action to be run every tick
+     */
+    public JBurstScheduler(String name, Runnable task)
+    {
+        _name = name;
+        _task = task;
+    }
+
+    /**
+     * Starts this scheduler's thread. Calls made while it is already running are ignored.
+     * <p>
+     * If a thread stopped before this call is still finishing its last tick, this waits for it to end first,
+     * so two ticks never run at once. If called from that thread, it simply keeps running.
+     * <p>
+     * <i>Don't call this from a thread the task itself may wait on, such as the event dispatch thread
+     * while the task uses {@code SwingUtilities.invokeAndWait()}. Restarting right after a stop would
+     * then wait on a tick that is waiting on the caller, and neither would ever finish.
+     * Restart from another thread, or from the task itself, instead.</i>
+     */
+    public synchronized void start()
+    {
+        if(_running != null)
+            return;
+
+        Thread current = Thread.currentThread();
+        if(_thread == current)
+        {
+            Thread.interrupted(); // Clears the interrupt from stop()
+            _running = current;
+            return;
+        }
+
+        while(_thread != null)
+        {
+            try
+            {
+                wait();
+            }
+            catch(InterruptedException e)
+            {
+                current.interrupt();
+                System.out.println("Interrupted while waiting for \"" + _name + "\" to stop");
+                return;
+            }
+        }
+
+        _thread = _running = new Thread(this::run, _name);
+        _thread.start();
+    }
+
+    /**
+     * Stops this scheduler's thread once its current tick is finished
+     */
+    public synchronized void stop()
+    {
+        if(_running == null)
+            return;
+
+        _running.interrupt();
+        _running = null;
+    }
+
+    /**
+     * Returns whether or not this scheduler's thread is running
+     */
+    public boolean isRunning()
+    {
+        return _running != null;
+    }
+
+    private void run()
+    {
+        Thread thread = Thread.currentThread();
+
+        try
+        {
+            loop(thread);
+        }
+        finally
+        {
+            synchronized(this)
+            {
+                if(_running == thread)
+                    _running = null;
+                if(_thread == thread)
+                    _thread = null;
+
+                notifyAll();
+            }
+        }
+    }
+
+    private void loop(Thread thread)
+    {
+        int frameRate = _frameRate;
+        long epoch = System.nanoTime();
+        long ticks = 0;
+        long deadline = epoch;
+
+        while(_running == thread)
+        {
+            if(frameRate != _frameRate)
+            {
+                frameRate = _frameRate;
+                epoch = deadline;
+                ticks = 0;
+            }
+
+            waitUntil(deadline, thread);
+            if(_running != thread)
+                break;
+
+            long now = System.nanoTime();
+            _jitter.record(now - deadline);
+
+            int steps = 0;
+            do
+            {
+                tick();
+                deadline = epoch + (++ticks * NANOS_PER_SECOND) / frameRate;
+            }
+            while(deadline - now <= 0 && ++steps < MAX_CATCH_UP && _running == thread);
+
+            if(deadline - now <= 0)
+            {
+                epoch = deadline = System.nanoTime();
+                ticks = 0;
+            }
+        }
+    }
+
+    /**
+     * Runs the task once, reporting anything it throws so one bad tick doesn't end the loop.
+     * <p>
+     * Only the first of several failing ticks in a row is reported in full.
+     * The rest are counted, and summed up once a tick succeeds again.
+     */
+    private void tick()
+    {
+        try
+        {
+            _task.run();
+        }
+        catch(RuntimeException e)
+        {
+            _errorCount++;
+            if(_failingTicks++ == 0)
+            {
+                System.out.println("Error in tick of \"" + _name + "\": " + e);
+                e.printStackTrace();
+            }
+            return;
+        }
+
+        if(_failingTicks > 1)
+            System.out.println(String.format("\"%s\" recovered after %d failing ticks in a row", _name, _failingTicks));
+        _failingTicks = 0;
+    }
+
+    private void waitUntil(long deadline, Thread thread)
+    {
+        switch(_mode)
+        {
+            case SPIN:
+                spin(deadline, thread);
+                break;
+            case PARK:
+                park(deadline, 0, thread);
+                break;
+            default:
+                park(deadline, _spinThreshold, thread);
+                spin(deadline, thread);
+        }
+    }
+
+    private static void park(long deadline, long margin, Thread thread)
+    {
+        long remaining;
+        while((remaining = deadline - margin - System.nanoTime()) > 0 && !thread.isInterrupted())
+            LockSupport.parkNanos(remaining);
+    }
+
+    private static void spin(long deadline, Thread thread)
+    {
+        while(deadline - System.nanoTime() > 0 && !thread.isInterrupted()) { }
+    }
+
+    /**
+     * Returns the rate at which this scheduler ticks, in frames per second
+     */
+    public int getFrameRate()
+    {
+        return _frameRate;
+    }
+
+    /**
+     * Sets the rate at which this scheduler ticks, in frames per second.
+     * <p>
+     * <i>If {@code frameRate} is less than 1, this call will be ignored.</i>
+     */
+    public void setFrameRate(int frameRate)
+    {
+        if(frameRate > 0)
+            _frameRate = frameRate;
+    }
+
+    /**
+     * Returns how this scheduler waits between ticks
+     */
+    public Mode getMode()
+    {
+        return _mode;
+    }
+
+    /**
+     * Sets how this scheduler waits between ticks.
+     * The jitter measurements are reset so they only reflect the new mode.
+     * <p>
+     * <i>If {@code mode} is null, this call will be ignored.</i>
+     */
+    public void setMode(Mode mode)
+    {
+        if(mode == null)
+            return;
+
+        _mode = mode;
+        _jitter.reset();
+    }
+
+    /**
+     * Returns how long before a deadline {@code HYBRID} mode stops parking and begins spinning, in nanoseconds
+     */
+    public long getSpinThreshold()
+    {
+        return _spinThreshold;
+    }
+
+    /**
+     * Sets how long before a deadline {@code HYBRID} mode stops parking and begins spinning, in nanoseconds.
+     * <p>
+     * Larger values tolerate coarser OS timers at the cost of more spinning.
+     * <i>Negative values will be ignored.</i>
+     */
+    public void setSpinThreshold(long nanos)
+    {
+        if(nanos >= 0)
+            _spinThreshold = nanos;
+    }
+
+    /**
+     * Returns a snapshot of how late ticks have started since the mode was last set
+     */
+    public JitterStats getJitter()
+    {
+        return _jitter.snapshot();
+    }
+
+    /**
+     * Returns the number of ticks that have thrown an exception since this scheduler was created
+     */
+    public long getErrorCount()
+    {
+        return _errorCount;
+    }
+
+    /**
+     * Clears all jitter measurements taken so far
+     */
+    public void resetJitter()
+    {
+        _jitter.reset();
+    }
+
+    /**
+     * Running measurement of tick lateness
+     */
+    private static class Jitter
+    {
+        private long _samples;
+        private double _sum;
+        private double _sumSquares;
+        private long _max;
+
+        synchronized void record(long lateness)
+        {
+            _samples++;
+            _sum += lateness;
+            _sumSquares += (double) lateness * lateness;
+            _max = Math.max(_max, lateness);
+        }
+
+        synchronized void reset()
+        {
+            _samples = 0;
+            _sum = _sumSquares = 0;
+            _max = 0;
+        }
+
+        synchronized JitterStats snapshot()
+        {
+            if(_samples == 0)
+                return new JitterStats(0, 0, 0, 0);
+
+            double mean = _sum / _samples;
+            double variance = Math.max(0, _sumSquares / _samples - mean * mean);
+
+            return new JitterStats(_samples, mean, Math.sqrt(variance), _max);
+        }
+    }
+
+    /**
+     * Measurements of how late ticks started relative to their deadlines.
+     * All times are in nanoseconds.
+     */
+    public static class JitterStats
+    {
+        /**
+         * The number of ticks measured
+         */
+        public final long samples;
+
+        /**
+         * The average lateness of a tick
+         */
+        public final double mean;
+
+        /**
+         * The standard deviation of tick lateness
+         */
+        public final double deviation;
+
+        /**
+         * The latest any tick has started
+         */
+        public final long max;
+
+        JitterStats(long samples, double mean, double deviation, long max)
+        {
+            this.samples = samples;
+            this.mean = mean;
+            this.deviation = deviation;
+            this.max = max;
+        }
+
+        @Override
+        public String toString()
+        {
+            return String.format("%s[samples=%d,mean=%.3fms,deviation=%.3fms,max=%.3fms]",
+                getClass().getName(), samples, mean / 1e6, deviation / 1e6, max / 1e6);
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("%s[name=\"%s\",mode=%s,framerate=%d]", getClass().getName(), _name, _mode, _frameRate);
+    }
+}
@@ -0,0 +1,541 @@
+package com.github.jbb248.jburst;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A uniform grid of cells over the bounds of JBurstSprites, used to quickly find the sprites in an area.
+ * <p>
+ * Each sprite is listed in every cell its bounds overlap. When a sprite is moved, scaled, rotated
+ * or changes frame size, it is only marked as moved. Moved sprites are put back in the right cells
+ * the next time the grid is searched, and only if they actually left their cells.
+ * <p>
+ * A sprite can only be in one grid at a time. Every {@code JBurstCanvas} keeps one for the sprites it draws.
+ * <p>
+ * <i>This is thread-safe.</i>
+ *
+ * @see JBurstCanvas#getSpatialIndex()
+ */
+public class JBurstSpatialGrid
+{
+    /**
+     * The default width and height of each cell, in pixels
+     */
+    public static final int DEFAULT_CELL_SIZE = 128;
+
+    private final int _cellSize;
+
+    private final CellTable _cells = new CellTable();
+
+    /**
+     * Range of cells any sprite may be listed in. Only grows until the grid is empty again.
+     */
+    private int _minCellX, _minCellY, _maxCellX = -1, _maxCellY = -1;
+
+    /**
+     * Reused to read sprites' bounds while placing them
+     */
+    private final Rectangle _bounds = new Rectangle();
+
+    /**
+     * Sprites marked as moved since the grid was last searched
+     */
+    private final ArrayList<JBurstSprite> _moved = new ArrayList<>();
+
+    private int _size = 0;
+
+    /**
+     * Incremented every search, so sprites found in several cells are only returned once
+     */
+    private int _searchStamp = 0;
+
+    /**
+     * Creates a new, empty grid with cells of the default size
+     */
+    public JBurstSpatialGrid()
+    {
+        this(DEFAULT_CELL_SIZE);
+    }
+
+    /**
+     * Creates a new, empty grid.
+     * <p>
+     * Cells about the size of a typical sprite, or a few times larger, work best.
+     * <i>If {@code cellSize} is less than 1, the default size is used.</i>
+     *
+     * @param cellSize  width and height of each cell, in pixels
+     */
+    public JBurstSpatialGrid(int cellSize)
+    {
+        _cellSize = cellSize < 1 ? DEFAULT_CELL_SIZE : cellSize;
+    }
+
+    /**
+     * Adds {@code sprite} to this grid. If it belongs to another grid, it is removed from that one.
+     * <p>
+     * <i>Adding a sprite that is already in this grid does nothing.</i>
+     */
+    public void add(JBurstSprite sprite)
+    {
+        if(sprite == null)
+            return;
+
+        JBurstSpatialGrid previous = sprite._grid;
+        if(previous == this)
+            return;
+        if(previous != null)
+            previous.remove(sprite);
+
+        synchronized(this)
+        {
+            sprite._grid = this;
+            sprite._gridMoved = false;
+            sprite._gridBounds.setBounds(0, 0, 0, 0);
+            _size++;
+
+            place(sprite);
+        }
+    }
+
+    /**
+     * Removes {@code sprite} from this grid
+     *
+     * @return  whether or not {@code sprite} was in this grid
+     */
+    public synchronized boolean remove(JBurstSprite sprite)
+    {
+        if(sprite == null || sprite._grid != this)
+            return false;
+
+        unplace(sprite);
+
+        if(sprite._gridMoved)
+        {
+            _moved.remove(sprite);
+            sprite._gridMoved = false;
+        }
+
+        sprite._grid = null;
+        _size--;
+
+        return true;
+    }
+
+    /**
+     * Marks {@code sprite} as moved, so its cells are checked before the grid is next searched
+     */
+    synchronized void markMoved(JBurstSprite sprite)
+    {
+        if(sprite._grid != this || sprite._gridMoved)
+            return;
+
+        sprite._gridMoved = true;
+        _moved.add(sprite);
+    }
+
+    /**
+     * Adds every sprite whose bounds intersect {@code area} to {@code result}, in no particular order
+     *
+     * @param area      area to search, relative to the sprites' parent or canvas
+     * @param result    list the sprites are added to
+     *
+     * @return  {@code result}. Useful for chaining.
+     */
+    public synchronized <T extends List<? super JBurstSprite>> T query(Rectangle area, T result)
+    {
+        if(area == null || area.isEmpty())
+            return result;
+
+        refresh();
+
+        int stamp = ++_searchStamp;
+
+        // Only the cells that can hold anything are searched
+        int minX = Math.max(cellOf(area.x), _minCellX);
+        int minY = Math.max(cellOf(area.y), _minCellY);
+        int maxX = Math.min(cellOf(area.x + area.width - 1), _maxCellX);
+        int maxY = Math.min(cellOf(area.y + area.height - 1), _maxCellY);
+        if(minX > maxX || minY > maxY)
+            return result;
+
+        // Walking the occupied cells is cheaper than probing an area mostly made of empty ones
+        if((long) (maxX - minX + 1) * (maxY - minY + 1) > _cells.capacity())
+        {
+            for(int slot = 0; slot < _cells.capacity(); slot++)
+            {
+                ArrayList<JBurstSprite> cell = _cells.valueAt(slot);
+                if(cell == null)
+                    continue;
+
+                long key = _cells.keyAt(slot);
+                int cellX = (int) (key >> 32), cellY = (int) key;
+                if(cellX >= minX && cellX <= maxX && cellY >= minY && cellY <= maxY)
+                    collect(cell, area, stamp, result);
+            }
+
+            return result;
+        }
+
+        for(int cellY = minY; cellY <= maxY; cellY++)
+        {
+            for(int cellX = minX; cellX <= maxX; cellX++)
+            {
+                ArrayList<JBurstSprite> cell = _cells.get(keyOf(cellX, cellY));
+                if(cell != null)
+                    collect(cell, area, stamp, result);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Adds the sprites in {@code cell} that intersect {@code area} and weren't already found this search
+     */
+    private static void collect(ArrayList<JBurstSprite> cell, Rectangle area, int stamp, List<? super JBurstSprite> result)
+    {
+        for(int i = 0; i < cell.size(); i++)
+        {
+            JBurstSprite sprite = cell.get(i);
+            if(sprite._gridStamp == stamp)
+                continue;
+
+            sprite._gridStamp = stamp;
+            if(sprite._gridBounds.intersects(area))
+                result.add(sprite);
+        }
+    }
+
+    /**
+     * Returns every sprite whose bounds intersect {@code area}, in no particular order
+     *
+     * @param area  area to search, relative to the sprites' parent or canvas
+     */
+    public ArrayList<JBurstSprite> query(Rectangle area)
+    {
+        return query(area, new ArrayList<>());
+    }
+
+    /**
+     * Returns every sprite whose bounds contain the point ({@code x}, {@code y}), in no particular order
+     */
+    public synchronized ArrayList<JBurstSprite> queryPoint(int x, int y)
+    {
+        ArrayList<JBurstSprite> result = new ArrayList<>();
+
+        refresh();
+
+        ArrayList<JBurstSprite> cell = _cells.get(keyOf(cellOf(x), cellOf(y)));
+        if(cell == null)
+            return result;
+
+        for(JBurstSprite sprite : cell)
+        {
+            if(sprite._gridBounds.contains(x, y))
+                result.add(sprite);
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the number of sprites in this grid
+     */
+    public synchronized int size()
+    {
+        return _size;
+    }
+
+    /**
+     * Returns the width and height of each cell, in pixels
+     */
+    public int getCellSize()
+    {
+        return _cellSize;
+    }
+
+    /**
+     * Removes every sprite from this grid
+     */
+    public synchronized void clear()
+    {
+        for(int slot = 0; slot < _cells.capacity(); slot++)
+        {
+            ArrayList<JBurstSprite> cell = _cells.valueAt(slot);
+            if(cell == null)
+                continue;
+
+            for(JBurstSprite sprite : cell)
+            {
+                sprite._grid = null;
+                sprite._gridMoved = false;
+            }
+        }
+
+        for(JBurstSprite sprite : _moved)
+        {
+            sprite._grid = null;
+            sprite._gridMoved = false;
+        }
+
+        _cells.clear();
+        _moved.clear();
+        _size = 0;
+        resetCellRange();
+    }
+
+    /**
+     * Puts every moved sprite back in the right cells
+     */
+    private void refresh()
+    {
+        for(int i = 0; i < _moved.size(); i++)
+        {
+            JBurstSprite sprite = _moved.get(i);
+            sprite._gridMoved = false;
+
+            if(sprite._grid == this)
+                place(sprite);
+        }
+
+        _moved.clear();
+    }
+
+    /**
+     * Lists {@code sprite} in the cells its current bounds overlap,
+     * only moving it if they aren't the cells it is already listed in
+     */
+    private void place(JBurstSprite sprite)
+    {
+        Rectangle old = sprite._gridBounds;
+        Rectangle bounds = sprite.getSpriteBounds(_bounds);
+
+        boolean wasPlaced = !old.isEmpty();
+        boolean placed = !bounds.isEmpty();
+
+        if(wasPlaced && placed
+            && cellOf(old.x) == cellOf(bounds.x) && cellOf(old.y) == cellOf(bounds.y)
+            && cellOf(old.x + old.width - 1) == cellOf(bounds.x + bounds.width - 1)
+            && cellOf(old.y + old.height - 1) == cellOf(bounds.y + bounds.height - 1))
+        {
+            old.setBounds(bounds);
+            return;
+        }
+
+        if(wasPlaced)
+            unplace(sprite);
+
+        old.setBounds(bounds);
+        if(!placed)
+            return;
+
+        int minX = cellOf(bounds.x), minY = cellOf(bounds.y);
+        int maxX = cellOf(bounds.x + bounds.width - 1);
+        int maxY = cellOf(bounds.y + bounds.height - 1);
+
+        for(int cellY = minY; cellY <= maxY; cellY++)
+        {
+            for(int cellX = minX; cellX <= maxX; cellX++)
+                _cells.getOrCreate(keyOf(cellX, cellY)).add(sprite);
+        }
+
+        if(_minCellX > _maxCellX)
+        {
+            _minCellX = minX;
+            _minCellY = minY;
+            _maxCellX = maxX;
+            _maxCellY = maxY;
+        }
+        else
+        {
+            _minCellX = Math.min(_minCellX, minX);
+            _minCellY = Math.min(_minCellY, minY);
+            _maxCellX = Math.max(_maxCellX, maxX);
+            _maxCellY = Math.max(_maxCellY, maxY);
+        }
+    }
+
+    /**
+     * Removes {@code sprite} from every cell it is listed in
+     */
+    private void unplace(JBurstSprite sprite)
+    {
+        Rectangle bounds = sprite._gridBounds;
+        if(bounds.isEmpty())
+            return;
+
+        int maxX = cellOf(bounds.x + bounds.width - 1);
+        int maxY = cellOf(bounds.y + bounds.height - 1);
+
+        for(int cellY = cellOf(bounds.y); cellY <= maxY; cellY++)
+        {
+            for(int cellX = cellOf(bounds.x); cellX <= maxX; cellX++)
+            {
+                long key = keyOf(cellX, cellY);
+                ArrayList<JBurstSprite> cell = _cells.get(key);
+                if(cell == null)
+                    continue;
+
+                cell.remove(sprite);
+                if(cell.isEmpty())
+                    _cells.remove(key);
+            }
+        }
+
+        bounds.setBounds(0, 0, 0, 0);
+
+        if(_cells.size() == 0)
+            resetCellRange();
+    }
+
+    /**
+     * Marks the range of occupied cells as empty
+     */
+    private void resetCellRange()
+    {
+        _minCellX = _minCellY = 0;
+        _maxCellX = _maxCellY = -1;
+    }
+
+    private int cellOf(int coordinate)
+    {
+        return Math.floorDiv(coordinate, _cellSize);
+    }
+
+    private static long keyOf(int cellX, int cellY)
+    {
+        return ((long) cellX << 32) | (cellY & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Open-addressed table of cells keyed by their packed coordinates, so probing a cell never boxes its key
+     */
+    private static class CellTable
+    {
+        private long[] _keys = new long[16];
+        private ArrayList<?>[] _values = new ArrayList<?>[16];
+        private int _size = 0;
+
+        int size()
+        {
+            return _size;
+        }
+
+        int capacity()
+        {
+            return _keys.length;
+        }
+
+        long keyAt(int slot)
+        {
+            return _keys[slot];
+        }
+
+        @SuppressWarnings("unchecked")
+        ArrayList<JBurstSprite> valueAt(int slot)
+        {
+            return (ArrayList<JBurstSprite>) _values[slot];
+        }
+
+        ArrayList<JBurstSprite> get(long key)
+        {
+            int mask = _keys.length - 1;
+            for(int slot = slotOf(key, mask); _values[slot] != null; slot = (slot + 1) & mask)
+            {
+                if(_keys[slot] == key)
+                    return valueAt(slot);
+            }
+
+            return null;
+        }
+
+        ArrayList<JBurstSprite> getOrCreate(long key)
+        {
+            ArrayList<JBurstSprite> cell = get(key);
+            if(cell != null)
+                return cell;
+
+            // Kept at most half full so probes stay short
+            if((_size + 1) * 2 > _keys.length)
+                resize(_keys.length * 2);
+
+            cell = new ArrayList<>();
+            insert(key, cell);
+            _size++;
+
+            return cell;
+        }
+
+        void remove(long key)
+        {
+            int mask = _keys.length - 1;
+            int slot = slotOf(key, mask);
+            while(_values[slot] != null && _keys[slot] != key)
+                slot = (slot + 1) & mask;
+
+            if(_values[slot] == null)
+                return;
+
+            _values[slot] = null;
+            _size--;
+
+            // Moves back any later entries of the same run that could no longer be reached
+            for(int next = (slot + 1) & mask; _values[next] != null; next = (next + 1) & mask)
+            {
+                int home = slotOf(_keys[next], mask);
+                if(((next - home) & mask) >= ((next - slot) & mask))
+                {
+                    _keys[slot] = _keys[next];
+                    _values[slot] = _values[next];
+                    _values[next] = null;
+                    slot = next;
+                }
+            }
+        }
+
+        void clear()
+        {
+            _keys = new long[16];
+            _values = new ArrayList<?>[16];
+            _size = 0;
+        }
+
+        private void insert(long key, ArrayList<?> value)
+        {
+            int mask = _keys.length - 1;
+            int slot = slotOf(key, mask);
+            while(_values[slot] != null)
+                slot = (slot + 1) & mask;
+
+            _keys[slot] = key;
+            _values[slot] = value;
+        }
+
+        private void resize(int capacity)
+        {
+            long[] keys = _keys;
+            ArrayList<?>[] values = _values;
+
+            _keys = new long[capacity];
+            _values = new ArrayList<?>[capacity];
+            for(int i = 0; i < keys.length; i++)
+            {
+                if(values[i] != null)
+                    insert(keys[i], values[i]);
+            }
+        }
+
+        private static int slotOf(long key, int mask)
+        {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash >>> 32) & mask;
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("%s[sprites=%d,cells=%d,cellsize=%d]", getClass().getName(), size(), _cells.size(), _cellSize);
+    }
+}
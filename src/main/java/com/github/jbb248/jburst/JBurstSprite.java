@@ -1,6 +1,7 @@
 package com.github.jbb248.jburst;
 
 import java.awt.Color;
+import java.awt.Container;
 import java.awt.Dimension;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
@@ -9,12 +10,18 @@ import java.awt.Rectangle;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Point2D;
 import java.awt.image.BufferedImage;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.swing.SwingUtilities;
 
 import com.github.jbb248.jburst.animation.JBurstAnimationController;
 import com.github.jbb248.jburst.graphics.JBurstGraphic;
+import com.github.jbb248.jburst.graphics.JBurstTransformCache;
 import com.github.jbb248.jburst.graphics.frames.JBurstAtlasFrames;
 import com.github.jbb248.jburst.graphics.frames.JBurstFrame;
 import com.github.jbb248.jburst.graphics.frames.JBurstFramesCollection;
+import com.github.jbb248.jburst.graphics.frames.JBurstTileFrames;
 import com.github.jbb248.jburst.util.JBurstDestroyUtil;
 
 /**
@@ -53,7 +60,8 @@ public class JBurstSprite extends JBurstBasic
     public boolean flipY = false;
 
     /**
-     * Whether or not this sprite's frame needs updating
+     * Whether or not this sprite's frame has changed since it last requested to be repainted.
+     * Set this if the pixels of its graphic are drawn on directly.
      * <p> <i>Normally handled internally</i>
      */
     public boolean dirty = false;
@@ -63,6 +71,15 @@ public class JBurstSprite extends JBurstBasic
      */
     public boolean debugMode = false;
 
+    /**
+     * Whether or not this sprite's animation plays while it is outside of its canvas' visible area.
+     * <p>
+     * Turning this off saves the cost of animating sprites nobody can see,
+     * but their animations will be wherever they were left when they come back into view.
+     * <i>This only applies to sprites drawn by a {@code JBurstCanvas} or {@code JBurstActiveCanvas}.</i>
+     */
+    public boolean animateOffScreen = true;
+
     /**
      * Manages animation property's of this sprite.
      * <p> Use functions from this to add and play animations.
@@ -73,8 +90,38 @@ public class JBurstSprite extends JBurstBasic
 
     private double _angle = 0.0;
 
+    private volatile int _layer = 0;
+
+    private volatile double _z = 0.0;
+
     private final Point _framePoint = new Point();
 
+    /**
+     * This sprite's rotated size and transform as of the last change to its scale, angle or frame size.
+     * Only replaced while holding {@code _transformLock}, and never modified once published.
+     */
+    private volatile SpriteTransform _transform;
+
+    /**
+     * Whether or not {@code _transform} needs to be recomputed
+     */
+    private volatile boolean _transformDirty = true;
+
+    /**
+     * Held while recomputing {@code _transform}, so a transform computed from older values can't replace a newer one
+     */
+    private final Object _transformLock = new Object();
+
+    /**
+     * Pre-rendered rotated and scaled frames to draw from, which may be {@code null}
+     */
+    private volatile JBurstTransformCache _transformCache;
+
+    /**
+     * Whether or not this sprite's component bounds are waiting to be applied on the event dispatch thread
+     */
+    private final AtomicBoolean _boundsPending = new AtomicBoolean();
+
     /**
      * A collection of all the frames used by this sprite
      */
@@ -85,7 +132,86 @@ public class JBurstSprite extends JBurstBasic
      */
     private JBurstFrame _frame;
 
-    private BufferedImage _framePixels;
+    /**
+     * Frames still being loaded for this sprite, which may be {@code null}
+     */
+    private volatile CompletableFuture<? extends JBurstFramesCollection> _pendingFrames;
+
+    /**
+     * The canvas this sprite is drawn by, which may be {@code null}
+     */
+    JBurstCanvas _canvas;
+
+    /**
+     * The active canvas this sprite is drawn by, which may be {@code null}
+     */
+    JBurstActiveCanvas _activeCanvas;
+
+    /**
+     * The area this sprite covered when it last requested to be repainted,
+     * relative to its parent or canvas. Empty if it wasn't shown.
+     */
+    private final Rectangle _paintedBounds = new Rectangle();
+
+    /**
+     * What this sprite looked like when it last requested to be repainted
+     */
+    private boolean _paintedFlipX, _paintedFlipY, _paintedDebug;
+
+    private double _paintedAngle;
+
+    /**
+     * Reused by {@code requestPaint()} to collect the areas to repaint
+     */
+    private final Rectangle _oldArea = new Rectangle(), _newArea = new Rectangle();
+
+    /**
+     * The spatial grid this sprite is in, which may be {@code null}. Guarded by the grid.
+     */
+    JBurstSpatialGrid _grid;
+
+    /**
+     * Whether or not this sprite is waiting to be put back in the right cells of its grid. Guarded by the grid.
+     */
+    boolean _gridMoved;
+
+    /**
+     * The bounds this sprite is listed under in its grid. Guarded by the grid.
+     */
+    final Rectangle _gridBounds = new Rectangle();
+
+    /**
+     * The last search of its grid that found this sprite. Guarded by the grid.
+     */
+    int _gridStamp;
+
+    /**
+     * Whether or not this sprite was inside its canvas' visible area as of the canvas' last tick
+     */
+    volatile boolean _onScreen = true;
+
+    /**
+     * This sprite's place in its canvas' draw order, used to draw sprites found through the grid in order.
+     * Guarded by the canvas' draw list.
+     */
+    long _canvasOrder;
+
+    /**
+     * The layer and z value this sprite was last sorted by. Guarded by its canvas' draw list.
+     */
+    int _sortLayer;
+
+    double _sortZ;
+
+    /**
+     * When this sprite was added to its canvas, which breaks ties in its draw order. Guarded by the canvas' draw list.
+     */
+    long _addOrder;
+
+    /**
+     * The last tick of its canvas this sprite was found to be visible. Only used by the canvas' thread.
+     */
+    int _visibleStamp;
 
     /**
      * Constructs a new JBurstSprite at coordinates (0, 0).
@@ -123,7 +249,7 @@ public class JBurstSprite extends JBurstBasic
      */
     public JBurstSprite makeGraphic(int width, int height, Color color)
     {
-        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        BufferedImage image = JBurstGraphic.createCompatibleImage(width, height);
         Graphics2D graphics = image.createGraphics();
         
         graphics.setColor(color);
@@ -201,41 +327,85 @@ public class JBurstSprite extends JBurstBasic
      * @see JBurstGraphic#fromImage(BufferedImage) JBurstGraphic.fromImage()
      */
     public JBurstSprite loadAnimatedGraphic(JBurstGraphic graphic, int frameWidth, int frameHeight)
-    {        
-        int graphWidth = graphic.getWidth();
-        int graphHeight = graphic.getHeight();
+    {
+        setFrames(JBurstTileFrames.fromGraphic(graphic, frameWidth, frameHeight));
 
-        if(frameWidth == 0) 
-        {
-            frameWidth = graphHeight;
-            frameWidth = Math.min(frameWidth, graphWidth);
-        }
+        return this;
+    }
 
-        if (frameHeight == 0)
-        {
-            frameHeight = graphWidth;
-            frameHeight = Math.min(frameHeight, graphHeight);
-        }
+    /**
+     * Loads a graphic onto this sprite on a worker thread. 
+     * <p>
+     * Until the graphic is loaded, a placeholder graphic is shown if this sprite has no frames yet.
+     * The graphic is swapped in on the event dispatch thread, 
+     * after which the returned future is completed, so animations can be added in {@code thenAccept()}.
+     * 
+     * @param source    file path to the image to be loaded onto this sprite
+     * 
+     * @return  a future completed with this sprite once its graphic has been swapped in
+     * 
+     * @see JBurstGraphic#fromFileAsync(String) JBurstGraphic.fromFileAsync()
+     */
+    public CompletableFuture<JBurstSprite> loadGraphicAsync(String source)
+    {
+        return loadFramesAsync(JBurstGraphic.fromFileAsync(source).thenApply(JBurstGraphic::getImageFrame));
+    }
+
+    /**
+     * Loads a graphic onto this sprite with animation properties on a worker thread. 
+     * <p>
+     * Until the graphic is loaded, a placeholder graphic is shown if this sprite has no frames yet.
+     * The graphic is swapped in on the event dispatch thread, 
+     * after which the returned future is completed, so animations can be added in {@code thenAccept()}.
+     * 
+     * @param source        file path to the image to be loaded onto this sprite
+     * @param frameWidth    width of rectangle used to slice
+     * @param frameHeight   height of rectangle used to slice
+     * 
+     * @return  a future completed with this sprite once its graphic has been swapped in
+     * 
+     * @see #loadAnimatedGraphic(String, int, int) loadAnimatedGraphic()
+     */
+    public CompletableFuture<JBurstSprite> loadAnimatedGraphicAsync(String source, int frameWidth, int frameHeight)
+    {
+        return loadFramesAsync(JBurstGraphic.fromFileAsync(source).thenApply(graphic -> JBurstTileFrames.fromGraphic(graphic, frameWidth, frameHeight)));
+    }
+
+    /**
+     * Sets this sprite's frames once {@code frames} is completed.
+     * <p>
+     * Until then, a placeholder graphic is shown if this sprite has no frames yet.
+     * The frames are swapped in on the event dispatch thread, 
+     * after which the returned future is completed, so animations can be added in {@code thenAccept()}.
+     * <p>
+     * <i>If this sprite's frames are set again before {@code frames} is completed, the loaded frames are discarded.</i>
+     * 
+     * @param frames    future frame collection, such as one from {@code JBurstAtlasFrames.fromSparrowAsync()}
+     * 
+     * @return  a future completed with this sprite once its frames have been swapped in
+     * 
+     * @see JBurstAtlasFrames#fromSparrowAsync(String, String) JBurstAtlasFrames.fromSparrowAsync()
+     * @see JBurstAtlasFrames#fromJsonPackerAsync(String, String) JBurstAtlasFrames.fromJsonPackerAsync()
+     */
+    public CompletableFuture<JBurstSprite> loadFramesAsync(CompletableFuture<? extends JBurstFramesCollection> frames)
+    {
+        if(_frames == null)
+            loadGraphic(JBurstGraphic.getPlaceholder());
 
-        JBurstFramesCollection frames = new JBurstFramesCollection(graphic);
+        _pendingFrames = frames;
 
-        final int ROWS = graphHeight / frameHeight - 1;
-        final int COLS = graphWidth / frameWidth - 1;
-        int i = 0, j = 0;
-        do
-        {
-            do
-            {
-                frames.addSpriteSheetFrame(new Rectangle(j * frameWidth, i * frameHeight, frameWidth, frameHeight));
-            }
-            while(j++ < COLS);
-            j = 0;
-        }
-        while(i++ < ROWS);
+        return frames.thenCompose(loaded -> {
+            CompletableFuture<JBurstSprite> swapped = new CompletableFuture<>();
 
-        setFrames(frames);
+            SwingUtilities.invokeLater(() -> {
+                if(_pendingFrames == frames && loaded != null)
+                    setFrames(loaded);
 
-        return this;
+                swapped.complete(this);
+            });
+
+            return swapped;
+        });
     }
 
     /**
@@ -245,6 +415,9 @@ public class JBurstSprite extends JBurstBasic
      */
     public JBurstFrame setFrame(JBurstFrame frame)
     {
+        int oldWidth = getFrameWidth();
+        int oldHeight = getFrameHeight();
+
         if(frame != null)
             dirty = true;
         else if(_frames != null && getNumFrames() > 0)
@@ -257,6 +430,9 @@ public class JBurstSprite extends JBurstBasic
 
         _frame = frame.copyTo(_frame);
 
+        if(_grid != null && (oldWidth != getFrameWidth() || oldHeight != getFrameHeight()))
+            transformChanged();
+
         return frame;
     }
 
@@ -299,13 +475,32 @@ public class JBurstSprite extends JBurstBasic
      */
     public JBurstFramesCollection setFrames(JBurstFramesCollection frames)
     {
+        JBurstGraphic oldGraphic = getGraphic();
+        JBurstGraphic newGraphic = frames != null ? frames.graphic : null;
+        if(newGraphic != oldGraphic)
+        {
+            if(newGraphic != null)
+                newGraphic.incrementUseCount();
+            if(oldGraphic != null)
+                oldGraphic.decrementUseCount();
+        }
+
+        if(frames != _frames)
+        {
+            if(frames != null)
+                frames.incrementUseCount();
+            if(_frames != null)
+                _frames.decrementUseCount();
+        }
+
+        _pendingFrames = null;
+
         this._frames = frames;
         if(frames != null)
             setFrame(frames.frames.get(0));
 
         animation.clearAnimations();
-        setLocation(_framePoint);
-        setSize(getFrameWidth(), getFrameHeight());
+        applyBounds();
 
         graphicLoaded();
         return this._frames;
@@ -327,10 +522,178 @@ public class JBurstSprite extends JBurstBasic
     {
         super.update(elapsed);
 
-        if(animation != null)
+        if(animation != null && (animateOffScreen || _onScreen))
             animation.update(elapsed);
 
-        updateFramePixels();
+        getTransform();
+    }
+
+    /**
+     * Repaints the areas this sprite covered and now covers, 
+     * but only if its frame, position, scale, angle, flipping or visibility have changed since it last did.
+     * Idle sprites cost nothing to paint.
+     * <p>
+     * Sprites drawn by a {@code JBurstCanvas} are checked by their canvas instead, 
+     * and sprites drawn by a {@code JBurstActiveCanvas} are drawn every tick anyway,
+     * so they don't request their own repaint.
+     */
+    @Override
+    protected void requestPaint()
+    {
+        if(_canvas != null || _activeCanvas != null || !checkPaintState(_oldArea, _newArea))
+            return;
+
+        Container parent = getParent();
+        if(parent == null)
+            return;
+
+        // Moving or resizing the component repaints its old and new bounds by itself
+        if(!_newArea.isEmpty() && (_newArea.x != super.getX() || _newArea.y != super.getY() 
+            || _newArea.width != super.getWidth() || _newArea.height != super.getHeight()))
+        {
+            if(_boundsPending.compareAndSet(false, true))
+                SwingUtilities.invokeLater(this::applyBounds);
+
+            return;
+        }
+
+        if(!_oldArea.isEmpty())
+            parent.repaint(_oldArea.x, _oldArea.y, _oldArea.width, _oldArea.height);
+        if(!_newArea.isEmpty())
+            parent.repaint(_newArea.x, _newArea.y, _newArea.width, _newArea.height);
+    }
+
+    /**
+     * Checks whether this sprite looks any different since this was last called.
+     * If it does, {@code oldArea} is set to the area it covered then, and {@code newArea} to the area it covers now,
+     * either of which is empty if the sprite wasn't or isn't shown.
+     * 
+     * @return  whether or not this sprite needs to be repainted
+     */
+    boolean checkPaintState(Rectangle oldArea, Rectangle newArea)
+    {
+        boolean flipX = checkFlipX();
+        boolean flipY = checkFlipY();
+
+        if(exists && visible && _frame != null)
+            computeBounds(newArea);
+        else
+            newArea.setBounds(0, 0, 0, 0);
+
+        if(!dirty && newArea.equals(_paintedBounds) && flipX == _paintedFlipX && flipY == _paintedFlipY 
+            && _angle == _paintedAngle && debugMode == _paintedDebug)
+            return false;
+
+        dirty = false;
+        oldArea.setBounds(_paintedBounds);
+        _paintedBounds.setBounds(newArea);
+        _paintedFlipX = flipX;
+        _paintedFlipY = flipY;
+        _paintedAngle = _angle;
+        _paintedDebug = debugMode;
+
+        return !oldArea.isEmpty() || !newArea.isEmpty();
+    }
+
+    /**
+     * Forgets what this sprite last looked like, so it is repainted in full by its next check
+     */
+    void resetPaintState()
+    {
+        _paintedBounds.setBounds(0, 0, 0, 0);
+        dirty = true;
+    }
+
+    /**
+     * Returns the area this sprite covered when it was last checked, relative to its parent or canvas
+     */
+    Rectangle getPaintedBounds()
+    {
+        return _paintedBounds;
+    }
+
+    /**
+     * Sets {@code rv} to the area this sprite covers with its scale and angle applied, relative to its parent or canvas
+     */
+    private void computeBounds(Rectangle rv)
+    {
+        SpriteTransform transform = getTransform();
+        rv.setBounds(_framePoint.x - transform.dx, _framePoint.y - transform.dy, transform.width, transform.height);
+    }
+
+    /**
+     * Moves and resizes this sprite's component to its current bounds
+     */
+    private void applyBounds()
+    {
+        _boundsPending.set(false);
+
+        SpriteTransform transform = getTransform();
+        super.setBounds(_framePoint.x - transform.dx, _framePoint.y - transform.dy, transform.width, transform.height);
+    }
+
+    /**
+     * Marks this sprite's transform as needing to be recomputed,
+     * and its place in its spatial grid as needing to be checked
+     */
+    private void transformChanged()
+    {
+        _transformDirty = true;
+        positionChanged();
+    }
+
+    /**
+     * Marks this sprite's place in its spatial grid as needing to be checked.
+     * Its transform doesn't depend on its position, so it is kept.
+     */
+    private void positionChanged()
+    {
+        JBurstSpatialGrid grid = _grid;
+        if(grid != null)
+            grid.markMoved(this);
+    }
+
+    /**
+     * Returns the spatial grid this sprite is in, which may be {@code null}
+     * 
+     * @see JBurstCanvas#getSpatialIndex()
+     */
+    public JBurstSpatialGrid getSpatialGrid()
+    {
+        return _grid;
+    }
+
+    /**
+     * Returns this sprite's rotated size and transform, recomputing them if its scale, angle or frame size have changed.
+     * <p>
+     * This may be called from the updating thread and the painting thread at once. Recomputing is done under a lock,
+     * so transforms are published in the order their values were read. A change made while one is computed
+     * leaves the transform dirty, so it is picked up by the next call.
+     */
+    private SpriteTransform getTransform()
+    {
+        SpriteTransform transform = _transform;
+        if(transform != null && !_transformDirty 
+            && transform.frameWidth == getFrameWidth() && transform.frameHeight == getFrameHeight())
+            return transform;
+
+        synchronized(_transformLock)
+        {
+            // Cleared before reading, so a change made while computing is picked up by the next call
+            _transformDirty = false;
+
+            int frameWidth = getFrameWidth();
+            int frameHeight = getFrameHeight();
+            double scaleX = _scale.x;
+            double scaleY = _scale.y;
+            double angle = _angle;
+
+            transform = _transform;
+            if(transform == null || !transform.matches(frameWidth, frameHeight, scaleX, scaleY, angle))
+                _transform = transform = new SpriteTransform(frameWidth, frameHeight, scaleX, scaleY, angle);
+
+            return transform;
+        }
     }
 
     /**
@@ -343,18 +706,13 @@ public class JBurstSprite extends JBurstBasic
     {
         super.paintComponent(graphics);
 
-        if(!exists || !visible /*|| alpha == 0*/) return;
-
-        updateFramePixels();
+        if(!exists || !visible /*|| alpha == 0*/ || _frame == null) return;
 
-        if(isSimpleRender())
-        {
-            graphics.drawImage(_framePixels, 0, 0, null, null);
-            setLocation(_framePoint);
-            setSize(getFrameWidth(), getFrameHeight());
-        }
+        SpriteTransform transform = getTransform();
+        if(transform.local == null)
+            _frame.paint(graphics, 0, 0, checkFlipX(), checkFlipY());
         else
-            paintComplex((Graphics2D) graphics);
+            paintComplex((Graphics2D) graphics, transform, 0, 0);
 
         if(debugMode)
         {
@@ -366,41 +724,115 @@ public class JBurstSprite extends JBurstBasic
         graphics.dispose();
     }
 
-    public boolean isSimpleRender()
+    /**
+     * Draws this sprite onto {@code graphics} at its sprite location.
+     * <p>
+     * This is used by {@code JBurstCanvas} to paint many sprites in one pass,
+     * where {@code graphics} belongs to the canvas rather than this sprite.
+     * 
+     * @param graphics  graphics object to draw onto
+     * 
+     * @see JBurstCanvas
+     */
+    public void draw(Graphics2D graphics)
     {
-        return _angle == 0.0 && _scale.x == 1.0 && _scale.y == 1.0;
+        if(!exists || !visible /*|| alpha == 0*/ || _frame == null) return;
+
+        SpriteTransform transform = getTransform();
+        int x = _framePoint.x - transform.dx;
+        int y = _framePoint.y - transform.dy;
+
+        if(transform.local == null)
+        {
+            _frame.paint(graphics, x, y, checkFlipX(), checkFlipY());
+
+            if(debugMode)
+            {
+                graphics.setColor(Color.BLUE);
+                graphics.drawRect(x, y, transform.width - 1, transform.height - 1);
+            }
+        }
+        else
+            paintComplex(graphics, transform, x, y);
     }
 
-    private void paintComplex(Graphics2D graphics)
+    /**
+     * Whether or not {@code draw()} would draw anything
+     */
+    boolean isDrawn()
     {
-        AffineTransform xForm = graphics.getTransform();
+        return exists && visible && _frame != null;
+    }
+
+    /**
+     * Returns the graphic this sprite's current frame is drawn from, which may be {@code null}
+     */
+    JBurstGraphic getDrawSource()
+    {
+        JBurstFrame frame = _frame;
+        return frame != null ? frame.graphic : null;
+    }
+
+    /**
+     * Returns how this sprite is drawn, so sprites drawn the same way can be batched.
+     * Sprites are drawn either with a translation only, from their transform cache, or fully transformed.
+     * Debug outlines count as a separate way.
+     */
+    int getDrawState()
+    {
+        int state;
+        if(getTransform().local == null)
+            state = 0;
+        else
+            state = _transformCache != null ? 1 : 2;
 
-        final double WIDTH = getFrameWidth() * _scale.x;
-        final double HEIGHT = getFrameHeight() * _scale.y;
+        return debugMode ? state | 4 : state;
+    }
+
+    public boolean isSimpleRender()
+    {
+        return _angle == 0.0 && _scale.x == 1.0 && _scale.y == 1.0;
+    }
 
-        double xWidth = WIDTH;
-        double xHeight = HEIGHT;
-        int dx = 0;
-        int dy = 0;
+    /**
+     * Paints this sprite with its cached scale and angle applied
+     * 
+     * @param graphics  graphics object to paint onto
+     * @param transform this sprite's bounds and transform
+     * @param x         x-coordinate of this sprite's bounds on {@code graphics}
+     * @param y         y-coordinate of this sprite's bounds on {@code graphics}
+     */
+    private void paintComplex(Graphics2D graphics, SpriteTransform transform, int x, int y)
+    {
+        JBurstTransformCache cache = _transformCache;
+        BufferedImage rendered = null;
+        if(cache != null)
+            rendered = cache.get(_frame, transform.angle, transform.scaleX, transform.scaleY, checkFlipX(), checkFlipY());
 
-        if(_angle != 0.0)
+        if(rendered != null)
         {
-            xWidth = WIDTH * Math.abs(Math.cos(_angle)) + HEIGHT * Math.abs(Math.sin(_angle));           
-            xHeight = WIDTH * Math.abs(Math.sin(_angle)) + HEIGHT * Math.abs(Math.cos(_angle));
-            dx = Math.toIntExact(Math.round((xWidth - WIDTH) * 0.5));
-            dy = Math.toIntExact(Math.round((xHeight - HEIGHT) * 0.5));
+            // Rounding the angle and scale may change the size slightly, so the image is kept centered
+            graphics.drawImage(rendered, 
+                x + (transform.width - rendered.getWidth()) / 2, 
+                y + (transform.height - rendered.getHeight()) / 2, 
+                null);
 
-            graphics.rotate(_angle, xWidth / 2, xHeight / 2);
+            if(!debugMode) return;
         }
 
-        setLocation(_framePoint.x - dx, _framePoint.y - dy);
-        setSize(Math.toIntExact(Math.round(xWidth)), Math.toIntExact(Math.round(xHeight)));
-        
-        graphics.translate(dx, dy);
-        graphics.drawImage(_framePixels, AffineTransform.getScaleInstance(_scale.x, _scale.y), null);
+        AffineTransform xForm = graphics.getTransform();
+
+        graphics.translate(x, y);
+        graphics.transform(transform.local);
+
+        if(rendered == null)
+            _frame.paint(graphics, 0, 0, transform.scaleX, transform.scaleY, checkFlipX(), checkFlipY());
 
         if(debugMode)
         {
+            final double WIDTH = transform.frameWidth * transform.scaleX;
+            final double HEIGHT = transform.frameHeight * transform.scaleY;
+
             graphics.setColor(Color.RED);
             graphics.drawRect(0, 0, Math.toIntExact(Math.round(WIDTH)) - 1, Math.toIntExact(Math.round(HEIGHT)) - 1);
             graphics.fillOval(Math.toIntExact(Math.round(WIDTH * 0.5)) - 4, Math.toIntExact(Math.round(HEIGHT * 0.5)) - 4, 8, 8);
@@ -409,22 +841,14 @@ public class JBurstSprite extends JBurstBasic
         graphics.setTransform(xForm);
     }
 
-    private void updateFramePixels()
-    {
-        if(!dirty || _frame == null) return;
-
-        _framePixels = _frame.paint(_framePixels, checkFlipX(), checkFlipY());
-        dirty = false;
-    }
-
     private boolean checkFlipX()
     {
-        return flipX ^ animation != null && animation.curAnim != null ? animation.curAnim.flipX : false;
+        return flipX ^ (animation != null && animation.curAnim != null && animation.curAnim.isFlipX());
     }
 
     private boolean checkFlipY()
     {
-        return flipY ^ animation != null && animation.curAnim != null ? animation.curAnim.flipY : false;
+        return flipY ^ (animation != null && animation.curAnim != null && animation.curAnim.isFlipY());
     }
 
     /**
@@ -448,6 +872,7 @@ public class JBurstSprite extends JBurstBasic
     public void setSpriteX(int x)
     {
         _framePoint.x = x;
+        positionChanged();
     }
 
     /**
@@ -471,6 +896,7 @@ public class JBurstSprite extends JBurstBasic
     public void setSpriteY(int y)
     {
         _framePoint.y = y;
+        positionChanged();
     }
 
     /**
@@ -555,6 +981,7 @@ public class JBurstSprite extends JBurstBasic
     public void setSpriteLocation(int x, int y)
     {
         _framePoint.setLocation(x, y);
+        positionChanged();
     }
 
     /**
@@ -565,6 +992,7 @@ public class JBurstSprite extends JBurstBasic
     public void setSpriteLocation(Point p)
     {
         _framePoint.setLocation(p.x, p.y);
+        positionChanged();
     }
 
     /**
@@ -714,6 +1142,8 @@ public class JBurstSprite extends JBurstBasic
             _scale.x = scaleX;
         if(scaleY > 0)
             _scale.y = scaleY;
+
+        transformChanged();
     }
 
     /**
@@ -807,6 +1237,144 @@ public class JBurstSprite extends JBurstBasic
     public void setAngle(double theta)
     {
         this._angle = (theta %= 2.0 * Math.PI);
+        transformChanged();
+    }
+
+    /**
+     * Returns the layer this sprite is drawn on by its canvas
+     */
+    public int getLayer()
+    {
+        return _layer;
+    }
+
+    /**
+     * Sets the layer this sprite is drawn on by its canvas. The default is 0.
+     * <p>
+     * Sprites on higher layers are always drawn over sprites on lower layers, whatever their z values.
+     * 
+     * @see #setZ(double)
+     */
+    public void setLayer(int layer)
+    {
+        if(layer == _layer)
+            return;
+
+        _layer = layer;
+        orderChanged();
+    }
+
+    /**
+     * Returns the depth this sprite is sorted by within its layer
+     */
+    public double getZ()
+    {
+        return _z;
+    }
+
+    /**
+     * Sets the depth this sprite is sorted by within its layer. The default is 0.
+     * <p>
+     * Sprites with a higher z value are drawn over sprites with a lower one.
+     * Sprites with the same layer and z value are drawn in the order they were added to their canvas.
+     * For example, a depth-sorted scene can set each sprite's z value to the bottom of its bounds.
+     * <p>
+     * <i>This only affects sprites drawn by a canvas.</i>
+     * 
+     * @see #setLayer(int)
+     */
+    public void setZ(double z)
+    {
+        if(z == _z)
+            return;
+
+        _z = z;
+        orderChanged();
+    }
+
+    /**
+     * Tells this sprite's canvas its draw order needs to be sorted, and repaints the sprite
+     */
+    private void orderChanged()
+    {
+        dirty = true;
+
+        JBurstCanvas canvas = _canvas;
+        if(canvas != null)
+            canvas.orderChanged();
+
+        JBurstActiveCanvas activeCanvas = _activeCanvas;
+        if(activeCanvas != null)
+            activeCanvas.orderChanged();
+    }
+
+    /**
+     * Returns the area this sprite covers with its scale and angle applied, 
+     * relative to its parent or canvas
+     */
+    public Rectangle getSpriteBounds()
+    {
+        return getSpriteBounds(null);
+    }
+
+    /**
+     * Gets the area this sprite covers with its scale and angle applied and applies it to {@code rv}
+     * <p>
+     * <i>If {@code rv} is null, a new Rectangle is returned</i>
+     */
+    public Rectangle getSpriteBounds(Rectangle rv)
+    {
+        if(rv == null)
+            rv = new Rectangle();
+
+        computeBounds(rv);
+        return rv;
+    }
+
+    /**
+     * Returns the cache this sprite draws its rotated and scaled frames from, which may be {@code null}
+     */
+    public JBurstTransformCache getTransformCache()
+    {
+        return _transformCache;
+    }
+
+    /**
+     * Sets a cache for this sprite to draw its rotated and scaled frames from. None is used by default.
+     * <p>
+     * With a cache, the sprite's angle and scale are rounded to the cache's steps when it is drawn,
+     * and each combination of frame, angle, scale and flipping is only rendered once. 
+     * This suits sprites that spin or pulse through the same angles and scales over and over.
+     * Unrotated, unscaled sprites never use the cache.
+     * <p>
+     * <i>Many sprites can share one cache.</i>
+     * 
+     * @param cache cache to draw from, or {@code null} to render every time
+     */
+    public void setTransformCache(JBurstTransformCache cache)
+    {
+        _transformCache = cache;
+        dirty = true;
+    }
+
+    /**
+     * Returns the canvas this sprite is drawn by, which may be {@code null}
+     * 
+     * @see JBurstCanvas#addSprite(JBurstSprite) JBurstCanvas.addSprite()
+     */
+    public JBurstCanvas getCanvas()
+    {
+        return _canvas;
+    }
+
+    /**
+     * Returns the active canvas this sprite is drawn by, which may be {@code null}
+     * 
+     * @see JBurstActiveCanvas#addSprite(JBurstSprite) JBurstActiveCanvas.addSprite()
+     */
+    public JBurstActiveCanvas getActiveCanvas()
+    {
+        return _activeCanvas;
     }
 
     /**
@@ -859,11 +1427,104 @@ public class JBurstSprite extends JBurstBasic
     {
         super.destroy();
 
+        _pendingFrames = null;
+
+        if(_canvas != null)
+            _canvas.removeSprite(this);
+        if(_activeCanvas != null)
+            _activeCanvas.removeSprite(this);
+
+        JBurstGraphic graphic = getGraphic();
+        if(graphic != null)
+            graphic.decrementUseCount();
+
+        if(_frames != null)
+            _frames.decrementUseCount();
+
         JBurstDestroyUtil.destroy(animation);
-        _frames = JBurstDestroyUtil.destroy(_frames);
+        _frames = null; // Frame collections are shared through their graphic, so they are left intact
         _frame = JBurstDestroyUtil.destroy(_frame);
     }
 
+    /**
+     * An immutable snapshot of a sprite's rotated size and how its frame is transformed to fill its bounds,
+     * so painting never has to compute them. The position isn't part of it, so moving a sprite keeps its transform.
+     */
+    private static final class SpriteTransform
+    {
+        /**
+         * Size of the sprite's bounds
+         */
+        final int width, height;
+
+        final int frameWidth, frameHeight;
+
+        final double scaleX, scaleY, angle;
+
+        /**
+         * Offset of the unrotated frame within the bounds, 
+         * so the bounds start this far up and to the left of the sprite's position
+         */
+        final int dx, dy;
+
+        /**
+         * Transform from the top left corner of the bounds to the frame, 
+         * or {@code null} if the sprite isn't scaled or rotated
+         */
+        final AffineTransform local;
+
+        SpriteTransform(int frameWidth, int frameHeight, double scaleX, double scaleY, double angle)
+        {
+            this.frameWidth = frameWidth;
+            this.frameHeight = frameHeight;
+            this.scaleX = scaleX;
+            this.scaleY = scaleY;
+            this.angle = angle;
+
+            if(angle == 0.0 && scaleX == 1.0 && scaleY == 1.0)
+            {
+                this.width = frameWidth;
+                this.height = frameHeight;
+                this.dx = 0;
+                this.dy = 0;
+                this.local = null;
+                return;
+            }
+
+            final double WIDTH = frameWidth * scaleX;
+            final double HEIGHT = frameHeight * scaleY;
+
+            double xWidth = WIDTH;
+            double xHeight = HEIGHT;
+
+            if(angle != 0.0)
+            {
+                double cos = Math.abs(Math.cos(angle));
+                double sin = Math.abs(Math.sin(angle));
+
+                xWidth = WIDTH * cos + HEIGHT * sin;
+                xHeight = WIDTH * sin + HEIGHT * cos;
+            }
+
+            this.dx = Math.toIntExact(Math.round((xWidth - WIDTH) * 0.5));
+            this.dy = Math.toIntExact(Math.round((xHeight - HEIGHT) * 0.5));
+            this.width = Math.toIntExact(Math.round(xWidth));
+            this.height = Math.toIntExact(Math.round(xHeight));
+
+            AffineTransform local = new AffineTransform();
+            if(angle != 0.0)
+                local.rotate(angle, xWidth / 2, xHeight / 2);
+            local.translate(dx, dy);
+            this.local = local;
+        }
+
+        boolean matches(int frameWidth, int frameHeight, double scaleX, double scaleY, double angle)
+        {
+            return this.frameWidth == frameWidth && this.frameHeight == frameHeight 
+                && this.scaleX == scaleX && this.scaleY == scaleY && this.angle == angle;
+        }
+    }
+
     @Override
     public String toString()
     {
@@ -0,0 +1,542 @@
+package com.github.jbb248.jburst;
+
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A JBurstWorld updates its own set of JBurstBasics at its own frame rate.
+ * <p>
+ * Each world either runs on its own thread, or shares the thread of a host world.
+ * A world sharing a host is updated right after the host, as many times per host tick as its
+ * frame rate calls for, so a 30 fps overlay can run alongside a 120 fps scene without a second thread.
+ * <p>
+ * <i>No thread is started until {@code start()} is called.</i>
+ *
+ * @see JBurst#getWorld()
+ * @see JBurstBasic#start(JBurstWorld)
+ */
+public class JBurstWorld
+{
+    /**
+     * The most times a world sharing a host's thread is updated in one host tick
+     */
+    private static final int MAX_CATCH_UP = 10;
+
+    private static final AtomicInteger worldEnumerator = new AtomicInteger();
+
+    /**
+     * Worker threads used by every world in parallel mode, created the first time it is enabled
+     */
+    private static ForkJoinPool updatePool;
+
+    /**
+     * Every JBurstBasic started in this world is held within this registry.
+     */
+    final JBurstRegistry members = new JBurstRegistry();
+
+    /**
+     * Whether or not this world's members can update. Held by {@code JBurst.active} instead for the default world.
+     */
+    private volatile boolean _active = true;
+
+    /**
+     * Whether or not this is JBurst's default world
+     */
+    private final boolean _default;
+
+    /**
+     * The rate at which this world updates, in frames per second
+     */
+    private volatile int _frameRate;
+
+    /**
+     * The amount of time between frames, in seconds
+     */
+    private volatile double _step;
+
+    /**
+     * Independent thread running this world, or {@code null} if it shares its host's
+     */
+    private final JBurstScheduler _scheduler;
+
+    /**
+     * The world whose thread this one shares, or {@code null} if it has its own
+     */
+    private final JBurstWorld _host;
+
+    /**
+     * Worlds sharing this one's thread, updated after it every tick
+     */
+    private final CopyOnWriteArrayList<JBurstWorld> _attached = new CopyOnWriteArrayList<>();
+
+    /**
+     * Active canvases drawn at the end of every tick
+     */
+    final CopyOnWriteArrayList<JBurstActiveCanvas> canvases = new CopyOnWriteArrayList<>();
+
+    /**
+     * Host frames owed to this world. Each host tick adds this world's frame rate,
+     * and each update costs the host's frame rate, so uneven rates never drift.
+     * Only used by the host's thread.
+     */
+    private long _credit = 0;
+
+    /**
+     * Whether or not members are updated across several threads
+     */
+    private volatile boolean _parallelUpdate = false;
+
+    /**
+     * The most members a single thread updates at a time in parallel mode
+     */
+    private volatile int _parallelChunkSize = 256;
+
+    /**
+     * Whether or not every member should be destroyed at the start of the next tick
+     */
+    private volatile boolean _resetRequested = false;
+
+    /**
+     * Creates a new world with its own thread that updates 60 times per second
+     */
+    public JBurstWorld()
+    {
+        this(60);
+    }
+
+    /**
+     * Creates a new world with its own thread.
+     * <p>
+     * <i>If {@code frameRate} is less than 1, 60 fps is used.</i>
+     *
+     * @param frameRate how often the world updates its members, in frames per second
+     */
+    public JBurstWorld(int frameRate)
+    {
+        this("Burst-World-" + worldEnumerator.incrementAndGet(), frameRate, false);
+    }
+
+    /**
+     * Creates a new world that shares the thread of {@code host}.
+     * <p>
+     * The world is updated right after {@code host} every tick it is due,
+     * at most {@value #MAX_CATCH_UP} times per host tick.
+     * Frame rates higher than the host's are therefore met by updating several times back to back.
+     * <p>
+     * <i>If {@code frameRate} is less than 1, 60 fps is used.</i>
+     *
+     * @param host      world whose thread will update this one
+     * @param frameRate how often the world updates its members, in frames per second
+     */
+    public JBurstWorld(JBurstWorld host, int frameRate)
+    {
+        _host = Objects.requireNonNull(host, "host");
+        _scheduler = null;
+        _default = false;
+        setFrameRate(frameRate < 1 ? 60 : frameRate);
+    }
+
+    JBurstWorld(String name, int frameRate, boolean isDefault)
+    {
+        _host = null;
+        _scheduler = new JBurstScheduler(name, this::tick);
+        _default = isDefault;
+        setFrameRate(frameRate < 1 ? 60 : frameRate);
+    }
+
+    private void tick()
+    {
+        update();
+
+        for(JBurstWorld world : _attached)
+            world.advance(_frameRate);
+
+        // Drawn last, so worlds sharing this thread are up to date too
+        for(JBurstActiveCanvas canvas : canvases)
+            canvas.render();
+    }
+
+    /**
+     * Updates this world as many times as it is due after one tick of a host running at {@code hostFrameRate}
+     */
+    private void advance(int hostFrameRate)
+    {
+        _credit += _frameRate;
+
+        int steps = 0;
+        while(_credit >= hostFrameRate && steps++ < MAX_CATCH_UP)
+        {
+            _credit -= hostFrameRate;
+            tick();
+        }
+
+        // Drop whatever couldn't be caught up rather than bursting later
+        if(_credit >= hostFrameRate)
+            _credit = 0;
+    }
+
+    private void update()
+    {
+        // Destroyed here, so no member is destroyed while it is updating
+        if(_resetRequested)
+        {
+            _resetRequested = false;
+            destroyMembers();
+        }
+
+        // Members started or stopped since the last tick are only added or removed here
+        JBurstBasic[] current = members.applyChanges();
+
+        if(!isActive() || current.length == 0) return;
+
+        double step = _step;
+
+        if(_parallelUpdate)
+        {
+            // Blocks until every member has updated, so nothing is painted halfway through a frame
+            updatePool.invoke(new UpdateTask(this, current, 0, current.length, step, _parallelChunkSize));
+        }
+        else
+        {
+            for(JBurstBasic basic : current)
+            {
+                // Members moved to another world are skipped until this one removes them
+                if(basic._world == this && basic.exists && basic.active)
+                    basic.update(step);
+            }
+        }
+
+        // Painted only once every member has updated, so none is drawn a frame ahead of the others
+        for(JBurstBasic basic : current)
+        {
+            if(basic._world == this)
+                basic.requestPaint();
+        }
+    }
+
+    /**
+     * Updates a range of members, splitting it between threads until each part is small enough
+     */
+    private static class UpdateTask extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final JBurstWorld world;
+        private final JBurstBasic[] basics;
+        private final int start;
+        private final int end;
+        private final double elapsed;
+        private final int chunkSize;
+
+        UpdateTask(JBurstWorld world, JBurstBasic[] basics, int start, int end, double elapsed, int chunkSize)
+        {
+            this.world = world;
+            this.basics = basics;
+            this.start = start;
+            this.end = end;
+            this.elapsed = elapsed;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if(end - start <= chunkSize)
+            {
+                for(int i = start; i < end; i++)
+                {
+                    JBurstBasic basic = basics[i];
+                    if(basic._world == world && basic.exists && basic.active)
+                        basic.update(elapsed);
+                }
+
+                return;
+            }
+
+            int middle = (start + end) >>> 1;
+            invokeAll(
+                new UpdateTask(world, basics, start, middle, elapsed, chunkSize),
+                new UpdateTask(world, basics, middle, end, elapsed, chunkSize)
+            );
+        }
+    }
+
+    /**
+     * Starts updating this world. Calls made while it is already running are ignored.
+     * <p>
+     * A world with its own thread starts that thread.
+     * A world sharing a host's thread is attached to the host, which is started as well.
+     */
+    public void start()
+    {
+        if(_scheduler != null)
+        {
+            _scheduler.start();
+            return;
+        }
+
+        _host._attached.addIfAbsent(this);
+        _host.start();
+    }
+
+    /**
+     * Stops updating this world once its current tick is finished.
+     * <p>
+     * A world with its own thread stops that thread, along with every world sharing it.
+     * A world sharing a host's thread is only detached from the host.
+     */
+    public void stop()
+    {
+        if(_scheduler != null)
+        {
+            _scheduler.stop();
+            return;
+        }
+
+        _host._attached.remove(this);
+    }
+
+    /**
+     * Returns whether or not this world is being updated
+     */
+    public boolean isRunning()
+    {
+        if(_scheduler != null)
+            return _scheduler.isRunning();
+
+        return _host._attached.contains(this) && _host.isRunning();
+    }
+
+    /**
+     * Returns the world whose thread this one shares, or {@code null} if it has its own
+     */
+    public JBurstWorld getHost()
+    {
+        return _host;
+    }
+
+    /**
+     * Returns the scheduler running this world's thread, which may be its host's
+     */
+    private JBurstScheduler getScheduler()
+    {
+        return _scheduler != null ? _scheduler : _host.getScheduler();
+    }
+
+    /**
+     * Returns how often this world updates its members, in frames per second.
+     * <p>
+     * <i>This does not affect draw speed. A world's frame rate is simply how often {@code update()} is called.</i>
+     */
+    public int getFrameRate()
+    {
+        return _frameRate;
+    }
+
+    /**
+     * Sets how often this world updates its members, in frames per second.
+     * <p>
+     * <i>If {@code framerate} is less than 1, this call will be ignored.</i>
+     * <p>
+     * <i>This does not affect draw speed. A world's frame rate is simply how often {@code update()} is called.</i>
+     */
+    public void setFrameRate(int frameRate)
+    {
+        if(frameRate < 1) return;
+
+        _frameRate = frameRate;
+        _step = 1.0 / frameRate;
+
+        if(_scheduler != null)
+            _scheduler.setFrameRate(frameRate);
+    }
+
+    /**
+     * Returns how this world's thread waits between updates
+     */
+    public JBurstScheduler.Mode getSchedulerMode()
+    {
+        return getScheduler().getMode();
+    }
+
+    /**
+     * Sets how this world's thread waits between updates. The default mode is {@code HYBRID}.
+     * <p>
+     * <i>For a world sharing a host's thread, this sets the host's mode.</i>
+     *
+     * @see JBurstScheduler.Mode
+     */
+    public void setSchedulerMode(JBurstScheduler.Mode mode)
+    {
+        getScheduler().setMode(mode);
+    }
+
+    /**
+     * Returns measurements of how late this world's thread has started its ticks since the scheduler mode was last set
+     */
+    public JBurstScheduler.JitterStats getJitter()
+    {
+        return getScheduler().getJitter();
+    }
+
+    /**
+     * Returns whether or not this world updates its members across several threads
+     */
+    public boolean isParallelUpdate()
+    {
+        return _parallelUpdate;
+    }
+
+    /**
+     * Sets whether or not this world updates its members across several threads. It is disabled by default.
+     * <p>
+     * In parallel mode, members are split into chunks that are updated at the same time on worker threads,
+     * one per processor. Every member finishes updating before any of them are painted.
+     * The worker threads are shared by every world.
+     * <p>
+     * <i>Only enable this if every member's {@code update()} is safe to run alongside the others.</i>
+     *
+     * @see JBurstBasic#update(double) JBurstBasic.update()
+     * @see #setParallelChunkSize(int)
+     */
+    public void setParallelUpdate(boolean parallel)
+    {
+        if(parallel)
+        {
+            synchronized(JBurstWorld.class)
+            {
+                if(updatePool == null)
+                {
+                    updatePool = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+                        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                        thread.setName("Burst-Update-" + thread.getPoolIndex());
+                        thread.setDaemon(true);
+                        return thread;
+                    }, null, false);
+                }
+            }
+        }
+
+        _parallelUpdate = parallel;
+    }
+
+    /**
+     * Returns the most members a single thread updates at a time in parallel mode
+     */
+    public int getParallelChunkSize()
+    {
+        return _parallelChunkSize;
+    }
+
+    /**
+     * Sets the most members a single thread updates at a time in parallel mode. The default is 256.
+     * <p>
+     * Smaller chunks spread uneven work more evenly, larger chunks cost less to hand out.
+     * <p>
+     * <i>If {@code chunkSize} is less than 1, this call will be ignored.</i>
+     *
+     * @see #setParallelUpdate(boolean)
+     */
+    public void setParallelChunkSize(int chunkSize)
+    {
+        if(chunkSize >= 1)
+            _parallelChunkSize = chunkSize;
+    }
+
+    /**
+     * Returns whether or not this world's members can update
+     */
+    @SuppressWarnings("deprecation")
+    public boolean isActive()
+    {
+        return _default ? JBurst.active : _active;
+    }
+
+    /**
+     * "Kills" this world, causing its members to cease updating. Its thread keeps running.
+     *
+     * @see #revive()
+     */
+    public void kill()
+    {
+        setActive(false);
+    }
+
+    /**
+     * "Revives" this world, causing its members to continue updating
+     *
+     * @see #kill()
+     */
+    public void revive()
+    {
+        setActive(true);
+    }
+
+    @SuppressWarnings("deprecation")
+    private void setActive(boolean active)
+    {
+        if(_default)
+            JBurst.active = active;
+        else
+            _active = active;
+    }
+
+    /**
+     * Returns the number of members as of this world's last tick
+     */
+    public int size()
+    {
+        return members.size();
+    }
+
+    /**
+     * Resets this world and destroys all of its current members.
+     * <p>
+     * While the world is running, its members are destroyed on its own thread at the start of its next tick,
+     * so none is destroyed halfway through an update. If it stops first, they are destroyed once it runs again.
+     * Otherwise, they are destroyed immediately.
+     * <p>
+     * <i>
+     *  Warning: This will <strong>destroy</strong> every single object in
+     *  this world, rendering them completely useless.
+     *  To simply disable the world, use {@code kill()}.
+     * </i>
+     *
+     * @see #kill()
+     */
+    public void reset()
+    {
+        getScheduler().resetJitter();
+
+        if(isRunning())
+        {
+            _resetRequested = true;
+            return;
+        }
+
+        destroyMembers();
+    }
+
+    /**
+     * Destroys every member as of the last tick that still belongs to this world
+     */
+    private void destroyMembers()
+    {
+        for(JBurstBasic basic : members.getMembers())
+        {
+            if(basic._world == this)
+                basic.destroy();
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("%s[framerate=%d,active=%b,members=%d,shared=%b]",
+            getClass().getName(), _frameRate, isActive(), members.size(), _host != null);
+    }
+}
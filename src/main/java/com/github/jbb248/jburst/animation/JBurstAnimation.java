@@ -3,7 +3,10 @@ package com.github.jbb248.jburst.animation;
 import com.github.jbb248.jburst.util.JBurstDestroyUtil.IBurstDestroyable;
 
 /**
- * Structure used to store animation data.
+ * Playback state of an animation on a single sprite.
+ * <p>
+ * The animation itself is defined by a {@link JBurstAnimationData}, which is shared with every other sprite
+ * playing it. This only tracks where the sprite is in that animation.
  * 
  * @author Joe Bray
  * <p> Modeled from <a href="https://api.haxeflixel.com/flixel/animation/FlxAnimation.html">FlxAnimation</a>
@@ -12,7 +15,11 @@ public class JBurstAnimation implements IBurstDestroyable
 {
     /**
      * The name of the animation.
+     * 
+     * @deprecated  in favor of {@code getName()}.
+     * This starts as the shared definition's name, and setting it only renames this sprite's copy.
      */
+    @Deprecated
     public String name;
 
     /**
@@ -42,7 +49,11 @@ public class JBurstAnimation implements IBurstDestroyable
 
     /**
      * Whether this animation should loop or not.
+     * 
+     * @deprecated  in favor of {@code isLooped()}.
+     * This starts as the shared definition's value, and setting it only affects this sprite.
      */
+    @Deprecated
     public boolean looped;
 
     /**
@@ -52,26 +63,44 @@ public class JBurstAnimation implements IBurstDestroyable
 
     /**
      * A list of frames stored as integer indices.
+     * 
+     * @deprecated  in favor of {@code getFrames()}.
+     * This starts as the shared definition's frames, so the array must not be modified.
+     * Replacing it only affects this sprite.
      */
+    @Deprecated
     public int[] frames;
 
     /**
      * Whether or not this animation should render backwards
+     * 
+     * @deprecated  in favor of {@code isFlipX()}.
+     * This starts as the shared definition's value, and setting it only affects this sprite.
      */
-    public boolean flipX = false;
+    @Deprecated
+    public boolean flipX;
 
     /**
      * Whether or not this animation should render upside-down
+     * 
+     * @deprecated  in favor of {@code isFlipY()}.
+     * This starts as the shared definition's value, and setting it only affects this sprite.
+     */
+    @Deprecated
+    public boolean flipY;
+
+    /**
+     * The shared definition of this animation.
      */
-    public boolean flipY = false;
+    private final JBurstAnimationData _data;
 
     /**
-     * The speed in frames per second of the animation.
+     * The speed in frames per second of the animation on this sprite.
      */
     private int _frameRate;
 
     /**
-     * The delay between frames in milliseconds
+     * The delay between frames in seconds
      */
     private double _frameDelay;
 
@@ -85,16 +114,29 @@ public class JBurstAnimation implements IBurstDestroyable
      */
     private JBurstAnimationController _controller;
 
-    public JBurstAnimation(JBurstAnimationController controller, String name, int[] frames, int frameRate, boolean looped, boolean flipX, boolean flipY) 
+    public JBurstAnimation(JBurstAnimationController controller, JBurstAnimationData data) 
     {
         this._controller = controller;
-        this.name = name;
-        this.frames = frames;
-        this.numFrames = Math.min(frames.length, _controller._sprite.getNumFrames());
-        this.looped = looped;
-        this.flipX = flipX;
-        this.flipY = flipY;
-        setFrameRate(frameRate);
+        this._data = data;
+        this.name = data.name;
+        this.frames = data.frames;
+        this.looped = data.looped;
+        this.flipX = data.flipX;
+        this.flipY = data.flipY;
+        this.numFrames = Math.min(data.frames.length, _controller.getNumFrames());
+        setFrameRate(data.frameRate);
+    }
+
+    /**
+     * Creates playback for an animation that isn't shared with any other sprite.
+     * 
+     * @deprecated  in favor of {@code JBurstAnimation(JBurstAnimationController, JBurstAnimationData)},
+     * which shares a single definition between sprites
+     */
+    @Deprecated
+    public JBurstAnimation(JBurstAnimationController controller, String name, int[] frames, int frameRate, boolean looped, boolean flipX, boolean flipY) 
+    {
+        this(controller, new JBurstAnimationData(name, frames, frameRate, looped, flipX, flipY));
     }
 
     /**
@@ -239,11 +281,64 @@ public class JBurstAnimation implements IBurstDestroyable
         _controller.setFrameIndex(curIndex);
     }
 
+    /**
+     * Returns the shared definition of this animation
+     */
+    public JBurstAnimationData getData()
+    {
+        return _data;
+    }
+
+    /**
+     * Returns the name of the animation.
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+    /**
+     * Returns a copy of the frames of this animation, stored as integer indices.
+     */
+    public int[] getFrames()
+    {
+        return frames.clone();
+    }
+
+    /**
+     * Returns whether this animation should loop or not.
+     */
+    public boolean isLooped()
+    {
+        return looped;
+    }
+
+    /**
+     * Returns whether or not this animation should render backwards
+     */
+    public boolean isFlipX()
+    {
+        return flipX;
+    }
+
+    /**
+     * Returns whether or not this animation should render upside-down
+     */
+    public boolean isFlipY()
+    {
+        return flipY;
+    }
+
     public int getFrameRate()
     {
         return _frameRate;
     }
 
+    /**
+     * Changes the speed of this animation for this sprite only.
+     * <p>
+     * <i>The shared definition is left untouched.</i>
+     */
     public void setFrameRate(int frameRate)
     {
         _frameRate = frameRate;
@@ -253,8 +348,6 @@ public class JBurstAnimation implements IBurstDestroyable
     @Override
     public void destroy() 
     { 
-        frames = null;
-        name = null;
         _controller = null;
     }
 
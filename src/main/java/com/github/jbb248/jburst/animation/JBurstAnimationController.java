@@ -7,7 +7,6 @@ import java.util.function.Consumer;
 import com.github.jbb248.jburst.JBurstSprite;
 import com.github.jbb248.jburst.graphics.JBurstGraphic;
 import com.github.jbb248.jburst.graphics.frames.JBurstAtlasFrames;
-import com.github.jbb248.jburst.graphics.frames.JBurstFrame;
 import com.github.jbb248.jburst.graphics.frames.JBurstFramesCollection;
 import com.github.jbb248.jburst.util.JBurstDestroyUtil.IBurstDestroyable;
 import com.github.jbb248.jburst.util.function.TriConsumer;
@@ -40,14 +39,19 @@ public class JBurstAnimationController implements IBurstDestroyable
     protected JBurstSprite _sprite;
 
     /**
-     * Internal, storage of animations added to this sprite.
+     * Internal, the animations added to this sprite, which may be shared with other sprites.
      */
-    private HashMap<String, JBurstAnimation> _animations;
+    private JBurstAnimationSet _animations;
+
+    /**
+     * Internal, playback state of each animation this sprite has played. Created on first use.
+     */
+    private HashMap<String, JBurstAnimation> _playback;
 
     public JBurstAnimationController(JBurstSprite sprite) 
     {
         this._sprite = sprite;
-        this._animations = new HashMap<>();
+        this._animations = JBurstAnimationSet.empty(sprite.getFrames());
     }
 
     public void update(double elapsed) 
@@ -146,7 +150,7 @@ public class JBurstAnimationController implements IBurstDestroyable
      */
     public void add(String name, int[] frames, int framerate, boolean looped, boolean flipX, boolean flipY)
     {
-        _animations.put(name, new JBurstAnimation(this, name, frames, framerate, looped, flipX, flipY));
+        setAnimationSet(_animations.with(new JBurstAnimationData(name, frames, framerate, looped, flipX, flipY)));
     }
 
     /**
@@ -216,48 +220,66 @@ public class JBurstAnimationController implements IBurstDestroyable
         if(_sprite.getFrames() == null)
             return;
 
-        ArrayList<JBurstFrame> animFrames = new ArrayList<>();
-        findByPrefix(animFrames, prefix);
+        setAnimationSet(_animations.withPrefix(name, prefix, framerate, looped, flipX, flipY));
+    }
 
-        if(animFrames.size() <= 0)
-            return;
+    /**
+     * Returns the set of animations added to the parent sprite.
+     * <p>
+     * <i>Sets are immutable and may be shared, so giving one sprite's set to others 
+     * lets them all play the same animations without adding them again.</i>
+     */
+    public JBurstAnimationSet getAnimationSet()
+    {
+        return _animations;
+    }
 
-        ArrayList<Integer> frameIndices = new ArrayList<>(animFrames.size());
-        byPrefixHelper(frameIndices, animFrames, prefix);
+    /**
+     * Replaces every animation of the parent sprite with those in {@code set}.
+     * <p>
+     * <i>{@code set} is ignored unless it was made for the parent sprite's frames.</i>
+     * 
+     * @param set   animations to use, such as those of another sprite with the same frames
+     */
+    public void setAnimationSet(JBurstAnimationSet set)
+    {
+        if(set == null || set == _animations)
+            return;
 
-        if(frameIndices.size() <= 0)
+        if(set.getFrames() != _sprite.getFrames())
+        {
+            System.out.println("Animation set does not belong to this sprite's frames");
             return;
+        }
 
-        int[] arrIndices = new int[frameIndices.size()];
-        for(int i = 0; i < frameIndices.size(); i++) arrIndices[i] = frameIndices.get(i);
+        _animations = set;
 
-        JBurstAnimation anim = new JBurstAnimation(this, name, arrIndices, framerate, looped, flipX, flipY);
-        _animations.put(name, anim);
+        // Playback of animations that were replaced or removed no longer applies
+        if(_playback != null)
+            _playback.values().removeIf(anim -> anim.getData() != set.get(anim.getData().name));
     }
 
-    private void byPrefixHelper(ArrayList<Integer> addTo, ArrayList<JBurstFrame> animFrames, String prefix) 
+    /**
+     * Returns the playback state of the animation named {@code name} on the parent sprite,
+     * or {@code null} if there is no such animation.
+     */
+    public JBurstAnimation getAnimation(String name)
     {
-        for(JBurstFrame frame : animFrames) 
-        {
-            addTo.add(getFrameIndex(frame));
-        }
-    }
+        JBurstAnimationData data = _animations.get(name);
+        if(data == null)
+            return null;
 
-    private void findByPrefix(ArrayList<JBurstFrame> animFrames, String prefix) 
-    {
-        JBurstFramesCollection frames = _sprite.getFrames();
-        for(JBurstFrame frame : frames.frames) 
+        if(_playback == null)
+            _playback = new HashMap<>();
+
+        JBurstAnimation anim = _playback.get(name);
+        if(anim == null || anim.getData() != data)
         {
-            if(frame.name != null && frame.name.startsWith(prefix, 0)) 
-            {
-                animFrames.add(frame);
-            }
+            anim = new JBurstAnimation(this, data);
+            _playback.put(name, anim);
         }
-    }
-    
-    private int getFrameIndex(JBurstFrame frame) 
-    {
-        return _sprite.getFrames().frames.indexOf(frame);
+
+        return anim;
     }
 
     /**
@@ -312,16 +334,17 @@ public class JBurstAnimationController implements IBurstDestroyable
             curAnim = null;
         }
 
-        if(animname == null || _animations.get(animname) == null) 
+        JBurstAnimation anim = animname != null ? getAnimation(animname) : null;
+        if(anim == null) 
         {
             System.out.println("No such animation \"" + animname + "\"");
             return;
         }
 
-        if(curAnim != null && animname != curAnim.name)
+        if(curAnim != null && curAnim != anim)
             curAnim.stop();
 
-        curAnim = _animations.get(animname);
+        curAnim = anim;
         curAnim.play(force, reversed, frame);
     }
 
@@ -367,13 +390,7 @@ public class JBurstAnimationController implements IBurstDestroyable
      */
     public ArrayList<String> getNamesList()
     {
-        ArrayList<String> list = new ArrayList<>();
-        for(JBurstAnimation anim : _animations.values())
-        {
-            list.add(anim.name);
-        }
-
-        return list;
+        return _animations.getNames();
     }
 
     /**
@@ -383,9 +400,9 @@ public class JBurstAnimationController implements IBurstDestroyable
     public ArrayList<JBurstAnimation> getAnimationsList()
     {
         ArrayList<JBurstAnimation> list = new ArrayList<>();
-        for(JBurstAnimation anim : _animations.values())
+        for(String name : _animations.getNames())
         {
-            list.add(anim);
+            list.add(getAnimation(name));
         }
 
         return list;
@@ -396,18 +413,14 @@ public class JBurstAnimationController implements IBurstDestroyable
      */
     public void clearAnimations()
     {
-        if(_animations != null)
+        if(_playback != null)
         {
-            JBurstAnimation anim;
-            for(String key : _animations.keySet())
-            {
-                anim = _animations.get(key);
-                if(anim != null)
-                    anim.destroy();
-            }
+            for(JBurstAnimation anim : _playback.values())
+                anim.destroy();
         }
 
-        _animations = new HashMap<>();
+        _animations = JBurstAnimationSet.empty(_sprite.getFrames());
+        _playback = null;
         curAnim = null;
         frameIndex = -1;
     }
@@ -416,7 +429,7 @@ public class JBurstAnimationController implements IBurstDestroyable
     {
         if(callback != null)
         {
-            String name = curAnim != null ? curAnim.name : null;
+            String name = curAnim != null ? curAnim.getName() : null;
             int number = curAnim != null ? curAnim.curFrame : frameIndex;
 
             callback.accept(name, number, frameIndex);
@@ -455,6 +468,7 @@ public class JBurstAnimationController implements IBurstDestroyable
     { 
         clearAnimations();
         _animations = null;
+        _playback = null;
         callback = null;
         _sprite = null;
     }
@@ -0,0 +1,118 @@
+package com.github.jbb248.jburst.animation;
+
+import java.util.Arrays;
+
+/**
+ * The immutable definition of an animation, shared by every sprite that plays it.
+ * <p>
+ * Playback state, such as the current frame, is kept separately by each sprite's {@link JBurstAnimation}.
+ *
+ * @see JBurstAnimationSet
+ */
+public final class JBurstAnimationData
+{
+    /**
+     * The name of the animation.
+     */
+    public final String name;
+
+    /**
+     * The speed in frames per second of the animation.
+     */
+    public final int frameRate;
+
+    /**
+     * Whether this animation should loop or not.
+     */
+    public final boolean looped;
+
+    /**
+     * Whether or not this animation should render backwards
+     */
+    public final boolean flipX;
+
+    /**
+     * Whether or not this animation should render upside-down
+     */
+    public final boolean flipY;
+
+    /**
+     * Frames stored as integer indices, never modified after construction
+     */
+    final int[] frames;
+
+    private final int _hash;
+
+    /**
+     * Constructs a new animation definition.
+     *
+     * @param name      the title of the animation
+     * @param frames    which frames the animation displays, which are copied
+     * @param frameRate the speed the animation plays at in frames per second
+     * @param looped    whether or not the animation replays when finished
+     * @param flipX     whether or not the animation renders backwards
+     * @param flipY     whether or not the animation renders upside-down
+     */
+    public JBurstAnimationData(String name, int[] frames, int frameRate, boolean looped, boolean flipX, boolean flipY)
+    {
+        this.name = name;
+        this.frames = frames.clone();
+        this.frameRate = frameRate;
+        this.looped = looped;
+        this.flipX = flipX;
+        this.flipY = flipY;
+
+        int hash = name == null ? 0 : name.hashCode();
+        hash = 31 * hash + Arrays.hashCode(this.frames);
+        hash = 31 * hash + frameRate;
+        hash = 31 * hash + (looped ? 1 : 0) + (flipX ? 2 : 0) + (flipY ? 4 : 0);
+        _hash = hash;
+    }
+
+    /**
+     * Returns a copy of this animation's frame indices
+     */
+    public int[] getFrames()
+    {
+        return frames.clone();
+    }
+
+    /**
+     * Returns the number of frame indices in this animation
+     */
+    public int getNumFrames()
+    {
+        return frames.length;
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if(obj == this)
+            return true;
+        if(!(obj instanceof JBurstAnimationData))
+            return false;
+
+        JBurstAnimationData other = (JBurstAnimationData) obj;
+        return _hash == other._hash
+            && frameRate == other.frameRate
+            && looped == other.looped
+            && flipX == other.flipX
+            && flipY == other.flipY
+            && (name == null ? other.name == null : name.equals(other.name))
+            && Arrays.equals(frames, other.frames);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return _hash;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("%s[name=\"%s\",framerate=%d,looped=%b,numframes=%d]",
+            getClass().getName(), name, frameRate, looped, frames.length);
+    }
+}
@@ -0,0 +1,224 @@
+package com.github.jbb248.jburst.animation;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import com.github.jbb248.jburst.graphics.frames.JBurstFramesCollection;
+
+/**
+ * An immutable set of animation definitions for one frames collection, shared by every sprite that uses it.
+ * <p>
+ * Sets are never modified. Adding an animation returns another set, and that set is remembered,
+ * so sprites that add the same animations in the same order end up sharing the same set
+ * rather than each holding their own copy. Each set only remembers the few sets most recently derived from it,
+ * so sprites adding many one-off animations can't grow the cache without limit.
+ * <p>
+ * <i>Each sprite only keeps a small {@link JBurstAnimation} per animation it actually plays.</i>
+ *
+ * @see JBurstAnimationController#getAnimationSet()
+ */
+public final class JBurstAnimationSet
+{
+    /**
+     * Empty sets of every frames collection that has had animations added
+     */
+    private static final Map<JBurstFramesCollection, JBurstAnimationSet> emptySets = new WeakHashMap<>();
+
+    private static final JBurstAnimationSet emptyUnbound = new JBurstAnimationSet(null, Collections.emptyMap());
+
+    /**
+     * The most sets remembered as derived from each set, by {@code with()} and {@code withPrefix()} each
+     */
+    private static final int MAX_DERIVED = 16;
+
+    private final WeakReference<JBurstFramesCollection> _frames;
+
+    private final Map<String, JBurstAnimationData> _animations;
+
+    /**
+     * Sets recently derived from this one, keyed by the animation that was added. Guarded by itself.
+     */
+    private final DerivedSets<JBurstAnimationData, JBurstAnimationSet> _derived = new DerivedSets<>();
+
+    /**
+     * Sets recently derived from this one by {@code withPrefix()}, keyed by its arguments. Guarded by itself.
+     */
+    private final DerivedSets<List<Object>, PrefixResult> _derivedByPrefix = new DerivedSets<>();
+
+    private JBurstAnimationSet(JBurstFramesCollection frames, Map<String, JBurstAnimationData> animations)
+    {
+        _frames = new WeakReference<>(frames);
+        _animations = animations;
+    }
+
+    /**
+     * Returns the empty set of animations for {@code frames}, which may be {@code null}
+     */
+    public static JBurstAnimationSet empty(JBurstFramesCollection frames)
+    {
+        if(frames == null)
+            return emptyUnbound;
+
+        synchronized(emptySets)
+        {
+            JBurstAnimationSet set = emptySets.get(frames);
+            if(set == null)
+            {
+                set = new JBurstAnimationSet(frames, Collections.emptyMap());
+                emptySets.put(frames, set);
+            }
+
+            return set;
+        }
+    }
+
+    /**
+     * Returns a set containing every animation in this one plus {@code animation}.
+     * <p>
+     * <i>If an animation with the same name already exists, it is replaced.</i>
+     */
+    public JBurstAnimationSet with(JBurstAnimationData animation)
+    {
+        if(animation.equals(_animations.get(animation.name)))
+            return this;
+
+        synchronized(_derived)
+        {
+            return _derived.computeIfAbsent(animation, added -> {
+                HashMap<String, JBurstAnimationData> animations = new HashMap<>(_animations);
+                animations.put(added.name, added);
+
+                return new JBurstAnimationSet(_frames.get(), Collections.unmodifiableMap(animations));
+            });
+        }
+    }
+
+    /**
+     * Returns a set containing an animation made of every frame whose name starts with {@code prefix}.
+     * <p>
+     * <i>If no frames match, this set is returned.</i>
+     *
+     * @param name          what to name the animation
+     * @param prefix        name of the animation on the animation file
+     * @param frameRate     how fast or slow this animation should play
+     * @param looped        whether or not this animation should play again once it is finished
+     * @param flipX         whether or not this animation should render backwards
+     * @param flipY         whether or not this animation should render upside-down
+     */
+    public JBurstAnimationSet withPrefix(String name, String prefix, int frameRate, boolean looped, boolean flipX, boolean flipY)
+    {
+        JBurstFramesCollection frames = _frames.get();
+        if(frames == null || frames.frames == null)
+            return this;
+
+        List<Object> key = Arrays.asList(name, prefix, frameRate, looped, flipX, flipY);
+
+        // Results only stand until the frames' names change, so frames added since are searched for
+        int version = frames.getNameVersion();
+
+        PrefixResult result;
+        synchronized(_derivedByPrefix)
+        {
+            result = _derivedByPrefix.get(key);
+        }
+        if(result != null && result.version == version)
+            return result.set;
+
+        int[] indices = frames.getFrameIndicesByPrefix(prefix);
+        JBurstAnimationSet set = indices.length <= 0 ? this : with(new JBurstAnimationData(name, indices, frameRate, looped, flipX, flipY));
+
+        synchronized(_derivedByPrefix)
+        {
+            _derivedByPrefix.put(key, new PrefixResult(set, version));
+        }
+        return set;
+    }
+
+    /**
+     * Returns the animation named {@code name}, or {@code null} if there isn't one
+     */
+    public JBurstAnimationData get(String name)
+    {
+        return _animations.get(name);
+    }
+
+    /**
+     * Returns whether or not this set has an animation named {@code name}
+     */
+    public boolean contains(String name)
+    {
+        return _animations.containsKey(name);
+    }
+
+    /**
+     * Returns the number of animations in this set
+     */
+    public int size()
+    {
+        return _animations.size();
+    }
+
+    /**
+     * Returns a list of all the animations' names
+     */
+    public ArrayList<String> getNames()
+    {
+        return new ArrayList<>(_animations.keySet());
+    }
+
+    /**
+     * Returns the frames collection these animations index into,
+     * or {@code null} if they aren't bound to one or it no longer exists
+     */
+    public JBurstFramesCollection getFrames()
+    {
+        return _frames.get();
+    }
+
+    /**
+     * The set {@code withPrefix()} returned, and the name version of the frames it searched
+     */
+    private static final class PrefixResult
+    {
+        final JBurstAnimationSet set;
+        final int version;
+
+        PrefixResult(JBurstAnimationSet set, int version)
+        {
+            this.set = set;
+            this.version = version;
+        }
+    }
+
+    /**
+     * Remembers the most recently used derived sets, forgetting the least recently used past {@code MAX_DERIVED}
+     */
+    private static final class DerivedSets<K, V> extends LinkedHashMap<K, V>
+    {
+        private static final long serialVersionUID = 1L;
+
+        DerivedSets()
+        {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest)
+        {
+            return size() > MAX_DERIVED;
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("%s[animations=%s]", getClass().getName(), _animations.keySet());
+    }
+}
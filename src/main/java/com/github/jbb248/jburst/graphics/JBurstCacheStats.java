@@ -0,0 +1,71 @@
+package com.github.jbb248.jburst.graphics;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * Measurements shared by the caches of this package. Memory sizes are in bytes.
+ *
+ * @see JBurstGraphicCache.Stats
+ * @see JBurstTransformCache.Stats
+ */
+abstract class JBurstCacheStats
+{
+    /**
+     * The number of cached images
+     */
+    public final int count;
+
+    /**
+     * The estimated pixel memory of every cached image
+     */
+    public final long size;
+
+    /**
+     * The pixel memory budget of the cache
+     */
+    public final long budget;
+
+    /**
+     * The number of lookups that found a cached image
+     */
+    public final long hits;
+
+    /**
+     * The number of lookups that didn't find a cached image
+     */
+    public final long misses;
+
+    /**
+     * The number of images removed to stay within the budget
+     */
+    public final long evictions;
+
+    JBurstCacheStats(int count, long size, long budget, long hits, long misses, long evictions)
+    {
+        this.count = count;
+        this.size = size;
+        this.budget = budget;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+    }
+
+    /**
+     * Returns the estimated pixel memory of {@code image}, in bytes, or 0 if it is {@code null}
+     */
+    static long sizeOf(BufferedImage image)
+    {
+        if(image == null)
+            return 0;
+
+        int bytesPerPixel = Math.max(1, (image.getColorModel().getPixelSize() + 7) / 8);
+        return (long) image.getWidth() * image.getHeight() * bytesPerPixel;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format("%s[count=%d,size=%d,budget=%d,hits=%d,misses=%d,evictions=%d]",
+            getClass().getName(), count, size, budget, hits, misses, evictions);
+    }
+}
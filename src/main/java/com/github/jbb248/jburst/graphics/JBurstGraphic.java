@@ -1,15 +1,30 @@
 package com.github.jbb248.jburst.graphics;
 
+import java.awt.AlphaComposite;
 import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Image;
 import java.awt.Rectangle;
+import java.awt.Transparency;
+import java.awt.color.ColorSpace;
 import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DirectColorModel;
+import java.awt.image.VolatileImage;
 import java.io.File;
 import java.io.IOException;
-import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import javax.imageio.ImageIO;
 
+import com.github.jbb248.jburst.graphics.frames.JBurstFramesCollection;
 import com.github.jbb248.jburst.graphics.frames.JBurstImageFrame;
+import com.github.jbb248.jburst.util.JBurstAssetLoader;
 import com.github.jbb248.jburst.util.JBurstDestroyUtil.IBurstDestroyable;
 
 /**
@@ -20,8 +35,38 @@ import com.github.jbb248.jburst.util.JBurstDestroyUtil.IBurstDestroyable;
  */
 public class JBurstGraphic implements IBurstDestroyable
 {
-    private static int graphEnumerator = 0;
-    private static final HashMap<String, JBurstGraphic> _cache = new HashMap<>();
+    private static final AtomicInteger graphEnumerator = new AtomicInteger();
+    private static final JBurstGraphicCache _cache = new JBurstGraphicCache();
+    private static volatile JBurstGraphic _placeholder;
+
+    /**
+     * Whether or not images read by {@code fromFile()} are converted to match the screen
+     */
+    private static volatile boolean _convertOnLoad = true;
+
+    /**
+     * Whether or not graphics keep a copy of their image in video memory to draw from
+     */
+    private static volatile boolean _useVolatileImages = false;
+
+    /**
+     * The configuration of the default screen, looked up when first needed
+     */
+    private static volatile GraphicsConfiguration _screenConfiguration;
+
+    // Color models of TYPE_INT_RGB and TYPE_INT_ARGB_PRE images, so formats can be compared without allocating
+    private static final ColorModel INT_RGB = new DirectColorModel(24, 0x00ff0000, 0x0000ff00, 0x000000ff, 0);
+    private static final ColorModel INT_ARGB_PRE = new DirectColorModel(ColorSpace.getInstance(ColorSpace.CS_sRGB), 
+        32, 0x00ff0000, 0x0000ff00, 0x000000ff, 0xff000000, true, DataBuffer.TYPE_INT);
+
+    /**
+     * Returns the cache that every JBurstGraphic created through
+     * {@code fromFile()} and {@code fromImage()} is stored in
+     */
+    public static JBurstGraphicCache getCache()
+    {
+        return _cache;
+    }
 
     /**
      * Returns a JBurstGraphic using the image file specified at {@code source}
@@ -35,35 +80,87 @@ public class JBurstGraphic implements IBurstDestroyable
 
     /**
      * Returns a JBurstGraphic using the image file specified at {@code source}
+     * <p>
+     * <i>If a graphic is already cached under {@code key}, it is returned without reading {@code source}.
+     * If the image can't be read, a placeholder graphic is returned and nothing is cached.</i>
      * 
      * @param source    path of image asset to be used in returned JBurstGraphic
      * @param key       unique title for this JBurstGraphic.
      */
     public static JBurstGraphic fromFile(String source, String key) 
     {
-        if(_cache.containsKey(key)) return _cache.get(key);
+        JBurstGraphic graphic = _cache.get(key);
+        if(graphic != null) return graphic;
 
         BufferedImage image = returnBuffImage(source);
         if(image == null)
+            return createPlaceholderGraphic(key);
+
+        if(_convertOnLoad)
+            image = toCompatibleImage(image);
+        
+        return _cache.add(new JBurstGraphic(key, image));
+    }
+
+    /**
+     * Reads the image file specified at {@code source} on a worker thread
+     * 
+     * @param source    path of image asset to be used in the loaded JBurstGraphic
+     * 
+     * @return  a future completed with the loaded JBurstGraphic
+     * 
+     * @see #fromFile(String)
+     */
+    public static CompletableFuture<JBurstGraphic> fromFileAsync(String source)
+    {
+        return fromFileAsync(source, source);
+    }
+
+    /**
+     * Reads the image file specified at {@code source} on a worker thread.
+     * <p>
+     * <i>If a graphic is already cached under {@code key}, the returned future is already complete.
+     * Requests for a key that is still loading share the same future.</i>
+     * 
+     * @param source    path of image asset to be used in the loaded JBurstGraphic
+     * @param key       unique title for the loaded JBurstGraphic
+     * 
+     * @return  a future completed with the loaded JBurstGraphic
+     * 
+     * @see #fromFile(String, String)
+     */
+    public static CompletableFuture<JBurstGraphic> fromFileAsync(String source, String key)
+    {
+        // Only checked here, so an uncached key is counted as a miss once, by the load itself
+        if(_cache.contains(key))
         {
-            image = new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB);
-            Graphics2D graphics = image.createGraphics();
-            graphics.setColor(Color.BLUE);
-            graphics.fillOval(0, 0, 16, 16);
-            graphics.setColor(Color.WHITE);
-            graphics.fillOval(3, 3, 10, 10);
-            graphics.setColor(Color.BLUE);
-            graphics.fillOval(5, 5, 6, 6);
-            graphics.dispose();
+            JBurstGraphic graphic = _cache.get(key);
+            if(graphic != null) 
+                return CompletableFuture.completedFuture(graphic);
         }
-        
-        return new JBurstGraphic(key, image);
+
+        return JBurstAssetLoader.load("JBurstGraphic:" + key, () -> fromFile(source, key));
+    }
+
+    /**
+     * Returns a shared graphic meant to be displayed while the real one is loading
+     */
+    public static JBurstGraphic getPlaceholder()
+    {
+        if(_placeholder == null)
+            _placeholder = createPlaceholderGraphic("JBurstGraphic-placeholder");
+
+        return _placeholder;
     }
 
     /**
      * Returns a JBurstGraphic using the BufferedImage, {@code source}
+     * <p>
+     * <i>{@code source} is used as is. Pass it through {@code toCompatibleImage()} first for faster drawing.</i>
      * 
      * @param source    image to be used in returned JBurstGraphic
+     * 
+     * @see #toCompatibleImage(BufferedImage)
      */
     public static JBurstGraphic fromImage(BufferedImage source) 
     {
@@ -78,10 +175,10 @@ public class JBurstGraphic implements IBurstDestroyable
      */
     public static JBurstGraphic fromImage(BufferedImage source, String key) 
     {
-        if(_cache.containsKey(key))
-            return _cache.get(key);
+        JBurstGraphic graphic = _cache.get(key);
+        if(graphic != null) return graphic;
         
-        return new JBurstGraphic(key, source);
+        return _cache.add(new JBurstGraphic(key, source));
     }
 
     private static BufferedImage returnBuffImage(String path) 
@@ -97,9 +194,172 @@ public class JBurstGraphic implements IBurstDestroyable
         return null;
     }
 
+    /**
+     * Returns whether or not images read by {@code fromFile()} are converted to match the screen
+     */
+    public static boolean isConvertOnLoad()
+    {
+        return _convertOnLoad;
+    }
+
+    /**
+     * Sets whether or not images read by {@code fromFile()} are converted to match the screen. It is enabled by default.
+     * <p>
+     * <i>This only affects graphics loaded afterwards.</i>
+     * 
+     * @see #toCompatibleImage(BufferedImage)
+     */
+    public static void setConvertOnLoad(boolean convert)
+    {
+        _convertOnLoad = convert;
+    }
+
+    /**
+     * Returns whether or not graphics keep a copy of their image in video memory to draw from
+     */
+    public static boolean isUseVolatileImages()
+    {
+        return _useVolatileImages;
+    }
+
+    /**
+     * Sets whether or not graphics keep a copy of their image in video memory to draw from. It is disabled by default.
+     * <p>
+     * Java2D already keeps copies of compatible images in video memory when it can. 
+     * This forces it, for pipelines that don't, at the cost of restoring the copy whenever the screen loses it.
+     * <p>
+     * <i>Copies are refreshed when a graphic is drawn on through {@code createGraphics()}.
+     * If {@code image} is drawn on some other way, call {@code invalidateVolatileImage()}.</i>
+     * 
+     * @see #getDrawableImage()
+     */
+    public static void setUseVolatileImages(boolean useVolatileImages)
+    {
+        _useVolatileImages = useVolatileImages;
+    }
+
+    /**
+     * Returns the configuration of the default screen, or {@code null} if there is no screen.
+     * <p>
+     * <i>It is only looked up once, and again when a copy in video memory no longer suits it.</i>
+     */
+    public static GraphicsConfiguration getGraphicsConfiguration()
+    {
+        GraphicsConfiguration config = _screenConfiguration;
+        if(config == null)
+            config = refreshGraphicsConfiguration();
+
+        return config;
+    }
+
+    /**
+     * Looks up the configuration of the default screen again, such as after the screen changed
+     */
+    private static GraphicsConfiguration refreshGraphicsConfiguration()
+    {
+        if(GraphicsEnvironment.isHeadless())
+            return null;
+
+        return _screenConfiguration = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+    }
+
+    /**
+     * Returns a new, fully transparent image in the format the screen draws fastest.
+     * <p>
+     * <i>Where the screen stores pixels as integers, the image is premultiplied,
+     * which Java2D blends without converting. Without a screen, {@code TYPE_INT_ARGB_PRE} is used.</i>
+     * 
+     * @param width     width of the image
+     * @param height    height of the image
+     */
+    public static BufferedImage createCompatibleImage(int width, int height)
+    {
+        return createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+    }
+
+    private static BufferedImage createCompatibleImage(int width, int height, int transparency)
+    {
+        GraphicsConfiguration config = getGraphicsConfiguration();
+        if(config == null || usesIntArgb(config, transparency))
+            return new BufferedImage(width, height, transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB_PRE);
+
+        return config.createCompatibleImage(width, height, transparency);
+    }
+
+    /**
+     * Returns the color model {@code createCompatibleImage()} would give an image 
+     * of the given transparency, without allocating one.
+     */
+    private static ColorModel compatibleColorModel(int transparency)
+    {
+        GraphicsConfiguration config = getGraphicsConfiguration();
+        if(config == null || usesIntArgb(config, transparency))
+            return transparency == Transparency.OPAQUE ? INT_RGB : INT_ARGB_PRE;
+
+        return config.getColorModel(transparency);
+    }
+
+    private static boolean usesIntArgb(GraphicsConfiguration config, int transparency)
+    {
+        return transparency != Transparency.OPAQUE && ColorModel.getRGBdefault().equals(config.getColorModel(transparency));
+    }
+
+    /**
+     * Returns a copy of {@code image} in the format the screen draws fastest,
+     * or {@code image} itself if it is already in that format.
+     * <p>
+     * Images read from files usually come in whatever format they were stored in, 
+     * which Java2D has to convert pixel by pixel every time they are drawn.
+     * <i>Opaque images stay opaque.</i>
+     * 
+     * @see #createCompatibleImage(int, int)
+     */
+    public static BufferedImage toCompatibleImage(BufferedImage image)
+    {
+        if(image == null)
+            return null;
+
+        int transparency = image.getTransparency() == Transparency.OPAQUE ? Transparency.OPAQUE : Transparency.TRANSLUCENT;
+        ColorModel model = compatibleColorModel(transparency);
+        if(model.equals(image.getColorModel()) && model.isCompatibleSampleModel(image.getSampleModel()))
+            return image;
+
+        BufferedImage compatible = createCompatibleImage(image.getWidth(), image.getHeight(), transparency);
+
+        Graphics2D graphics = compatible.createGraphics();
+        graphics.setComposite(AlphaComposite.Src);
+        graphics.drawImage(image, 0, 0, null);
+        graphics.dispose();
+
+        return compatible;
+    }
+
+    private static JBurstGraphic createPlaceholderGraphic(String key)
+    {
+        JBurstGraphic graphic = new JBurstGraphic(key, createPlaceholder());
+        graphic._isPlaceholder = true;
+
+        return graphic;
+    }
+
+    private static BufferedImage createPlaceholder()
+    {
+        BufferedImage image = createCompatibleImage(16, 16);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.BLUE);
+        graphics.fillOval(0, 0, 16, 16);
+        graphics.setColor(Color.WHITE);
+        graphics.fillOval(3, 3, 10, 10);
+        graphics.setColor(Color.BLUE);
+        graphics.fillOval(5, 5, 6, 6);
+        graphics.dispose();
+
+        return image;
+    }
+
     private static String generateKey()
     {
-        return "JBurstGraphic-" + graphEnumerator++;
+        return "JBurstGraphic-" + graphEnumerator.getAndIncrement();
     }
 
     /**
@@ -114,12 +374,46 @@ public class JBurstGraphic implements IBurstDestroyable
 
     private JBurstImageFrame _imageFrame;
 
+    /**
+     * Copy of {@code image} in video memory, which may be {@code null}. Only replaced while holding this graphic's lock.
+     */
+    private volatile VolatileImage _volatileImage;
+
+    /**
+     * Whether or not {@code _volatileImage} needs to be copied from {@code image} again
+     */
+    private volatile boolean _volatileStale = true;
+
+    /**
+     * Frame collections made from this graphic that are shared by anything using it, such as sliced spritesheets
+     */
+    private final ConcurrentHashMap<String, JBurstFramesCollection> _frameCollections = new ConcurrentHashMap<>();
+
+    /**
+     * The number of objects currently using this graphic
+     */
+    private final AtomicInteger _useCount = new AtomicInteger();
+
+    /**
+     * Whether or not this graphic stands in for an image that couldn't be read
+     */
+    private boolean _isPlaceholder = false;
+
     public JBurstGraphic(String key, BufferedImage image) 
     {
         this.key = key;
         this.image = image;
     }
 
+    /**
+     * Returns whether or not this graphic is a placeholder, 
+     * either from {@code getPlaceholder()} or returned by {@code fromFile()} when its image couldn't be read
+     */
+    public boolean isPlaceholder()
+    {
+        return _isPlaceholder;
+    }
+
     public int getWidth()
     {
         if(image != null)
@@ -136,14 +430,139 @@ public class JBurstGraphic implements IBurstDestroyable
         return 0;
     }
 
+    /**
+     * Returns a graphics object to draw on this graphic's image with, which may be {@code null}
+     */
     public Graphics2D createGraphics()
     {
         if(image != null)
+        {
+            _volatileStale = true;
             return image.createGraphics();
+        }
 
         return null;
     }
 
+    /**
+     * Returns the image this graphic should be drawn with, which may be {@code null}.
+     * <p>
+     * This is a copy kept in video memory if {@code setUseVolatileImages()} is enabled and the screen allows it, 
+     * restored first if it was lost. Otherwise, it is {@code image}.
+     * 
+     * @see #setUseVolatileImages(boolean)
+     */
+    public Image getDrawableImage()
+    {
+        BufferedImage source = image;
+        if(!_useVolatileImages || source == null)
+            return source;
+
+        // Drawn without locking while the copy is still valid, which it almost always is
+        VolatileImage copy = _volatileImage;
+        if(copy != null && !_volatileStale)
+        {
+            int status = copy.validate(getGraphicsConfiguration());
+            if(status == VolatileImage.IMAGE_OK && !copy.contentsLost())
+                return copy;
+
+            if(status == VolatileImage.IMAGE_RESTORED)
+                _volatileStale = true;
+        }
+
+        synchronized(this)
+        {
+            GraphicsConfiguration config = getGraphicsConfiguration();
+            if(config == null)
+                return source;
+
+            int status = _volatileImage == null ? VolatileImage.IMAGE_INCOMPATIBLE : _volatileImage.validate(config);
+            if(status == VolatileImage.IMAGE_INCOMPATIBLE)
+            {
+                // The screen may have changed since the configuration was looked up
+                if(_volatileImage != null)
+                {
+                    _volatileImage.flush();
+
+                    config = refreshGraphicsConfiguration();
+                    if(config == null)
+                    {
+                        _volatileImage = null;
+                        return source;
+                    }
+                }
+
+                _volatileImage = config.createCompatibleVolatileImage(source.getWidth(), source.getHeight(), source.getTransparency());
+                _volatileStale = true;
+            }
+            else if(status == VolatileImage.IMAGE_RESTORED || _volatileImage.contentsLost())
+                _volatileStale = true;
+
+            if(_volatileStale)
+            {
+                _volatileStale = false;
+
+                Graphics2D graphics = _volatileImage.createGraphics();
+                graphics.setComposite(AlphaComposite.Src);
+                graphics.drawImage(source, 0, 0, null);
+                graphics.dispose();
+            }
+
+            // Still lost after restoring, so this draw uses the regular image
+            if(_volatileImage.contentsLost())
+            {
+                _volatileStale = true;
+                return source;
+            }
+
+            return _volatileImage;
+        }
+    }
+
+    /**
+     * Marks this graphic's copy in video memory as outdated, 
+     * so it is copied from {@code image} again before it is next drawn.
+     * <p>
+     * <i>Only needed if {@code image} is drawn on without {@code createGraphics()}.</i>
+     */
+    public void invalidateVolatileImage()
+    {
+        _volatileStale = true;
+    }
+
+    /**
+     * Returns the number of objects currently using this graphic.
+     * <p>
+     * Cached graphics are only removed to free memory once this reaches zero.
+     */
+    public int getUseCount()
+    {
+        return _useCount.get();
+    }
+
+    /**
+     * Marks this graphic as used by one more object, 
+     * keeping it from being removed from the cache
+     * 
+     * @see #decrementUseCount()
+     */
+    public void incrementUseCount()
+    {
+        _useCount.incrementAndGet();
+    }
+
+    /**
+     * Marks this graphic as used by one fewer object. 
+     * Once nothing uses it, it may be removed from the cache to free memory.
+     * 
+     * @see #incrementUseCount()
+     */
+    public void decrementUseCount()
+    {
+        if(_useCount.updateAndGet(count -> count > 0 ? count - 1 : 0) == 0)
+            _cache.released(this);
+    }
+
     public JBurstImageFrame getImageFrame()
     {
         if(_imageFrame == null)
@@ -152,9 +571,66 @@ public class JBurstGraphic implements IBurstDestroyable
         return _imageFrame;
     }
 
+    /**
+     * Returns the frame collection kept by this graphic under {@code key}, 
+     * first creating it with {@code creator} if there isn't one.
+     * 
+     * @param key       unique title of the frame collection, such as how it was sliced
+     * @param creator   makes the frame collection if it doesn't exist yet
+     * 
+     * @see com.github.jbb248.jburst.graphics.frames.JBurstTileFrames#fromGraphic(JBurstGraphic, int, int) JBurstTileFrames.fromGraphic()
+     */
+    public JBurstFramesCollection getFrameCollection(String key, Supplier<? extends JBurstFramesCollection> creator)
+    {
+        return _frameCollections.computeIfAbsent(key, k -> creator.get());
+    }
+
+    /**
+     * Forgets every frame collection kept by this graphic that isn't currently used, 
+     * so they can be garbage collected.
+     * <p>
+     * <i>This is done automatically when this graphic is removed from the cache.</i>
+     */
+    public void releaseFrameCollections()
+    {
+        _frameCollections.values().removeIf(frames -> frames.getUseCount() <= 0);
+    }
+
+    /**
+     * Called once this graphic is removed from the cache to stay within its budget.
+     * Releases what can be made again if the graphic is still used, but leaves {@code image} to whatever holds it.
+     */
+    void evicted()
+    {
+        releaseFrameCollections();
+
+        synchronized(this)
+        {
+            if(_volatileImage != null)
+                _volatileImage.flush();
+            _volatileImage = null;
+        }
+    }
+
     @Override
     public void destroy()
     {
+        _cache.remove(this);
+
+        for(JBurstFramesCollection frames : _frameCollections.values())
+        {
+            if(frames.getUseCount() <= 0)
+                frames.destroy();
+        }
+        _frameCollections.clear();
+
+        synchronized(this)
+        {
+            if(_volatileImage != null)
+                _volatileImage.flush();
+            _volatileImage = null;
+        }
+
         key = null;
         image = null;
     }
@@ -0,0 +1,230 @@
+package com.github.jbb248.jburst.graphics;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Thread-safe storage of every cached JBurstGraphic, keyed by {@code JBurstGraphic.key}.
+ * <p>
+ * The cache holds a budget of pixel memory, in bytes. Once the budget is exceeded,
+ * graphics that are no longer used by anything are removed, least recently used first.
+ * Graphics still in use are never removed, so the cache may stay above its budget until they are released.
+ * <p>
+ * <i>Removed graphics are not destroyed. Only their unused frame collections and video memory copy are released;
+ * their image is left to the garbage collector once nothing holds them. Anything still holding them
+ * can keep using them, they just won't be returned by the cache again.</i>
+ *
+ * @see JBurstGraphic#getCache()
+ */
+public class JBurstGraphicCache
+{
+    /**
+     * The default pixel memory budget, 256 MiB
+     */
+    public static final long DEFAULT_BUDGET = 256L * 1024 * 1024;
+
+    /**
+     * Cached graphics, ordered from least to most recently used
+     */
+    private final LinkedHashMap<String, Entry> _entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long _budget = DEFAULT_BUDGET;
+
+    private long _size = 0;
+
+    private long _hits = 0;
+
+    private long _misses = 0;
+
+    private long _evictions = 0;
+
+    JBurstGraphicCache() { }
+
+    /**
+     * Returns the graphic cached under {@code key}, or {@code null} if there isn't one
+     *
+     * @param key   key of the desired graphic
+     */
+    public synchronized JBurstGraphic get(String key)
+    {
+        Entry entry = _entries.get(key);
+        if(entry == null)
+        {
+            _misses++;
+            return null;
+        }
+
+        _hits++;
+        return entry.graphic;
+    }
+
+    /**
+     * Returns whether or not a graphic is cached under {@code key}.
+     * <p><i>This does not count as a hit or miss.</i>
+     */
+    public synchronized boolean contains(String key)
+    {
+        return _entries.containsKey(key);
+    }
+
+    /**
+     * Adds {@code graphic} to the cache under its key.
+     * <p>
+     * <i>If a graphic is already cached under the same key, that one is kept and returned instead.</i>
+     *
+     * @param graphic   graphic to be cached
+     *
+     * @return  the graphic cached under {@code graphic.key}
+     */
+    public synchronized JBurstGraphic add(JBurstGraphic graphic)
+    {
+        if(graphic == null || graphic.key == null)
+            return graphic;
+
+        Entry entry = _entries.get(graphic.key);
+        if(entry != null)
+            return entry.graphic;
+
+        entry = new Entry(graphic, JBurstCacheStats.sizeOf(graphic.image));
+        _entries.put(graphic.key, entry);
+        _size += entry.size;
+
+        trim(entry);
+
+        return graphic;
+    }
+
+    /**
+     * Removes {@code graphic} from the cache, if it is what's cached under its key
+     *
+     * @return  whether or not {@code graphic} was removed
+     */
+    public synchronized boolean remove(JBurstGraphic graphic)
+    {
+        if(graphic == null || graphic.key == null)
+            return false;
+
+        Entry entry = _entries.get(graphic.key);
+        if(entry == null || entry.graphic != graphic)
+            return false;
+
+        _entries.remove(graphic.key);
+        _size -= entry.size;
+
+        return true;
+    }
+
+    /**
+     * Removes every graphic from the cache, including those still in use
+     */
+    public synchronized void clear()
+    {
+        _entries.clear();
+        _size = 0;
+    }
+
+    /**
+     * Returns the pixel memory budget of this cache, in bytes
+     */
+    public synchronized long getBudget()
+    {
+        return _budget;
+    }
+
+    /**
+     * Sets the pixel memory budget of this cache, in bytes,
+     * immediately removing unused graphics if it is now exceeded.
+     * <p>
+     * <i>Negative values will be ignored.</i>
+     */
+    public synchronized void setBudget(long bytes)
+    {
+        if(bytes < 0)
+            return;
+
+        _budget = bytes;
+        trim(null);
+    }
+
+    /**
+     * Returns a snapshot of this cache's size and usage
+     */
+    public synchronized Stats getStats()
+    {
+        return new Stats(_entries.size(), _size, _budget, _hits, _misses, _evictions);
+    }
+
+    /**
+     * Clears this cache's hit, miss and eviction counts
+     */
+    public synchronized void resetStats()
+    {
+        _hits = _misses = _evictions = 0;
+    }
+
+    /**
+     * Called once {@code graphic} is no longer used by anything.
+     * <p>
+     * <i>Unused graphics are only removed while the cache is over its budget,
+     * so nothing is searched unless it is and {@code graphic} is cached.</i>
+     */
+    synchronized void released(JBurstGraphic graphic)
+    {
+        // Doesn't count as a use, so the order graphics are removed in is unchanged
+        if(_size <= _budget || graphic.key == null || !_entries.containsKey(graphic.key))
+            return;
+
+        trim(null);
+    }
+
+    /**
+     * Removes unused graphics, least recently used first, until this cache is within its budget
+     *
+     * @param keep  entry that may not be removed, which may be {@code null}
+     */
+    private void trim(Entry keep)
+    {
+        Iterator<Entry> iterator = _entries.values().iterator();
+        while(_size > _budget && iterator.hasNext())
+        {
+            Entry entry = iterator.next();
+            if(entry == keep || entry.graphic.getUseCount() > 0)
+                continue;
+
+            iterator.remove();
+            _size -= entry.size;
+            _evictions++;
+
+            entry.graphic.evicted();
+        }
+    }
+
+    private static class Entry
+    {
+        final JBurstGraphic graphic;
+        final long size;
+
+        Entry(JBurstGraphic graphic, long size)
+        {
+            this.graphic = graphic;
+            this.size = size;
+        }
+    }
+
+    /**
+     * Measurements of a JBurstGraphicCache. Memory sizes are in bytes.
+     */
+    public static class Stats extends JBurstCacheStats
+    {
+        Stats(int count, long size, long budget, long hits, long misses, long evictions)
+        {
+            super(count, size, budget, hits, misses, evictions);
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return getStats().toString();
+    }
+}
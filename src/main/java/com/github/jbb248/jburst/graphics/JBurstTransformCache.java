@@ -0,0 +1,448 @@
+package com.github.jbb248.jburst.graphics;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+import com.github.jbb248.jburst.graphics.frames.JBurstFrame;
+
+/**
+ * Thread-safe storage of frames already rendered with a rotation, scale and flipping applied.
+ * <p>
+ * Angles and scales are rounded to steps, so a sprite spinning or pulsing through a small set of
+ * angles and scales renders each of them once, then simply draws the finished image.
+ * Like {@link JBurstGraphicCache}, the cache holds a budget of pixel memory, in bytes,
+ * and removes the least recently used images once it is exceeded.
+ * <p>
+ * <i>Images are rendered from their graphic's pixels when first requested.
+ * If a graphic is drawn on afterwards, {@code clear()} the cache.
+ * Graphics are only weakly held, so once nothing else uses a graphic, its images are removed.</i>
+ *
+ * @see com.github.jbb248.jburst.JBurstSprite#setTransformCache(JBurstTransformCache) JBurstSprite.setTransformCache()
+ */
+public class JBurstTransformCache
+{
+    /**
+     * The default pixel memory budget, 64 MiB
+     */
+    public static final long DEFAULT_BUDGET = 64L * 1024 * 1024;
+
+    /**
+     * Rendered frames, ordered from least to most recently used
+     */
+    private final LinkedHashMap<Key, BufferedImage> _entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Receives the references of cached keys whose graphic was collected
+     */
+    private final ReferenceQueue<JBurstGraphic> _collected = new ReferenceQueue<>();
+
+    private long _budget;
+
+    private int _angleSteps = 360;
+
+    private double _scaleStep = 1.0 / 32;
+
+    /**
+     * Changed whenever the steps are, so images rendered with old steps aren't cached
+     */
+    private int _generation = 0;
+
+    private long _size = 0;
+
+    private long _hits = 0;
+
+    private long _misses = 0;
+
+    private long _evictions = 0;
+
+    /**
+     * Creates a new cache with the default budget
+     */
+    public JBurstTransformCache()
+    {
+        this(DEFAULT_BUDGET);
+    }
+
+    /**
+     * Creates a new cache with a budget of {@code bytes}
+     * <p>
+     * <i>If {@code bytes} is negative, the default budget is used.</i>
+     */
+    public JBurstTransformCache(long bytes)
+    {
+        _budget = bytes < 0 ? DEFAULT_BUDGET : bytes;
+    }
+
+    /**
+     * Returns {@code frame} rendered with its angle and scale rounded to this cache's steps,
+     * rendering it first if it isn't cached.
+     * <p>
+     * The image is the size of the rotated, scaled frame's bounding box, with the frame centered in it.
+     *
+     * @param frame     frame to be rendered
+     * @param angle     angle of rotation, in radians
+     * @param scaleX    horizontal scale
+     * @param scaleY    vertical scale
+     * @param flipX     whether or not the frame is drawn backwards
+     * @param flipY     whether or not the frame is drawn upside-down
+     *
+     * @return  the rendered frame, or {@code null} if {@code frame} has nothing to render
+     */
+    public BufferedImage get(JBurstFrame frame, double angle, double scaleX, double scaleY, boolean flipX, boolean flipY)
+    {
+        if(frame == null || frame.graphic == null || frame.graphic.image == null || frame.frame == null)
+            return null;
+
+        Key key;
+        double roundedAngle, roundedScaleX, roundedScaleY;
+        int generation;
+        synchronized(this)
+        {
+            expunge();
+
+            key = new Key(frame, quantizeAngle(angle), quantizeScale(scaleX), quantizeScale(scaleY), flipX, flipY);
+
+            BufferedImage image = _entries.get(key);
+            if(image != null)
+            {
+                _hits++;
+                return image;
+            }
+
+            _misses++;
+
+            roundedAngle = key.angleStep * (2.0 * Math.PI / _angleSteps);
+            roundedScaleX = key.scaleXStep * _scaleStep;
+            roundedScaleY = key.scaleYStep * _scaleStep;
+            generation = _generation;
+        }
+
+        // Rendered outside the lock so other sprites aren't held up
+        BufferedImage image = render(frame, roundedAngle, roundedScaleX, roundedScaleY, flipX, flipY);
+
+        synchronized(this)
+        {
+            if(generation != _generation)
+                return image;
+
+            BufferedImage cached = _entries.get(key);
+            if(cached != null)
+                return cached;
+
+            _entries.put(key.stored(_collected), image);
+            _size += JBurstCacheStats.sizeOf(image);
+
+            trim();
+        }
+
+        return image;
+    }
+
+    private static BufferedImage render(JBurstFrame frame, double angle, double scaleX, double scaleY, boolean flipX, boolean flipY)
+    {
+        final double WIDTH = frame.sourceSize.width * scaleX;
+        final double HEIGHT = frame.sourceSize.height * scaleY;
+
+        double cos = Math.abs(Math.cos(angle));
+        double sin = Math.abs(Math.sin(angle));
+        double xWidth = WIDTH * cos + HEIGHT * sin;
+        double xHeight = WIDTH * sin + HEIGHT * cos;
+
+        BufferedImage image = JBurstGraphic.createCompatibleImage(
+            Math.max(1, Math.toIntExact(Math.round(xWidth))),
+            Math.max(1, Math.toIntExact(Math.round(xHeight)))
+        );
+
+        Graphics2D graphics = image.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.rotate(angle, xWidth / 2, xHeight / 2);
+        graphics.translate((xWidth - WIDTH) * 0.5, (xHeight - HEIGHT) * 0.5);
+        frame.paint(graphics, 0, 0, scaleX, scaleY, flipX, flipY);
+        graphics.dispose();
+
+        return image;
+    }
+
+    private int quantizeAngle(double angle)
+    {
+        int step = (int) Math.round(angle / (2.0 * Math.PI) * _angleSteps) % _angleSteps;
+        return step < 0 ? step + _angleSteps : step;
+    }
+
+    private int quantizeScale(double scale)
+    {
+        return Math.max(1, (int) Math.round(scale / _scaleStep));
+    }
+
+    /**
+     * Removes every rendered frame from the cache
+     */
+    public synchronized void clear()
+    {
+        _entries.clear();
+        _size = 0;
+    }
+
+    /**
+     * Removes the rendered frames of graphics that were collected
+     */
+    private void expunge()
+    {
+        Reference<? extends JBurstGraphic> reference;
+        while((reference = _collected.poll()) != null)
+        {
+            BufferedImage image = _entries.remove(((GraphicReference) reference).key);
+            if(image != null)
+                _size -= JBurstCacheStats.sizeOf(image);
+        }
+    }
+
+    /**
+     * Returns how many steps a full rotation is rounded to
+     */
+    public synchronized int getAngleSteps()
+    {
+        return _angleSteps;
+    }
+
+    /**
+     * Sets how many steps a full rotation is rounded to, clearing the cache. The default is 360, or one per degree.
+     * <p>
+     * <i>If {@code steps} is less than 1, this call will be ignored.</i>
+     */
+    public synchronized void setAngleSteps(int steps)
+    {
+        if(steps < 1 || steps == _angleSteps)
+            return;
+
+        _angleSteps = steps;
+        _generation++;
+        clear();
+    }
+
+    /**
+     * Returns the step scales are rounded to
+     */
+    public synchronized double getScaleStep()
+    {
+        return _scaleStep;
+    }
+
+    /**
+     * Sets the step scales are rounded to, clearing the cache. The default is 1/32.
+     * <p>
+     * <i>If {@code step} is less than or equal to zero, this call will be ignored.</i>
+     */
+    public synchronized void setScaleStep(double step)
+    {
+        if(step <= 0 || step == _scaleStep)
+            return;
+
+        _scaleStep = step;
+        _generation++;
+        clear();
+    }
+
+    /**
+     * Returns the pixel memory budget of this cache, in bytes
+     */
+    public synchronized long getBudget()
+    {
+        return _budget;
+    }
+
+    /**
+     * Sets the pixel memory budget of this cache, in bytes,
+     * immediately removing rendered frames if it is now exceeded.
+     * <p>
+     * <i>Negative values will be ignored.</i>
+     */
+    public synchronized void setBudget(long bytes)
+    {
+        if(bytes < 0)
+            return;
+
+        _budget = bytes;
+        trim();
+    }
+
+    /**
+     * Returns a snapshot of this cache's size and usage
+     */
+    public synchronized Stats getStats()
+    {
+        expunge();
+        return new Stats(_entries.size(), _size, _budget, _hits, _misses, _evictions);
+    }
+
+    /**
+     * Clears this cache's hit, miss and eviction counts
+     */
+    public synchronized void resetStats()
+    {
+        _hits = _misses = _evictions = 0;
+    }
+
+    /**
+     * Removes rendered frames, least recently used first, until this cache is within its budget
+     */
+    private void trim()
+    {
+        Iterator<BufferedImage> iterator = _entries.values().iterator();
+        while(_size > _budget && iterator.hasNext())
+        {
+            _size -= JBurstCacheStats.sizeOf(iterator.next());
+            iterator.remove();
+            _evictions++;
+        }
+    }
+
+    /**
+     * A frame's region of its graphic with a rounded rotation, scale and flipping.
+     * The frame's values are copied, since sprites reuse their frame objects.
+     * <p>
+     * Keys made for lookups hold their graphic, while keys stored in the cache only hold it weakly.
+     */
+    private static final class Key
+    {
+        private final JBurstGraphic _graphic;
+        private final GraphicReference _reference;
+        final int x, y, width, height;
+        final int offsetX, offsetY, sourceWidth, sourceHeight;
+        final int angleStep, scaleXStep, scaleYStep;
+        final boolean flipX, flipY;
+
+        private final int _hash;
+
+        Key(JBurstFrame frame, int angleStep, int scaleXStep, int scaleYStep, boolean flipX, boolean flipY)
+        {
+            this._graphic = frame.graphic;
+            this._reference = null;
+            this.x = frame.frame.x;
+            this.y = frame.frame.y;
+            this.width = frame.frame.width;
+            this.height = frame.frame.height;
+            this.offsetX = frame.offset.x;
+            this.offsetY = frame.offset.y;
+            this.sourceWidth = frame.sourceSize.width;
+            this.sourceHeight = frame.sourceSize.height;
+            this.angleStep = angleStep;
+            this.scaleXStep = scaleXStep;
+            this.scaleYStep = scaleYStep;
+            this.flipX = flipX;
+            this.flipY = flipY;
+
+            int hash = System.identityHashCode(_graphic);
+            hash = 31 * hash + x;
+            hash = 31 * hash + y;
+            hash = 31 * hash + width;
+            hash = 31 * hash + height;
+            hash = 31 * hash + offsetX;
+            hash = 31 * hash + offsetY;
+            hash = 31 * hash + sourceWidth;
+            hash = 31 * hash + sourceHeight;
+            hash = 31 * hash + angleStep;
+            hash = 31 * hash + scaleXStep;
+            hash = 31 * hash + scaleYStep;
+            hash = 31 * hash + (flipX ? 1 : 0) + (flipY ? 2 : 0);
+            _hash = hash;
+        }
+
+        private Key(Key lookup, ReferenceQueue<JBurstGraphic> queue)
+        {
+            this._graphic = null;
+            this._reference = new GraphicReference(lookup._graphic, queue, this);
+            this.x = lookup.x;
+            this.y = lookup.y;
+            this.width = lookup.width;
+            this.height = lookup.height;
+            this.offsetX = lookup.offsetX;
+            this.offsetY = lookup.offsetY;
+            this.sourceWidth = lookup.sourceWidth;
+            this.sourceHeight = lookup.sourceHeight;
+            this.angleStep = lookup.angleStep;
+            this.scaleXStep = lookup.scaleXStep;
+            this.scaleYStep = lookup.scaleYStep;
+            this.flipX = lookup.flipX;
+            this.flipY = lookup.flipY;
+            this._hash = lookup._hash;
+        }
+
+        /**
+         * Returns a copy of this key to be stored in the cache, holding its graphic weakly
+         */
+        Key stored(ReferenceQueue<JBurstGraphic> queue)
+        {
+            return new Key(this, queue);
+        }
+
+        /**
+         * Returns the graphic of this key, or {@code null} if it was collected
+         */
+        JBurstGraphic graphic()
+        {
+            return _reference == null ? _graphic : _reference.get();
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if(obj == this)
+                return true;
+            if(!(obj instanceof Key))
+                return false;
+
+            Key other = (Key) obj;
+            JBurstGraphic graphic = graphic();
+            return _hash == other._hash && graphic != null && graphic == other.graphic()
+                && x == other.x && y == other.y && width == other.width && height == other.height
+                && offsetX == other.offsetX && offsetY == other.offsetY
+                && sourceWidth == other.sourceWidth && sourceHeight == other.sourceHeight
+                && angleStep == other.angleStep && scaleXStep == other.scaleXStep && scaleYStep == other.scaleYStep
+                && flipX == other.flipX && flipY == other.flipY;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return _hash;
+        }
+    }
+
+    /**
+     * A weak reference to a cached key's graphic, which finds that key again once the graphic is collected
+     */
+    private static final class GraphicReference extends WeakReference<JBurstGraphic>
+    {
+        final Key key;
+
+        GraphicReference(JBurstGraphic graphic, ReferenceQueue<JBurstGraphic> queue, Key key)
+        {
+            super(graphic, queue);
+            this.key = key;
+        }
+    }
+
+    /**
+     * Measurements of a JBurstTransformCache. Memory sizes are in bytes.
+     */
+    public static class Stats extends JBurstCacheStats
+    {
+        Stats(int count, long size, long budget, long hits, long misses, long evictions)
+        {
+            super(count, size, budget, hits, misses, evictions);
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return getStats().toString();
+    }
+}
@@ -0,0 +1,222 @@
+package com.github.jbb248.jburst.graphics.frames;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.CRC32;
+
+/**
+ * On-disk storage of parsed atlas descriptions, so each description only has to be parsed once.
+ * <p>
+ * Every description gets one cache file, named after a hash of its path. The cache file starts with
+ * the description's path, length, modification time and checksum, followed by its frames in the
+ * {@link JBurstBinaryAtlas} format. A cache file is only used if the description's length and
+ * modification time still match, or if its contents are unchanged despite being modified.
+ * Otherwise the description is parsed again and the cache file replaced.
+ * <p>
+ * Frames are stored exactly as described, never fitted to a spritesheet,
+ * since the spritesheet isn't part of what decides whether a cache file is stale.
+ * They are fitted to the collection's graphic as they are read.
+ *
+ * @see JBurstAtlasFrames#setCacheDirectory(String)
+ */
+class JBurstAtlasCache
+{
+    /**
+     * The first four bytes of every cache file, {@code 'JBAC'}
+     */
+    private static final int MAGIC = 0x4A424143;
+
+    private static final int VERSION = 1;
+
+    /**
+     * Directory cache files are kept in, or {@code null} if caching is disabled
+     */
+    private static volatile File _directory = null;
+
+    static File getDirectory()
+    {
+        return _directory;
+    }
+
+    static void setDirectory(File directory)
+    {
+        if(directory != null)
+            directory.mkdirs();
+
+        _directory = directory;
+    }
+
+    /**
+     * Reads the cached frames of {@code description} into {@code frames}
+     *
+     * @return  {@code frames}, or {@code null} if caching is disabled or there is no valid cache file
+     */
+    static <T extends JBurstFramesCollection> T read(File description, T frames)
+    {
+        File directory = _directory;
+        if(directory == null)
+            return null;
+
+        try
+        {
+            String path = description.getCanonicalPath();
+            File cache = cacheFile(directory, path);
+            if(!cache.isFile())
+                return null;
+
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(cache.toPath()));
+            if(buffer.getInt() != MAGIC || buffer.getInt() != VERSION)
+                return null;
+
+            // Checked before allocating, so a corrupt cache file can't ask for more than it holds
+            int pathLength = buffer.getInt();
+            if(pathLength < 0 || pathLength > buffer.remaining())
+                return null;
+
+            byte[] cachedPath = new byte[pathLength];
+            buffer.get(cachedPath);
+            if(!path.equals(new String(cachedPath, StandardCharsets.UTF_8)))
+                return null;
+
+            long length = buffer.getLong();
+            long modified = buffer.getLong();
+            long checksum = buffer.getLong();
+
+            if(length != description.length())
+                return null;
+
+            // A description can be saved again without changing, so only its contents decide whether it's stale
+            boolean touched = modified != description.lastModified();
+            if(touched && checksum != checksum(description))
+                return null;
+
+            ByteBuffer atlas = buffer.slice();
+            JBurstBinaryAtlas.read(buffer, frames);
+
+            // Only the header is renewed. The stored frames are kept as they are, since the ones read were fitted to the graphic.
+            if(touched)
+                write(description, checksum, null, atlas);
+
+            return frames;
+        }
+        catch(IOException | BufferUnderflowException e)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Replaces the cache file of {@code description} with {@code frames}.
+     * <p>
+     * <i>Does nothing if caching is disabled.</i>
+     */
+    static void write(File description, JBurstFramesCollection frames)
+    {
+        if(_directory == null || frames == null)
+            return;
+
+        try
+        {
+            write(description, checksum(description), frames, null);
+        }
+        catch(IOException e)
+        {
+            System.out.println(String.format("Error writing atlas cache for: %s", description));
+        }
+    }
+
+    /**
+     * Replaces the cache file of {@code description}, whose contents have the checksum {@code checksum},
+     * with either {@code frames} or an already written binary atlas, {@code atlas}
+     */
+    private static void write(File description, long checksum, JBurstFramesCollection frames, ByteBuffer atlas)
+    {
+        File directory = _directory;
+        if(directory == null)
+            return;
+
+        File temp = null;
+        try
+        {
+            String path = description.getCanonicalPath();
+            long length = description.length();
+            long modified = description.lastModified();
+
+            temp = File.createTempFile("atlas", ".tmp", directory);
+            try(FileOutputStream out = new FileOutputStream(temp))
+            {
+                byte[] pathBytes = path.getBytes(StandardCharsets.UTF_8);
+
+                DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+                data.writeInt(MAGIC);
+                data.writeInt(VERSION);
+                data.writeInt(pathBytes.length);
+                data.write(pathBytes);
+                data.writeLong(length);
+                data.writeLong(modified);
+                data.writeLong(checksum);
+                data.flush();
+
+                if(frames != null)
+                    JBurstBinaryAtlas.write(frames, out);
+                else
+                {
+                    while(atlas.hasRemaining())
+                        out.getChannel().write(atlas);
+                }
+            }
+
+            // Written under a temporary name first so other threads and processes never read half a file
+            File cache = cacheFile(directory, path);
+            try
+            {
+                Files.move(temp.toPath(), cache.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+            catch(AtomicMoveNotSupportedException e)
+            {
+                Files.move(temp.toPath(), cache.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        catch(IOException e)
+        {
+            System.out.println(String.format("Error writing atlas cache for: %s", description));
+
+            if(temp != null)
+                temp.delete();
+        }
+    }
+
+    private static File cacheFile(File directory, String path)
+    {
+        CRC32 crc = new CRC32();
+        crc.update(path.getBytes(StandardCharsets.UTF_8));
+
+        return new File(directory, String.format("%s-%08x.jbat", new File(path).getName(), crc.getValue()));
+    }
+
+    private static long checksum(File file) throws IOException
+    {
+        CRC32 crc = new CRC32();
+        byte[] bytes = new byte[8192];
+
+        try(InputStream stream = new FileInputStream(file))
+        {
+            int read;
+            while((read = stream.read(bytes)) != -1)
+                crc.update(bytes, 0, read);
+        }
+
+        return crc.getValue();
+    }
+}
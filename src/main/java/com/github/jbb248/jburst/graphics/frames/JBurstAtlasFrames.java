@@ -1,21 +1,23 @@
 package com.github.jbb248.jburst.graphics.frames;
 
 import java.awt.Rectangle;
+import java.io.BufferedInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.awt.Point;
-import java.util.Scanner;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
 
-import org.json.simple.JSONArray;
-import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
-import org.json.simple.parser.ParseException;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import com.github.jbb248.jburst.graphics.JBurstGraphic;
-import com.github.jbb248.jburst.util.XmlParser;
+import com.github.jbb248.jburst.util.JBurstAssetLoader;
+import com.github.jbb248.jburst.util.JsonReader;
 
 /**
  * A collection of frames stored as an atlas. 
@@ -26,6 +28,35 @@ import com.github.jbb248.jburst.util.XmlParser;
  */
 public class JBurstAtlasFrames extends JBurstFramesCollection 
 {
+    private static final XMLInputFactory XML_FACTORY = XMLInputFactory.newInstance();
+
+    static {
+        XML_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        XML_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    /**
+     * Returns the directory parsed atlas descriptions are cached in, or {@code null} if they aren't cached
+     */
+    public static String getCacheDirectory()
+    {
+        File directory = JBurstAtlasCache.getDirectory();
+        return directory == null ? null : directory.getPath();
+    }
+
+    /**
+     * Sets the directory parsed atlas descriptions are cached in, creating it if needed.
+     * <p>
+     * Only descriptions loaded from files are cached. A cached description is used until 
+     * its file changes, at which point it's parsed and cached again.
+     * 
+     * @param directory cache directory, or {@code null} to stop caching
+     */
+    public static void setCacheDirectory(String directory)
+    {
+        JBurstAtlasCache.setDirectory(directory == null ? null : new File(directory));
+    }
+
     /**
      * Parsing method for sparrow texture atlases.
      * 
@@ -39,62 +70,248 @@ public class JBurstAtlasFrames extends JBurstFramesCollection
 
     /**
      * Parsing method for sparrow texture atlases.
+     * <p>
+     * <i>If a cache directory is set, the parsed frames are cached there 
+     * and later calls only read them back until the description changes.
+     * Frames are cached as described, and only fitted to {@code graphic} once read.
+     * Nothing is cached while {@code graphic} is a placeholder.</i>
      * 
      * @param graphic       spritesheet to be parsed.
      * @param description   parsing instructions file location (Should be .xml)
+     * 
+     * @see #setCacheDirectory(String)
      */
     public static JBurstAtlasFrames fromSparrow(JBurstGraphic graphic, String description) 
     {
-        if(graphic == null || description == null || !new File(description).exists())
+        if(graphic == null || description == null)
             return null;
 
+        File file = new File(description);
+        if(!file.exists())
+            return null;
+
+        JBurstAtlasFrames cached = JBurstAtlasCache.read(file, new JBurstAtlasFrames(graphic));
+        if(cached != null)
+            return cached;
+
+        try(InputStream stream = new BufferedInputStream(new FileInputStream(file)))
+        {
+            if(!isCaching(graphic))
+                return parseSparrow(graphic, stream, description);
+
+            // Parsed without the graphic, so the cached frames aren't fitted to whatever image was passed in
+            JBurstAtlasFrames frames = parseSparrow(null, stream, description);
+            if(frames != null)
+                JBurstAtlasCache.write(file, frames);
+
+            return withGraphic(frames, graphic);
+        }
+        catch(IOException e)
+        {
+            System.out.println(String.format("Error reading file: %s", description));
+        }
+
+        return null;
+    }
+
+    /**
+     * Parsing method for sparrow texture atlases stored as classpath resources.
+     * 
+     * @param graphic       spritesheet to be parsed.
+     * @param resource      parsing instructions resource name (Should be .xml), 
+     *                      as given to {@code ClassLoader.getResourceAsStream()}
+     */
+    public static JBurstAtlasFrames fromSparrowResource(JBurstGraphic graphic, String resource)
+    {
+        if(graphic == null || resource == null)
+            return null;
+
+        InputStream resourceStream = JBurstAtlasFrames.class.getClassLoader().getResourceAsStream(resource);
+        if(resourceStream == null)
+        {
+            System.out.println(String.format("Resource not found: %s", resource));
+            return null;
+        }
+
+        try(InputStream stream = new BufferedInputStream(resourceStream))
+        {
+            return parseSparrow(graphic, stream, resource);
+        }
+        catch(IOException e)
+        {
+            System.out.println(String.format("Error reading resource: %s", resource));
+        }
+
+        return null;
+    }
+
+    /**
+     * Parsing method for sparrow texture atlases.
+     * <p>
+     * The description is read in a single streaming pass, 
+     * turning each {@code SubTexture} element straight into a frame without building a document tree.
+     * <p>
+     * <i>{@code description} is not closed by this method.</i>
+     * 
+     * @param graphic       spritesheet to be parsed.
+     * @param description   parsing instructions stream (Should contain xml)
+     */
+    public static JBurstAtlasFrames fromSparrow(JBurstGraphic graphic, InputStream description)
+    {
+        if(graphic == null || description == null)
+            return null;
+
+        return parseSparrow(graphic, description, "stream");
+    }
+
+    /**
+     * Returns whether or not frames parsed for {@code graphic} should be written to the atlas cache
+     */
+    private static boolean isCaching(JBurstGraphic graphic)
+    {
+        return JBurstAtlasCache.getDirectory() != null && !graphic.isPlaceholder();
+    }
+
+    /**
+     * Returns a copy of {@code frames}, parsed without a graphic, with every frame fitted to {@code graphic}.
+     * <p>
+     * <i>Only used when the frames are cached, otherwise descriptions are parsed straight against the graphic.</i>
+     */
+    private static JBurstAtlasFrames withGraphic(JBurstAtlasFrames frames, JBurstGraphic graphic)
+    {
+        if(frames == null)
+            return null;
+
+        JBurstAtlasFrames fitted = new JBurstAtlasFrames(graphic);
+        fitted.frames.ensureCapacity(frames.frames.size());
+        for(JBurstFrame frame : frames.frames)
+        {
+            JBurstFrame copy = new JBurstFrame(graphic);
+            copy.name = frame.name;
+            copy.frame = fitted.checkFrame(new Rectangle(frame.frame));
+            copy.offset.setLocation(frame.offset);
+            copy.sourceSize.setSize(frame.sourceSize);
+
+            fitted.pushFrame(copy);
+        }
+
+        return fitted;
+    }
+
+    /**
+     * Parses a sparrow description into frames for {@code graphic}, which may be {@code null} 
+     * if the frames are only being read, such as for conversion.
+     * {@code description} names where the stream came from in error messages.
+     */
+    static JBurstAtlasFrames parseSparrow(JBurstGraphic graphic, InputStream stream, String description)
+    {
         JBurstAtlasFrames frames = new JBurstAtlasFrames(graphic);
-        
-        NodeList data = XmlParser.parse(description).getElementsByTagName("SubTexture");
-        for(int i = 0; i < data.getLength(); i++) 
-        {
-            Node item = data.item(i);
-
-            if(item.getNodeType() != Node.ELEMENT_NODE)
-                continue;
-
-            Element attribute = (Element) item;
-            String name = attribute.getAttribute("name");
-            boolean trimmed = (!attribute.getAttribute("frameX").isEmpty());
-
-            Rectangle rect = 
-                new Rectangle(
-                    Integer.parseInt(attribute.getAttribute("x")),
-                    Integer.parseInt(attribute.getAttribute("y")),
-                    Integer.parseInt(attribute.getAttribute("width")),
-                    Integer.parseInt(attribute.getAttribute("height"))
-                );
-
-            Rectangle size;
-            if(trimmed)
-                size = new Rectangle(
-                    Integer.parseInt(attribute.getAttribute("frameX")),
-                    Integer.parseInt(attribute.getAttribute("frameY")),
-                    Integer.parseInt(attribute.getAttribute("frameWidth")),
-                    Integer.parseInt(attribute.getAttribute("frameHeight"))
-                );
-            else
-                size = new Rectangle(
-                    0,
-                    0,
-                    rect.width,
-                    rect.height
-                );
-
-            Point offset = new Point(-size.x, -size.y);
-            Point sourceSize = new Point(size.width, size.height);
-
-            frames.addAtlasFrame(rect, sourceSize, offset, name);
+
+        XMLStreamReader reader = null;
+        try
+        {
+            synchronized(XML_FACTORY)
+            {
+                reader = XML_FACTORY.createXMLStreamReader(stream);
+            }
+
+            while(reader.hasNext())
+            {
+                if(reader.next() == XMLStreamConstants.START_ELEMENT && "SubTexture".equals(reader.getLocalName()))
+                    addSparrowFrame(frames, reader);
+            }
+        }
+        catch(XMLStreamException | NumberFormatException e)
+        {
+            System.out.println(String.format("Error parsing XML document: %s", description));
+            return null;
+        }
+        finally
+        {
+            if(reader != null)
+            {
+                try { reader.close(); } 
+                catch(XMLStreamException e) { }
+            }
         }
 
         return frames;
     }
 
+    /**
+     * Reads the attributes of the {@code SubTexture} element {@code reader} is on and adds it to {@code frames}
+     */
+    private static void addSparrowFrame(JBurstAtlasFrames frames, XMLStreamReader reader)
+    {
+        String name = null;
+        int x = 0, y = 0, width = 0, height = 0;
+        int frameX = 0, frameY = 0, frameWidth = 0, frameHeight = 0;
+        boolean trimmed = false;
+
+        for(int i = 0; i < reader.getAttributeCount(); i++)
+        {
+            String value = reader.getAttributeValue(i);
+
+            switch(reader.getAttributeLocalName(i))
+            {
+                case "name": name = value; break;
+                case "x": x = Integer.parseInt(value); break;
+                case "y": y = Integer.parseInt(value); break;
+                case "width": width = Integer.parseInt(value); break;
+                case "height": height = Integer.parseInt(value); break;
+                case "frameX": 
+                    trimmed = !value.isEmpty();
+                    if(trimmed) frameX = Integer.parseInt(value); 
+                    break;
+                case "frameY": frameY = value.isEmpty() ? 0 : Integer.parseInt(value); break;
+                case "frameWidth": frameWidth = value.isEmpty() ? 0 : Integer.parseInt(value); break;
+                case "frameHeight": frameHeight = value.isEmpty() ? 0 : Integer.parseInt(value); break;
+            }
+        }
+
+        Rectangle rect = new Rectangle(x, y, width, height);
+
+        Point offset = trimmed ? new Point(-frameX, -frameY) : new Point();
+        Point sourceSize = trimmed ? new Point(frameWidth, frameHeight) : new Point(width, height);
+
+        frames.addAtlasFrame(rect, sourceSize, offset, name == null ? "" : name);
+    }
+
+    /**
+     * Loads and parses a sparrow texture atlas on worker threads.
+     * 
+     * @param source        file location of desired spritesheet to be loaded and parsed.
+     * @param description   parsing instructions file location (Should be .xml)
+     * 
+     * @return  a future completed with the parsed frames, which may be {@code null}
+     * 
+     * @see #fromSparrow(String, String)
+     */
+    public static CompletableFuture<JBurstAtlasFrames> fromSparrowAsync(String source, String description)
+    {
+        return JBurstGraphic.fromFileAsync(source).thenCompose(graphic -> fromSparrowAsync(graphic, description));
+    }
+
+    /**
+     * Parses a sparrow texture atlas on a worker thread.
+     * <p>
+     * <i>Requests to parse the same description for the same graphic while it is still loading share the same future.</i>
+     * 
+     * @param graphic       spritesheet to be parsed.
+     * @param description   parsing instructions file location (Should be .xml)
+     * 
+     * @return  a future completed with the parsed frames, which may be {@code null}
+     * 
+     * @see #fromSparrow(JBurstGraphic, String)
+     */
+    public static CompletableFuture<JBurstAtlasFrames> fromSparrowAsync(JBurstGraphic graphic, String description)
+    {
+        if(graphic == null || description == null)
+            return CompletableFuture.completedFuture(null);
+
+        return JBurstAssetLoader.load("Sparrow:" + graphic.key + ":" + description, () -> fromSparrow(graphic, description));
+    }
+
     /**
      * Parsing method for texture atlases in JSON format.
      * <p> 
@@ -112,116 +329,363 @@ public class JBurstAtlasFrames extends JBurstFramesCollection
      * Parsing method for texture atlases in JSON format.
      * <p> 
      * <i>Note: There is currently no way to load rotated sprites.</i>
+     * <p>
+     * <i>If a cache directory is set, the parsed frames are cached there 
+     * and later calls only read them back until the description changes.
+     * Frames are cached as described, and only fitted to {@code graphic} once read.
+     * Nothing is cached while {@code graphic} is a placeholder.</i>
      * 
      * @param graphic       spritesheet to be parsed.
      * @param description   parsing instructions file location (Should be .json)
+     * 
+     * @see #setCacheDirectory(String)
      */
-    @SuppressWarnings("unchecked")
     public static JBurstAtlasFrames fromJsonPacker(JBurstGraphic graphic, String description)
     {
         if(graphic == null || description == null)
             return null;
 
-        JBurstAtlasFrames frames = new JBurstAtlasFrames(graphic);
+        File file = new File(description);
+        JBurstAtlasFrames cached = JBurstAtlasCache.read(file, new JBurstAtlasFrames(graphic));
+        if(cached != null)
+            return cached;
+
+        try(InputStream stream = new FileInputStream(file))
+        {
+            if(!isCaching(graphic))
+                return parseJsonPacker(graphic, new JsonReader(stream), description);
 
-        JSONObject data;
+            // Parsed without the graphic, so the cached frames aren't fitted to whatever image was passed in
+            JBurstAtlasFrames frames = parseJsonPacker(null, new JsonReader(stream), description);
+            if(frames != null)
+                JBurstAtlasCache.write(file, frames);
 
-        try 
+            return withGraphic(frames, graphic);
+        }
+        catch(IOException e)
         {
-            StringBuilder content = new StringBuilder();
-            Scanner scanner = new Scanner(new File(description));
+            System.out.println("File not found: " + description);
+        }
 
-            while(scanner.hasNextLine()) content.append(scanner.nextLine());
-            scanner.close();
+        return null;
+    }
 
-            trimJsonContent(content);
+    /**
+     * Parsing method for texture atlases in JSON format stored as classpath resources.
+     * <p> 
+     * <i>Note: There is currently no way to load rotated sprites.</i>
+     * 
+     * @param graphic       spritesheet to be parsed.
+     * @param resource      parsing instructions resource name (Should be .json), 
+     *                      as given to {@code ClassLoader.getResourceAsStream()}
+     */
+    public static JBurstAtlasFrames fromJsonPackerResource(JBurstGraphic graphic, String resource)
+    {
+        if(graphic == null || resource == null)
+            return null;
 
-            data = (JSONObject) new JSONParser().parse(content.toString());
-        } 
-        catch(IOException e) 
+        InputStream stream = JBurstAtlasFrames.class.getClassLoader().getResourceAsStream(resource);
+        if(stream == null)
         {
-            System.out.println("File not found: " + description);
+            System.out.println(String.format("Resource not found: %s", resource));
             return null;
         }
-        catch(ParseException e)
+
+        try
+        {
+            return parseJsonPacker(graphic, new JsonReader(stream), resource);
+        }
+        finally
+        {
+            try { stream.close(); }
+            catch(IOException e) { }
+        }
+    }
+
+    /**
+     * Parsing method for texture atlases in JSON format.
+     * <p> 
+     * Both the hash and array formats are read in a single streaming pass,
+     * turning each entry straight into a frame without building an object tree.
+     * <p>
+     * <i>Note: There is currently no way to load rotated sprites.</i>
+     * <p>
+     * <i>{@code description} is not closed by this method.</i>
+     * 
+     * @param graphic       spritesheet to be parsed.
+     * @param description   parsing instructions stream (Should contain json)
+     */
+    public static JBurstAtlasFrames fromJsonPacker(JBurstGraphic graphic, InputStream description)
+    {
+        if(graphic == null || description == null)
+            return null;
+
+        return parseJsonPacker(graphic, new JsonReader(description), "stream");
+    }
+
+    /**
+     * Parsing method for texture atlases in JSON format.
+     * <p> 
+     * Both the hash and array formats are read in a single streaming pass,
+     * turning each entry straight into a frame without building an object tree.
+     * <p>
+     * <i>Note: There is currently no way to load rotated sprites.</i>
+     * 
+     * @param graphic       spritesheet to be parsed.
+     * @param description   parsing instructions, read from its position to its limit (Should contain json)
+     */
+    public static JBurstAtlasFrames fromJsonPacker(JBurstGraphic graphic, ByteBuffer description)
+    {
+        if(graphic == null || description == null)
+            return null;
+
+        return parseJsonPacker(graphic, new JsonReader(description), "buffer");
+    }
+
+    /**
+     * Parses a JSON description into frames for {@code graphic}, which may be {@code null} 
+     * if the frames are only being read, such as for conversion.
+     */
+    static JBurstAtlasFrames parseJsonPacker(JBurstGraphic graphic, JsonReader reader, String description)
+    {
+        JBurstAtlasFrames frames = new JBurstAtlasFrames(graphic);
+
+        try
+        {
+            reader.beginObject();
+            while(reader.hasNext())
+            {
+                if(reader.nextName().equals("frames"))
+                    readJsonFrames(frames, reader);
+                else
+                    reader.skipValue();
+            }
+            reader.endObject();
+        }
+        catch(IOException e)
         {
             System.out.println("Error parsing JSON file: " + description);
             return null;
         }
 
-        JSONArray frameList;
-        Object framesObj = data.get("frames");
+        return frames;
+    }
 
-        if(framesObj instanceof JSONArray)
+    /**
+     * Reads the value of the {@code "frames"} member, which is either an array of frames
+     * or a hash of frames keyed by their names
+     */
+    private static void readJsonFrames(JBurstAtlasFrames frames, JsonReader reader) throws IOException
+    {
+        if(reader.peek() == JsonReader.Token.BEGIN_ARRAY)
         {
-            frameList = (JSONArray) framesObj;
+            reader.beginArray();
+            while(reader.hasNext())
+                readJsonFrame(frames, reader, null);
+            reader.endArray();
+
+            return;
         }
-        else
-        {
-            JSONObject frameHash = (JSONObject) framesObj;
-            frameList = new JSONArray();
 
-            for(Object key : frameHash.keySet())
-            {
-                JSONObject frame = (JSONObject) frameHash.get(key);
-                frame.put("filename", key.toString());
+        // Hashes have no set order, so frames are kept sorted by name. They almost always arrive sorted already.
+        boolean sorted = true;
+        String previous = null;
 
-                frameList.add(frame);
-            }
+        reader.beginObject();
+        while(reader.hasNext())
+        {
+            String name = reader.nextName();
+            if(previous != null && previous.compareToIgnoreCase(name) > 0)
+                sorted = false;
 
-            frameList.sort((o1, o2) -> {
-                String name1 = ((JSONObject) o1).get("filename").toString();
-                String name2 = ((JSONObject) o2).get("filename").toString();
+            readJsonFrame(frames, reader, name);
+            previous = name;
+        }
+        reader.endObject();
 
-                return name1.compareToIgnoreCase(name2);
-            });
+        if(!sorted)
+        {
+            frames.frames.sort((frame1, frame2) -> frame1.name.compareToIgnoreCase(frame2.name));
+            frames.invalidateNameIndex();
         }
+    }
+
+    /**
+     * Reads one frame and adds it to {@code frames}
+     *
+     * @param name  the frame's key in the hash format, or {@code null} in the array format,
+     *              where the frame is named by its {@code "filename"} member
+     */
+    private static void readJsonFrame(JBurstAtlasFrames frames, JsonReader reader, String name) throws IOException
+    {
+        int x = 0, y = 0, width = 0, height = 0;
+        int offsetX = 0, offsetY = 0;
+        int sourceWidth = 0, sourceHeight = 0;
 
-        for(int i = 0; i < frameList.size(); i++)
+        reader.beginObject();
+        while(reader.hasNext())
         {
-            JSONObject frameData = (JSONObject) frameList.get(i);
+            switch(reader.nextName())
+            {
+                case "filename": // Hash entries are always named by their key
+                    String filename = reader.nextString();
+                    if(name == null)
+                        name = filename;
+                    break;
+                case "frame":
+                    reader.beginObject();
+                    while(reader.hasNext())
+                    {
+                        switch(reader.nextName())
+                        {
+                            case "x": x = reader.nextInt(); break;
+                            case "y": y = reader.nextInt(); break;
+                            case "w": width = reader.nextInt(); break;
+                            case "h": height = reader.nextInt(); break;
+                            default: reader.skipValue();
+                        }
+                    }
+                    reader.endObject();
+                    break;
+                case "spriteSourceSize":
+                    reader.beginObject();
+                    while(reader.hasNext())
+                    {
+                        switch(reader.nextName())
+                        {
+                            case "x": offsetX = reader.nextInt(); break;
+                            case "y": offsetY = reader.nextInt(); break;
+                            default: reader.skipValue();
+                        }
+                    }
+                    reader.endObject();
+                    break;
+                case "sourceSize":
+                    reader.beginObject();
+                    while(reader.hasNext())
+                    {
+                        switch(reader.nextName())
+                        {
+                            case "w": sourceWidth = reader.nextInt(); break;
+                            case "h": sourceHeight = reader.nextInt(); break;
+                            default: reader.skipValue();
+                        }
+                    }
+                    reader.endObject();
+                    break;
+                default: // "rotated" and "trimmed" aren't supported
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        frames.addAtlasFrame(
+            new Rectangle(x, y, width, height), 
+            new Point(sourceWidth, sourceHeight), 
+            new Point(offsetX, offsetY), 
+            name
+        );
+    }
+
+    /**
+     * Loads and parses a texture atlas in JSON format on worker threads.
+     * 
+     * @param source        file location of desired spritesheet to be loaded and parsed.
+     * @param description   parsing instructions file location (Should be .json)
+     * 
+     * @return  a future completed with the parsed frames, which may be {@code null}
+     * 
+     * @see #fromJsonPacker(String, String)
+     */
+    public static CompletableFuture<JBurstAtlasFrames> fromJsonPackerAsync(String source, String description)
+    {
+        return JBurstGraphic.fromFileAsync(source).thenCompose(graphic -> fromJsonPackerAsync(graphic, description));
+    }
+
+    /**
+     * Parses a texture atlas in JSON format on a worker thread.
+     * <p>
+     * <i>Requests to parse the same description for the same graphic while it is still loading share the same future.</i>
+     * 
+     * @param graphic       spritesheet to be parsed.
+     * @param description   parsing instructions file location (Should be .json)
+     * 
+     * @return  a future completed with the parsed frames, which may be {@code null}
+     * 
+     * @see #fromJsonPacker(JBurstGraphic, String)
+     */
+    public static CompletableFuture<JBurstAtlasFrames> fromJsonPackerAsync(JBurstGraphic graphic, String description)
+    {
+        if(graphic == null || description == null)
+            return CompletableFuture.completedFuture(null);
 
-            String name = frameData.get("filename").toString();
-            JSONObject frame = (JSONObject) frameData.get("frame");
-            // boolean rotated = (Boolean) frameData.get("rotated"); // I don't currently frame rotation system.
-            // boolean trimmed = (Boolean) frameData.get("trimmed");
-            JSONObject spriteSourceSize = (JSONObject) frameData.get("spriteSourceSize");
-            JSONObject sourceSize = (JSONObject) frameData.get("sourceSize");
+        return JBurstAssetLoader.load("JsonPacker:" + graphic.key + ":" + description, () -> fromJsonPacker(graphic, description));
+    }
 
-            Rectangle rect = new Rectangle(
-                ((Long) frame.get("x")).intValue(),
-                ((Long) frame.get("y")).intValue(),
-                ((Long) frame.get("w")).intValue(),
-                ((Long) frame.get("h")).intValue()
-            );
+    /**
+     * Loading method for texture atlases in the binary format.
+     *
+     * @param source        file location of desired spritesheet to be loaded.
+     * @param description   binary atlas file location
+     *
+     * @see JBurstBinaryAtlas
+     */
+    public static JBurstAtlasFrames fromBinary(String source, String description)
+    {
+        return fromBinary(JBurstGraphic.fromFile(source), description);
+    }
 
-            frames.addAtlasFrame(
-                rect, 
-                new Point(
-                    ((Long) sourceSize.get("w")).intValue(), 
-                    ((Long) sourceSize.get("h")).intValue()), 
-                new Point(
-                    ((Long) spriteSourceSize.get("x")).intValue(), 
-                    ((Long) spriteSourceSize.get("y")).intValue()), 
-                name
-            );
+    /**
+     * Loading method for texture atlases in the binary format.
+     * <p>
+     * The description is memory-mapped and its fixed-size records read directly into frames,
+     * so nothing needs to be parsed or copied first.
+     *
+     * @param graphic       spritesheet the frames belong to.
+     * @param description   binary atlas file location
+     *
+     * @see JBurstBinaryAtlas
+     */
+    public static JBurstAtlasFrames fromBinary(JBurstGraphic graphic, String description)
+    {
+        if(graphic == null || description == null)
+            return null;
+
+        try
+        {
+            return JBurstBinaryAtlas.read(JBurstBinaryAtlas.map(description), new JBurstAtlasFrames(graphic));
+        }
+        catch(IOException e)
+        {
+            System.out.println(String.format("Error reading binary atlas: %s", description));
         }
 
-        return frames;
+        return null;
     }
 
     /**
-     * JSONs will sometimes have weird data at the beginning and ends. 
-     * We don't want this.
-     * 
-     * @param content   JSON data to be checked.
+     * Loading method for texture atlases in the binary format.
+     *
+     * @param graphic       spritesheet the frames belong to.
+     * @param description   binary atlas, read from its position (Should contain a binary atlas)
+     *
+     * @see JBurstBinaryAtlas
      */
-    private static void trimJsonContent(StringBuilder content)
+    public static JBurstAtlasFrames fromBinary(JBurstGraphic graphic, ByteBuffer description)
     {
-        while(content.charAt(0) != '{')
-            content.deleteCharAt(0);
-        while(content.charAt(content.length() - 1) != '}')
-            content.deleteCharAt(content.length() - 1);
+        if(graphic == null || description == null)
+            return null;
+
+        try
+        {
+            return JBurstBinaryAtlas.read(description, new JBurstAtlasFrames(graphic));
+        }
+        catch(IOException e)
+        {
+            System.out.println("Error reading binary atlas from buffer");
+        }
+
+        return null;
     }
 
     /**
@@ -0,0 +1,277 @@
+package com.github.jbb248.jburst.graphics.frames;
+
+import java.awt.Rectangle;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import com.github.jbb248.jburst.util.JsonReader;
+
+/**
+ * A compact binary format for frame collections, meant to be loaded much faster than xml or json descriptions.
+ * <p>
+ * Every value is a big-endian int unless stated otherwise. The layout is:
+ * <ul>
+ *  <li>A header: the magic number {@code 'JBAT'}, the format version, the frame count and the name count</li>
+ *  <li>One fixed-size record per frame:
+ *      name index (-1 if unnamed), x, y, width, height, offset x, offset y, source width, source height</li>
+ *  <li>A name table: each distinct frame name once, as a length-prefixed UTF-8 string</li>
+ * </ul>
+ * Descriptions from other formats can be converted with {@code convertSparrow()} and {@code convertJsonPacker()}.
+ *
+ * @see JBurstAtlasFrames#fromBinary(String, String) JBurstAtlasFrames.fromBinary()
+ */
+public class JBurstBinaryAtlas
+{
+    /**
+     * The first four bytes of every binary atlas, {@code 'JBAT'}
+     */
+    public static final int MAGIC = 0x4A424154;
+
+    /**
+     * The version of the format written by this class
+     */
+    public static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 4 * 4;
+
+    private static final int RECORD_SIZE = 9 * 4;
+
+    /**
+     * Maps the binary atlas file at {@code path} into memory
+     *
+     * @throws IOException  if the file can't be read
+     */
+    public static ByteBuffer map(String path) throws IOException
+    {
+        try(FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ))
+        {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    /**
+     * Reads a binary atlas from the current position of {@code buffer} into {@code frames}.
+     * <p>
+     * <i>Afterwards, the position of {@code buffer} is just past the end of the atlas.</i>
+     *
+     * @param buffer    binary atlas data
+     * @param frames    collection the frames are added to
+     *
+     * @return  {@code frames}
+     *
+     * @throws IOException  if {@code buffer} doesn't contain a valid binary atlas
+     */
+    public static <T extends JBurstFramesCollection> T read(ByteBuffer buffer, T frames) throws IOException
+    {
+        try
+        {
+            int start = buffer.position();
+
+            if(buffer.getInt() != MAGIC)
+                throw new IOException("Not a binary atlas");
+
+            int version = buffer.getInt();
+            if(version != VERSION)
+                throw new IOException("Unsupported binary atlas version: " + version);
+
+            int frameCount = buffer.getInt();
+            int nameCount = buffer.getInt();
+            if(frameCount < 0 || nameCount < 0)
+                throw new IOException("Corrupt binary atlas header");
+
+            // Checked before allocating, so a corrupt header can't ask for more than the buffer holds
+            if(frameCount > buffer.remaining() / RECORD_SIZE
+                || nameCount > (buffer.remaining() - frameCount * RECORD_SIZE) / 4)
+                throw new IOException("Binary atlas header counts exceed its size");
+
+            buffer.position(start + HEADER_SIZE + frameCount * RECORD_SIZE);
+            String[] names = new String[nameCount];
+            for(int i = 0; i < nameCount; i++)
+            {
+                int length = buffer.getInt();
+                if(length < 0 || length > buffer.remaining())
+                    throw new IOException("Corrupt binary atlas name length: " + length);
+
+                byte[] bytes = new byte[length];
+                buffer.get(bytes);
+                names[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+            int end = buffer.position();
+
+            buffer.position(start + HEADER_SIZE);
+            frames.frames.ensureCapacity(frames.frames.size() + frameCount);
+            for(int i = 0; i < frameCount; i++)
+            {
+                int nameIndex = buffer.getInt();
+
+                JBurstFrame frame = new JBurstFrame(frames.graphic);
+                frame.name = nameIndex < 0 ? null : names[nameIndex];
+                frame.frame = frames.checkFrame(new Rectangle(buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt()));
+                frame.offset.setLocation(buffer.getInt(), buffer.getInt());
+                frame.sourceSize.setSize(buffer.getInt(), buffer.getInt());
+
+                frames.pushFrame(frame);
+            }
+
+            buffer.position(end);
+        }
+        catch(BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException | NegativeArraySizeException e)
+        {
+            throw new IOException("Truncated or corrupt binary atlas", e);
+        }
+
+        return frames;
+    }
+
+    /**
+     * Writes {@code frames} to {@code out} as a binary atlas.
+     * <p>
+     * <i>{@code out} is not closed by this method.</i>
+     *
+     * @throws IOException  if {@code out} can't be written to
+     */
+    public static void write(JBurstFramesCollection frames, OutputStream out) throws IOException
+    {
+        ArrayList<String> names = new ArrayList<>();
+        HashMap<String, Integer> nameIndices = new HashMap<>();
+        int[] frameNames = new int[frames.frames.size()];
+
+        for(int i = 0; i < frameNames.length; i++)
+        {
+            String name = frames.frames.get(i).name;
+            if(name == null)
+            {
+                frameNames[i] = -1;
+                continue;
+            }
+
+            Integer index = nameIndices.get(name);
+            if(index == null)
+            {
+                index = names.size();
+                names.add(name);
+                nameIndices.put(name, index);
+            }
+            frameNames[i] = index;
+        }
+
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(frameNames.length);
+        data.writeInt(names.size());
+
+        for(int i = 0; i < frameNames.length; i++)
+        {
+            JBurstFrame frame = frames.frames.get(i);
+
+            data.writeInt(frameNames[i]);
+            data.writeInt(frame.frame.x);
+            data.writeInt(frame.frame.y);
+            data.writeInt(frame.frame.width);
+            data.writeInt(frame.frame.height);
+            data.writeInt(frame.offset.x);
+            data.writeInt(frame.offset.y);
+            data.writeInt(frame.sourceSize.width);
+            data.writeInt(frame.sourceSize.height);
+        }
+
+        for(String name : names)
+        {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            data.writeInt(bytes.length);
+            data.write(bytes);
+        }
+
+        data.flush();
+    }
+
+    /**
+     * Writes {@code frames} to the file at {@code destination} as a binary atlas
+     *
+     * @return  whether or not the file was written
+     */
+    public static boolean write(JBurstFramesCollection frames, String destination)
+    {
+        if(frames == null || destination == null)
+            return false;
+
+        try(OutputStream out = new FileOutputStream(destination))
+        {
+            write(frames, out);
+            return true;
+        }
+        catch(IOException e)
+        {
+            System.out.println(String.format("Error writing file: %s", destination));
+        }
+
+        return false;
+    }
+
+    /**
+     * Converts a sparrow description into a binary atlas.
+     * <i>The spritesheet itself isn't needed.</i>
+     *
+     * @param description   parsing instructions file location (Should be .xml)
+     * @param destination   file location of the binary atlas to be written
+     *
+     * @return  whether or not the binary atlas was written
+     */
+    public static boolean convertSparrow(String description, String destination)
+    {
+        if(description == null)
+            return false;
+
+        try(InputStream stream = new BufferedInputStream(new FileInputStream(description)))
+        {
+            return write(JBurstAtlasFrames.parseSparrow(null, stream, description), destination);
+        }
+        catch(IOException e)
+        {
+            System.out.println(String.format("Error reading file: %s", description));
+        }
+
+        return false;
+    }
+
+    /**
+     * Converts a texture atlas description in JSON format into a binary atlas.
+     * <i>The spritesheet itself isn't needed.</i>
+     *
+     * @param description   parsing instructions file location (Should be .json)
+     * @param destination   file location of the binary atlas to be written
+     *
+     * @return  whether or not the binary atlas was written
+     */
+    public static boolean convertJsonPacker(String description, String destination)
+    {
+        if(description == null)
+            return false;
+
+        try(InputStream stream = new FileInputStream(description))
+        {
+            return write(JBurstAtlasFrames.parseJsonPacker(null, new JsonReader(stream), description), destination);
+        }
+        catch(IOException e)
+        {
+            System.out.println(String.format("Error reading file: %s", description));
+        }
+
+        return false;
+    }
+}
@@ -1,9 +1,10 @@
 package com.github.jbb248.jburst.graphics.frames;
 
 import java.awt.AlphaComposite;
-import java.awt.Color;
 import java.awt.Dimension;
+import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.Image;
 import java.awt.Point;
 import java.awt.Rectangle;
 import java.awt.image.BufferedImage;
@@ -72,19 +73,72 @@ public class JBurstFrame implements IBurstDestroyable
     public BufferedImage paint(BufferedImage image, boolean flipX, boolean flipY)
     {
         if(image == null)
-            image = new BufferedImage(sourceSize.width, sourceSize.height, BufferedImage.TYPE_INT_ARGB);
+            image = JBurstGraphic.createCompatibleImage(sourceSize.width, sourceSize.height);
         else
             clearFrame(image);
 
         Graphics2D graphics = image.createGraphics();
-        graphics.scale(flipX ? -1.0 : 1.0, flipY ? -1.0 : 1.0);
-        graphics.translate(flipX ? -image.getWidth() : 0.0, flipY ? -image.getHeight() : 0.0);
-        graphics.drawImage(graphic.image.getSubimage(frame.x, frame.y, frame.width, frame.height), offset.x, offset.y, null, null);
+        paint(graphics, 0, 0, flipX, flipY);
         graphics.dispose();
 
         return image;
     }
 
+    /**
+     * Draws this frame's region of its graphic straight onto {@code graphics}, 
+     * with the top left corner of the original image at ({@code x}, {@code y}).
+     * 
+     * @param graphics  graphics object to draw onto
+     * @param x         x-coordinate to draw at
+     * @param y         y-coordinate to draw at
+     * @param flipX     whether or not this frame should be drawn backwards
+     * @param flipY     whether or not this frame should be drawn upside-down
+     */
+    public void paint(Graphics graphics, int x, int y, boolean flipX, boolean flipY)
+    {
+        paint(graphics, x, y, 1.0, 1.0, flipX, flipY);
+    }
+
+    /**
+     * Draws this frame's region of its graphic straight onto {@code graphics}, 
+     * with the top left corner of the original image at ({@code x}, {@code y}).
+     * <p>
+     * Flipping and scaling are done by swapping and stretching the destination coordinates, 
+     * so nothing is allocated and no transform is applied to {@code graphics}.
+     * 
+     * @param graphics  graphics object to draw onto
+     * @param x         x-coordinate to draw at
+     * @param y         y-coordinate to draw at
+     * @param scaleX    how much to scale this frame, horizontally
+     * @param scaleY    how much to scale this frame, vertically
+     * @param flipX     whether or not this frame should be drawn backwards
+     * @param flipY     whether or not this frame should be drawn upside-down
+     */
+    public void paint(Graphics graphics, int x, int y, double scaleX, double scaleY, boolean flipX, boolean flipY)
+    {
+        if(graphic == null || frame == null)
+            return;
+
+        Image source = graphic.getDrawableImage();
+        if(source == null)
+            return;
+
+        int left = flipX ? sourceSize.width - offset.x - frame.width : offset.x;
+        int top = flipY ? sourceSize.height - offset.y - frame.height : offset.y;
+
+        int dx1 = x + (int) Math.round(left * scaleX);
+        int dy1 = y + (int) Math.round(top * scaleY);
+        int dx2 = x + (int) Math.round((left + frame.width) * scaleX);
+        int dy2 = y + (int) Math.round((top + frame.height) * scaleY);
+
+        graphics.drawImage(
+            source, 
+            flipX ? dx2 : dx1, flipY ? dy2 : dy1, flipX ? dx1 : dx2, flipY ? dy1 : dy2,
+            frame.x, frame.y, frame.x + frame.width, frame.y + frame.height, 
+            null
+        );
+    }
+
     /**
      * Clears the content of {@code image}
      * 
@@ -93,8 +147,7 @@ public class JBurstFrame implements IBurstDestroyable
     public void clearFrame(BufferedImage image)
     {
         Graphics2D graphics = image.createGraphics();
-        graphics.setComposite(AlphaComposite.getInstance(AlphaComposite.CLEAR, 0.0f));
-        graphics.setColor(new Color(0));
+        graphics.setComposite(AlphaComposite.Clear);
         graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
         graphics.dispose();
     }
@@ -116,7 +169,10 @@ public class JBurstFrame implements IBurstDestroyable
 
         clone.offset.setLocation(offset);
         clone.sourceSize.setSize(sourceSize);
-        clone.frame = new Rectangle(frame);
+        if(clone.frame == null)
+            clone.frame = new Rectangle(frame);
+        else
+            clone.frame.setBounds(frame);
         clone.name = name;
 
         return clone;
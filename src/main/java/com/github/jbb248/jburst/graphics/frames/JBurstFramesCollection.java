@@ -3,7 +3,10 @@ package com.github.jbb248.jburst.graphics.frames;
 import java.awt.Point;
 import java.awt.Rectangle;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.github.jbb248.jburst.graphics.JBurstGraphic;
 import com.github.jbb248.jburst.util.JBurstDestroyUtil;
@@ -32,6 +35,21 @@ public class JBurstFramesCollection implements IBurstDestroyable
      */
     public JBurstGraphic graphic;
 
+    /**
+     * Frame names in sorted order, used for prefix searches. Built on first use.
+     */
+    private volatile NameIndex _nameIndex;
+
+    /**
+     * Incremented every time the name index is rebuilt. Guarded by this collection.
+     */
+    private int _nameVersion = 0;
+
+    /**
+     * The number of sprites currently displaying this collection
+     */
+    private final AtomicInteger _useCount = new AtomicInteger();
+
     public JBurstFramesCollection(JBurstGraphic graphic) 
     {
         this.graphic = graphic;
@@ -62,11 +80,16 @@ public class JBurstFramesCollection implements IBurstDestroyable
 
     /**
      * Ensures the frame isn't outside the images boundaries
+     * <p>
+     * <i>If this collection has no graphic, {@code rect} is returned unchanged.</i>
      * 
      * @return  checked and trimmed frame rectangle
      */
     public Rectangle checkFrame(Rectangle rect) 
     {
+        if(graphic == null)
+            return rect;
+
         int right = graphic.getWidth() - (rect.x + rect.width);
         int bottom = graphic.getHeight() - (rect.y + rect.height);
 
@@ -86,16 +109,206 @@ public class JBurstFramesCollection implements IBurstDestroyable
 
         frames.add(frame);
         framesHash.put(name, frame);
+        _nameIndex = null;
 
         return frame;
     }
 
+    /**
+     * Returns the number of sprites currently displaying this collection.
+     * <p>
+     * Collections shared through their graphic are only released or destroyed once this reaches zero.
+     */
+    public int getUseCount()
+    {
+        return _useCount.get();
+    }
+
+    /**
+     * Marks this collection as used by one more sprite
+     * 
+     * @see #decrementUseCount()
+     */
+    public void incrementUseCount()
+    {
+        _useCount.incrementAndGet();
+    }
+
+    /**
+     * Marks this collection as used by one fewer sprite
+     * 
+     * @see #incrementUseCount()
+     */
+    public void decrementUseCount()
+    {
+        _useCount.updateAndGet(count -> count > 0 ? count - 1 : 0);
+    }
+
+    /**
+     * Returns the indices of every frame whose name starts with {@code prefix}, in the order the frames are stored.
+     * <p>
+     * Names are searched through a sorted index built the first time this is called,
+     * so each search only costs a binary search plus the number of matches.
+     * Matches stored out of name order are put back in order once per prefix and remembered until the index is rebuilt.
+     * 
+     * @param prefix    start of the desired frames' names
+     * 
+     * @see #invalidateNameIndex()
+     */
+    public int[] getFrameIndicesByPrefix(String prefix)
+    {
+        if(prefix == null || frames == null)
+            return new int[0];
+
+        NameIndex index = _nameIndex;
+        if(index == null || index.size != frames.size())
+            index = buildNameIndex();
+
+        // First name that isn't less than the prefix, which is where any matches begin
+        int low = 0, high = index.names.length;
+        while(low < high)
+        {
+            int middle = (low + high) >>> 1;
+            if(index.names[middle].compareTo(prefix) < 0)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+
+        int end = low;
+        while(end < index.names.length && index.names[end].startsWith(prefix))
+            end++;
+
+        if(low == end)
+            return new int[0];
+
+        // Frames stored in name order can be copied straight out of the index
+        if(index.ascendingEnd[low] >= end)
+            return Arrays.copyOfRange(index.indices, low, end);
+
+        int[] matches = index.ordered.get(prefix);
+        if(matches == null)
+        {
+            matches = Arrays.copyOfRange(index.indices, low, end);
+            Arrays.sort(matches);
+            index.ordered.put(prefix, matches);
+        }
+
+        return matches.clone();
+    }
+
+    /**
+     * Returns a number that changes whenever the frames' names may have changed,
+     * so results of {@code getFrameIndicesByPrefix()} can be kept until it does.
+     * <p>
+     * <i>This changes when frames are added or the name index is invalidated.</i>
+     * 
+     * @see #invalidateNameIndex()
+     */
+    public int getNameVersion()
+    {
+        if(frames == null)
+            return -1;
+
+        NameIndex index = _nameIndex;
+        if(index == null || index.size != frames.size())
+            index = buildNameIndex();
+
+        return index.version;
+    }
+
+    /**
+     * Discards the name index used by {@code getFrameIndicesByPrefix()} so it's rebuilt on next use.
+     * <p>
+     * <i>Only needed after frames are reordered or replaced directly through {@code frames}.</i>
+     */
+    public void invalidateNameIndex()
+    {
+        _nameIndex = null;
+    }
+
+    private synchronized NameIndex buildNameIndex()
+    {
+        int size = frames.size();
+
+        NameIndex index = _nameIndex;
+        if(index != null && index.size == size)
+            return index;
+
+        ArrayList<Integer> named = new ArrayList<>(size);
+        for(int i = 0; i < size; i++)
+        {
+            if(frames.get(i).name != null)
+                named.add(i);
+        }
+        named.sort((index1, index2) -> frames.get(index1).name.compareTo(frames.get(index2).name));
+
+        String[] names = new String[named.size()];
+        int[] indices = new int[named.size()];
+        for(int i = 0; i < names.length; i++)
+        {
+            indices[i] = named.get(i);
+            names[i] = frames.get(indices[i]).name;
+        }
+
+        int[] ascendingEnd = new int[names.length];
+        for(int i = names.length - 1; i >= 0; i--)
+        {
+            if(i + 1 < names.length && indices[i] < indices[i + 1])
+                ascendingEnd[i] = ascendingEnd[i + 1];
+            else
+                ascendingEnd[i] = i + 1;
+        }
+
+        _nameIndex = index = new NameIndex(names, indices, ascendingEnd, size, ++_nameVersion);
+        return index;
+    }
+
     @Override 
     public void destroy() 
     { 
         frames = JBurstDestroyUtil.destroyArrayList(frames);
         framesHash = null;
         graphic = null;
+        _nameIndex = null;
+    }
+
+    /**
+     * Frame names sorted alphabetically, each paired with the index of its frame
+     */
+    private static class NameIndex
+    {
+        final String[] names;
+        final int[] indices;
+
+        /**
+         * For each position, the end of the stretch from there on whose indices are already in stored order
+         */
+        final int[] ascendingEnd;
+
+        /**
+         * Matches of prefixes whose frames aren't stored in name order, already put in stored order
+         */
+        final ConcurrentHashMap<String, int[]> ordered = new ConcurrentHashMap<>();
+
+        /**
+         * Number of frames in the collection when this was built
+         */
+        final int size;
+
+        /**
+         * Which rebuild of the collection's index this is
+         */
+        final int version;
+
+        NameIndex(String[] names, int[] indices, int[] ascendingEnd, int size, int version)
+        {
+            this.names = names;
+            this.indices = indices;
+            this.ascendingEnd = ascendingEnd;
+            this.size = size;
+            this.version = version;
+        }
     }
 
     @Override
@@ -0,0 +1,94 @@
+package com.github.jbb248.jburst.graphics.frames;
+
+import java.awt.Rectangle;
+
+import com.github.jbb248.jburst.graphics.JBurstGraphic;
+
+/**
+ * A frame collection made by slicing a spritesheet into equally sized frames.
+ * <p>
+ * Slicing results are kept by their graphic, so every sprite that slices
+ * the same graphic with the same frame size shares one collection.
+ */
+public class JBurstTileFrames extends JBurstFramesCollection
+{
+    /**
+     * Returns {@code graphic} split into as many frames as it can with the dimensions of {@code frameWidth} and {@code frameHeight}.
+     * <p>
+     * <i>If {@code graphic} has already been sliced with these dimensions, that collection is returned instead.</i>
+     *
+     * @param graphic       spritesheet to be sliced
+     * @param frameWidth    width of rectangle used to slice, or 0 to use the graphic's shorter side
+     * @param frameHeight   height of rectangle used to slice, or 0 to use the graphic's shorter side
+     */
+    public static JBurstTileFrames fromGraphic(JBurstGraphic graphic, int frameWidth, int frameHeight)
+    {
+        if(graphic == null)
+            return null;
+
+        int graphWidth = graphic.getWidth();
+        int graphHeight = graphic.getHeight();
+
+        if(frameWidth == 0)
+            frameWidth = Math.min(graphHeight, graphWidth);
+
+        if(frameHeight == 0)
+            frameHeight = Math.min(graphWidth, graphHeight);
+
+        final int width = frameWidth;
+        final int height = frameHeight;
+
+        return (JBurstTileFrames) graphic.getFrameCollection("tiles:" + width + "x" + height, () -> slice(graphic, width, height));
+    }
+
+    private static JBurstTileFrames slice(JBurstGraphic graphic, int frameWidth, int frameHeight)
+    {
+        JBurstTileFrames frames = new JBurstTileFrames(graphic, frameWidth, frameHeight);
+
+        final int ROWS = graphic.getHeight() / frameHeight - 1;
+        final int COLS = graphic.getWidth() / frameWidth - 1;
+        frames.frames.ensureCapacity((ROWS + 1) * (COLS + 1));
+
+        int i = 0, j = 0;
+        do
+        {
+            do
+            {
+                frames.addSpriteSheetFrame(new Rectangle(j * frameWidth, i * frameHeight, frameWidth, frameHeight));
+            }
+            while(j++ < COLS);
+            j = 0;
+        }
+        while(i++ < ROWS);
+
+        return frames;
+    }
+
+    private final int _frameWidth;
+
+    private final int _frameHeight;
+
+    private JBurstTileFrames(JBurstGraphic graphic, int frameWidth, int frameHeight)
+    {
+        super(graphic);
+
+        _frameWidth = frameWidth;
+        _frameHeight = frameHeight;
+    }
+
+    /**
+     * Returns the width of the rectangle this collection was sliced with
+     */
+    public int getFrameWidth()
+    {
+        return _frameWidth;
+    }
+
+    /**
+     * Returns the height of the rectangle this collection was sliced with
+     */
+    public int getFrameHeight()
+    {
+        return _frameHeight;
+    }
+}
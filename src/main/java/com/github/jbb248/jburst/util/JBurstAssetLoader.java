@@ -0,0 +1,76 @@
+package com.github.jbb248.jburst.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A bounded pool of worker threads used to load assets without stalling the caller.
+ * <p>
+ * Every load is identified by a key. While a load is running, further requests
+ * for the same key are given the same future rather than starting another load.
+ *
+ * @see com.github.jbb248.jburst.graphics.JBurstGraphic#fromFileAsync(String) JBurstGraphic.fromFileAsync()
+ * @see com.github.jbb248.jburst.graphics.frames.JBurstAtlasFrames#fromSparrowAsync(String, String) JBurstAtlasFrames.fromSparrowAsync()
+ */
+public class JBurstAssetLoader
+{
+    private static final AtomicInteger threadEnumerator = new AtomicInteger();
+
+    private static final ExecutorService _workers = Executors.newFixedThreadPool(
+        Math.max(2, Runtime.getRuntime().availableProcessors()),
+        task -> {
+            Thread thread = new Thread(task, "Burst-Loader-" + threadEnumerator.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    );
+
+    private static final ConcurrentHashMap<String, CompletableFuture<?>> _inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Runs {@code loader} on a worker thread, unless a load under {@code key} is already running,
+     * in which case that load's future is returned instead.
+     *
+     * @param key       unique title for the asset being loaded
+     * @param loader    action that loads and returns the asset
+     *
+     * @return  a future completed with the loaded asset, or exceptionally if {@code loader} throws
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> CompletableFuture<T> load(String key, Supplier<T> loader)
+    {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        CompletableFuture<?> existing = _inFlight.putIfAbsent(key, future);
+        if(existing != null)
+            return (CompletableFuture<T>) existing;
+
+        _workers.execute(() -> {
+            try
+            {
+                future.complete(loader.get());
+            }
+            catch(Throwable e)
+            {
+                future.completeExceptionally(e);
+            }
+            finally
+            {
+                _inFlight.remove(key, future);
+            }
+        });
+
+        return future;
+    }
+
+    /**
+     * Returns the number of loads currently running or waiting for a worker
+     */
+    public static int getNumLoading()
+    {
+        return _inFlight.size();
+    }
+}
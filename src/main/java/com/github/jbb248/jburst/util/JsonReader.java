@@ -0,0 +1,598 @@
+package com.github.jbb248.jburst.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A streaming, pull-style reader of UTF-8 JSON.
+ * <p>
+ * Values are read one token at a time in document order, so no object tree is ever built
+ * and numbers are read straight into primitives.
+ * Anything before the first <code>{</code> or <code>[</code> (such as a byte order mark) is skipped,
+ * as is anything after the root value.
+ * <p>
+ * <i>Commas and colons are not validated, so this reader is slightly more lenient than the JSON specification.</i>
+ *
+ * <pre>
+ * reader.beginObject();
+ * while(reader.hasNext())
+ * {
+ *     String name = reader.nextName();
+ *     if(name.equals("width"))
+ *         width = reader.nextInt();
+ *     else
+ *         reader.skipValue();
+ * }
+ * reader.endObject();
+ * </pre>
+ */
+public class JsonReader implements Closeable
+{
+    /**
+     * The kinds of tokens found in JSON
+     */
+    public static enum Token
+    {
+        BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY, NAME, STRING, NUMBER, BOOLEAN, NULL, END_DOCUMENT
+    }
+
+    private static final byte IN_ARRAY = 0;
+    private static final byte IN_OBJECT_NAME = 1;
+    private static final byte IN_OBJECT_VALUE = 2;
+
+    private final InputStream _stream;
+    private final ByteBuffer _buffer;
+
+    private final byte[] _streamBuffer;
+    private int _streamPos = 0;
+    private int _streamLimit = 0;
+
+    /**
+     * Bytes that have been read but not consumed, the last one being read first
+     */
+    private final int[] _pushback = new int[2];
+    private int _pushbackCount = 0;
+
+    private byte[] _scopes = new byte[32];
+    private int _depth = 0;
+
+    private boolean _started = false;
+
+    /**
+     * Whether or not the root object or array has been closed
+     */
+    private boolean _finished = false;
+
+    private byte[] _chars = new byte[64];
+
+    /**
+     * Creates a new JsonReader that reads from {@code stream}
+     */
+    public JsonReader(InputStream stream)
+    {
+        _stream = stream;
+        _buffer = null;
+        _streamBuffer = new byte[8192];
+    }
+
+    /**
+     * Creates a new JsonReader that reads from the remaining bytes of {@code buffer}
+     */
+    public JsonReader(ByteBuffer buffer)
+    {
+        _stream = null;
+        _buffer = buffer;
+        _streamBuffer = null;
+    }
+
+    /**
+     * Returns the type of the next token without consuming it
+     */
+    public Token peek() throws IOException
+    {
+        if(!_started)
+        {
+            int c;
+            while((c = read()) != -1 && c != '{' && c != '[') { }
+            if(c != -1)
+                unread(c);
+
+            _started = true;
+        }
+
+        int c = nextSignificant();
+        if(c == -1)
+            return Token.END_DOCUMENT;
+
+        unread(c);
+
+        switch(c)
+        {
+            case '{': return Token.BEGIN_OBJECT;
+            case '}': return Token.END_OBJECT;
+            case '[': return Token.BEGIN_ARRAY;
+            case ']': return Token.END_ARRAY;
+            case '"': return _depth > 0 && _scopes[_depth - 1] == IN_OBJECT_NAME ? Token.NAME : Token.STRING;
+            case 't': case 'f': return Token.BOOLEAN;
+            case 'n': return Token.NULL;
+            default:
+                if(c == '-' || (c >= '0' && c <= '9'))
+                    return Token.NUMBER;
+
+                throw syntaxError("Unexpected character '" + (char) c + "'");
+        }
+    }
+
+    /**
+     * Returns whether or not the current object or array has another element
+     */
+    public boolean hasNext() throws IOException
+    {
+        Token token = peek();
+        return token != Token.END_OBJECT && token != Token.END_ARRAY && token != Token.END_DOCUMENT;
+    }
+
+    public void beginObject() throws IOException
+    {
+        expect(Token.BEGIN_OBJECT);
+        read();
+        push(IN_OBJECT_NAME);
+    }
+
+    public void endObject() throws IOException
+    {
+        expect(Token.END_OBJECT);
+        read();
+        pop();
+    }
+
+    public void beginArray() throws IOException
+    {
+        expect(Token.BEGIN_ARRAY);
+        read();
+        push(IN_ARRAY);
+    }
+
+    public void endArray() throws IOException
+    {
+        expect(Token.END_ARRAY);
+        read();
+        pop();
+    }
+
+    /**
+     * Consumes and returns the name of the next object member
+     */
+    public String nextName() throws IOException
+    {
+        expect(Token.NAME);
+        String name = readString();
+        _scopes[_depth - 1] = IN_OBJECT_VALUE;
+
+        return name;
+    }
+
+    /**
+     * Consumes and returns the next string value
+     */
+    public String nextString() throws IOException
+    {
+        expect(Token.STRING);
+        String value = readString();
+        valueRead();
+
+        return value;
+    }
+
+    /**
+     * Consumes the next number value and returns it as an int, truncating any fraction
+     */
+    public int nextInt() throws IOException
+    {
+        return (int) nextDouble();
+    }
+
+    /**
+     * Consumes and returns the next number value
+     */
+    public double nextDouble() throws IOException
+    {
+        expect(Token.NUMBER);
+
+        int length = 0;
+        int c = read();
+
+        boolean negative = c == '-';
+        if(negative)
+        {
+            appendChar(length++, c);
+            c = read();
+        }
+
+        // Whole part, kept as a long while it can't overflow
+        long whole = 0;
+        int digits = 0;
+        if(c == '0')
+        {
+            appendChar(length++, c);
+            digits++;
+            c = read();
+        }
+        else if(c >= '1' && c <= '9')
+        {
+            do
+            {
+                whole = whole * 10 + (c - '0');
+                appendChar(length++, c);
+                digits++;
+            }
+            while((c = read()) >= '0' && c <= '9');
+        }
+        else
+            throw syntaxError("Invalid number");
+
+        boolean fractional = false;
+        if(c == '.')
+        {
+            fractional = true;
+            appendChar(length++, c);
+            length = appendDigits(length);
+            c = read();
+        }
+
+        if(c == 'e' || c == 'E')
+        {
+            fractional = true;
+            appendChar(length++, c);
+
+            c = read();
+            if(c == '+' || c == '-')
+                appendChar(length++, c);
+            else
+                unread(c);
+
+            length = appendDigits(length);
+            c = read();
+        }
+
+        if(c != -1)
+        {
+            if(c != ',' && c != ']' && c != '}' && c != ' ' && c != '\t' && c != '\n' && c != '\r')
+                throw syntaxError("Invalid number");
+
+            unread(c);
+        }
+
+        valueRead();
+
+        if(fractional || digits > 18)
+            return Double.parseDouble(new String(_chars, 0, length, StandardCharsets.US_ASCII));
+
+        return negative ? -whole : whole;
+    }
+
+    /**
+     * Appends a run of at least one digit, as required after a decimal point or exponent
+     *
+     * @return  the new length
+     */
+    private int appendDigits(int length) throws IOException
+    {
+        int c = read();
+        if(c < '0' || c > '9')
+            throw syntaxError("Invalid number");
+
+        do
+            appendChar(length++, c);
+        while((c = read()) >= '0' && c <= '9');
+
+        unread(c);
+        return length;
+    }
+
+    /**
+     * Consumes and returns the next boolean value
+     */
+    public boolean nextBoolean() throws IOException
+    {
+        expect(Token.BOOLEAN);
+        boolean value = read() == 't';
+        skipLiteral(value ? "rue" : "alse");
+        valueRead();
+
+        return value;
+    }
+
+    /**
+     * Consumes the next null value
+     */
+    public void nextNull() throws IOException
+    {
+        expect(Token.NULL);
+        read();
+        skipLiteral("ull");
+        valueRead();
+    }
+
+    /**
+     * Consumes the next value, including every element of an object or array, without reading it
+     */
+    public void skipValue() throws IOException
+    {
+        switch(peek())
+        {
+            case BEGIN_OBJECT:
+                beginObject();
+                while(hasNext())
+                {
+                    nextName();
+                    skipValue();
+                }
+                endObject();
+                break;
+            case BEGIN_ARRAY:
+                beginArray();
+                while(hasNext())
+                    skipValue();
+                endArray();
+                break;
+            case NAME:
+                nextName();
+                skipValue();
+                break;
+            case STRING:
+                nextString();
+                break;
+            case NUMBER:
+                nextDouble();
+                break;
+            case BOOLEAN:
+                nextBoolean();
+                break;
+            case NULL:
+                nextNull();
+                break;
+            default:
+                throw syntaxError("Expected a value but was " + peek());
+        }
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        if(_stream != null)
+            _stream.close();
+    }
+
+    private void expect(Token token) throws IOException
+    {
+        Token next = peek();
+        if(next != token)
+            throw syntaxError("Expected " + token + " but was " + next);
+    }
+
+    private void push(byte scope)
+    {
+        if(_depth == _scopes.length)
+            _scopes = Arrays.copyOf(_scopes, _depth * 2);
+
+        _scopes[_depth++] = scope;
+    }
+
+    private void pop()
+    {
+        _depth--;
+        _finished = _depth == 0;
+        valueRead();
+    }
+
+    /**
+     * Marks the value of the current object member as read, so the next string is a name again
+     */
+    private void valueRead()
+    {
+        if(_depth > 0 && _scopes[_depth - 1] == IN_OBJECT_VALUE)
+            _scopes[_depth - 1] = IN_OBJECT_NAME;
+    }
+
+    private String readString() throws IOException
+    {
+        read(); // Opening quote
+
+        int length = 0;
+        int c;
+        while((c = read()) != '"')
+        {
+            if(c == -1)
+                throw syntaxError("Unterminated string");
+
+            if(c == '\\')
+            {
+                c = read();
+                switch(c)
+                {
+                    case 'b': c = '\b'; break;
+                    case 'f': c = '\f'; break;
+                    case 'n': c = '\n'; break;
+                    case 'r': c = '\r'; break;
+                    case 't': c = '\t'; break;
+                    case 'u':
+                        length = appendUnicodeEscape(length);
+                        continue;
+                    case '"': case '\\': case '/':
+                        break;
+                    case -1:
+                        throw syntaxError("Unterminated string");
+                    default:
+                        throw syntaxError("Invalid escape '\\" + (char) c + "'");
+                }
+            }
+
+            appendChar(length++, c);
+        }
+
+        return new String(_chars, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the rest of a {@code \\u} escape and appends it to the character buffer,
+     * along with the escape after it if the two form a surrogate pair.
+     * <p>
+     * <i>Surrogates that aren't part of a pair are read as U+FFFD.</i>
+     *
+     * @return  the new length of the character buffer
+     */
+    private int appendUnicodeEscape(int length) throws IOException
+    {
+        int codePoint = readHex();
+        while(Character.isHighSurrogate((char) codePoint))
+        {
+            int c = read();
+            if(c != '\\')
+            {
+                if(c != -1)
+                    unread(c);
+                return appendCodePoint(length, 0xFFFD);
+            }
+
+            int u = read();
+            if(u != 'u')
+            {
+                // Not a pair, so both bytes are left for the string to read as its next escape
+                if(u != -1)
+                    unread(u);
+                unread(c);
+                return appendCodePoint(length, 0xFFFD);
+            }
+
+            int low = readHex();
+            if(Character.isLowSurrogate((char) low))
+                return appendCodePoint(length, Character.toCodePoint((char) codePoint, (char) low));
+
+            length = appendCodePoint(length, 0xFFFD);
+            codePoint = low;
+        }
+
+        return appendCodePoint(length, Character.isLowSurrogate((char) codePoint) ? 0xFFFD : codePoint);
+    }
+
+    private int readHex() throws IOException
+    {
+        int value = 0;
+        for(int i = 0; i < 4; i++)
+        {
+            int digit = Character.digit(read(), 16);
+            if(digit < 0)
+                throw syntaxError("Invalid unicode escape");
+
+            value = (value << 4) | digit;
+        }
+
+        return value;
+    }
+
+    /**
+     * Appends {@code codePoint} to the character buffer as UTF-8
+     *
+     * @return  the new length of the character buffer
+     */
+    private int appendCodePoint(int length, int codePoint)
+    {
+        if(codePoint < 0x80)
+            appendChar(length++, codePoint);
+        else if(codePoint < 0x800)
+        {
+            appendChar(length++, 0xC0 | (codePoint >> 6));
+            appendChar(length++, 0x80 | (codePoint & 0x3F));
+        }
+        else if(codePoint < 0x10000)
+        {
+            appendChar(length++, 0xE0 | (codePoint >> 12));
+            appendChar(length++, 0x80 | ((codePoint >> 6) & 0x3F));
+            appendChar(length++, 0x80 | (codePoint & 0x3F));
+        }
+        else
+        {
+            appendChar(length++, 0xF0 | (codePoint >> 18));
+            appendChar(length++, 0x80 | ((codePoint >> 12) & 0x3F));
+            appendChar(length++, 0x80 | ((codePoint >> 6) & 0x3F));
+            appendChar(length++, 0x80 | (codePoint & 0x3F));
+        }
+
+        return length;
+    }
+
+    private void appendChar(int index, int c)
+    {
+        if(index == _chars.length)
+            _chars = Arrays.copyOf(_chars, index * 2);
+
+        _chars[index] = (byte) c;
+    }
+
+    private void skipLiteral(String rest) throws IOException
+    {
+        for(int i = 0; i < rest.length(); i++)
+        {
+            if(read() != rest.charAt(i))
+                throw syntaxError("Invalid literal");
+        }
+    }
+
+    /**
+     * Reads past whitespace, commas and colons
+     *
+     * @return  the next significant byte, or -1 at the end of the document
+     */
+    private int nextSignificant() throws IOException
+    {
+        if(_finished)
+            return -1;
+
+        int c;
+        while((c = read()) != -1)
+        {
+            if(c != ' ' && c != '\t' && c != '\n' && c != '\r' && c != ',' && c != ':')
+                return c;
+        }
+
+        return -1;
+    }
+
+    private int read() throws IOException
+    {
+        if(_pushbackCount > 0)
+            return _pushback[--_pushbackCount];
+
+        if(_buffer != null)
+            return _buffer.hasRemaining() ? _buffer.get() & 0xFF : -1;
+
+        if(_streamPos == _streamLimit)
+        {
+            _streamLimit = _stream.read(_streamBuffer, 0, _streamBuffer.length);
+            _streamPos = 0;
+
+            if(_streamLimit <= 0)
+            {
+                _streamLimit = 0;
+                return -1;
+            }
+        }
+
+        return _streamBuffer[_streamPos++] & 0xFF;
+    }
+
+    private void unread(int c)
+    {
+        _pushback[_pushbackCount++] = c;
+    }
+
+    private IOException syntaxError(String message)
+    {
+        return new IOException("Malformed JSON: " + message);
+    }
+}
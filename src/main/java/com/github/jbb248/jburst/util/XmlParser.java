@@ -8,6 +8,13 @@ import javax.xml.parsers.ParserConfigurationException;
 import org.w3c.dom.Document;
 import org.xml.sax.SAXException;
 
+/**
+ * @deprecated Sparrow atlases are now streamed by {@code JBurstAtlasFrames} without building a document,
+ * so nothing in JBurst uses this anymore. It will be removed in a future release.
+ *
+ * @see com.github.jbb248.jburst.graphics.frames.JBurstAtlasFrames#fromSparrow(com.github.jbb248.jburst.graphics.JBurstGraphic, String) JBurstAtlasFrames.fromSparrow()
+ */
+@Deprecated
 public class XmlParser
 {
     public static Document parse(String path) 
@@ -0,0 +1,188 @@
+package com.github.jbb248.jburst;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+
+import org.junit.Test;
+
+public class JBurstActiveCanvasTest
+{
+    @Test
+    public void renderWaitsUntilDisplayable()
+    {
+        JBurstActiveCanvas canvas = canvas();
+        canvas.addSprite(sprite(10, 10, 20, 20, Color.RED));
+
+        canvas.render();
+        assertEquals(0, canvas.getDrawCount());
+        assertNull(canvas.getBufferStrategy());
+    }
+
+    @Test
+    public void drawClearsAndDrawsEverySprite()
+    {
+        JBurstActiveCanvas canvas = canvas();
+        canvas.setBackground(Color.BLUE);
+        canvas.addSprite(sprite(10, 10, 20, 20, Color.RED));
+        canvas.addSprite(sprite(50, 50, 20, 20, Color.GREEN));
+
+        BufferedImage image = draw(canvas);
+        assertEquals(2, canvas.getDrawCount());
+        assertEquals(Color.BLUE.getRGB(), image.getRGB(0, 0));
+        assertEquals(Color.RED.getRGB(), image.getRGB(15, 15));
+        assertEquals(Color.GREEN.getRGB(), image.getRGB(55, 55));
+    }
+
+    @Test
+    public void laterSpritesAreDrawnOnTop()
+    {
+        JBurstActiveCanvas canvas = canvas();
+        JBurstSprite bottom = canvas.addSprite(sprite(10, 10, 20, 20, Color.RED));
+        canvas.addSprite(sprite(10, 10, 20, 20, Color.GREEN));
+        assertEquals(Color.GREEN.getRGB(), draw(canvas).getRGB(15, 15));
+
+        bottom.setZ(1);
+        assertEquals(Color.RED.getRGB(), draw(canvas).getRGB(15, 15));
+    }
+
+    @Test
+    public void spritesOutsideTheCanvasAreNotDrawn()
+    {
+        JBurstActiveCanvas canvas = canvas();
+        canvas.addSprite(sprite(10, 10, 20, 20, Color.RED));
+        canvas.addSprite(sprite(500, 500, 20, 20, Color.GREEN));
+
+        draw(canvas);
+        assertEquals(1, canvas.getDrawCount());
+    }
+
+    @Test
+    public void onlyDrawnSpritesAreOnScreen()
+    {
+        JBurstActiveCanvas canvas = canvas();
+        JBurstSprite inside = canvas.addSprite(sprite(10, 10, 20, 20, Color.RED));
+        JBurstSprite outside = canvas.addSprite(sprite(500, 500, 20, 20, Color.GREEN));
+
+        // Until the first frame, sprites are treated as visible
+        assertTrue(outside._onScreen);
+
+        draw(canvas);
+        assertTrue(inside._onScreen);
+        assertFalse(outside._onScreen);
+
+        inside.setSpriteLocation(500, 10);
+        outside.setSpriteLocation(50, 50);
+        draw(canvas);
+        assertFalse(inside._onScreen);
+        assertTrue(outside._onScreen);
+
+        canvas.removeSprite(inside);
+        draw(canvas);
+        assertTrue(inside._onScreen);
+    }
+
+    @Test
+    public void camerasOnlyDrawWhatTheyShow()
+    {
+        JBurstActiveCanvas canvas = canvas();
+        canvas.addSprite(sprite(10, 10, 20, 20, Color.RED));
+        canvas.addSprite(sprite(500, 500, 20, 20, Color.GREEN));
+
+        JBurstCamera camera = canvas.addCamera(new JBurstCamera());
+        camera.setScroll(480, 480);
+
+        BufferedImage image = draw(canvas);
+        assertEquals(1, canvas.getDrawCount());
+        assertEquals(Color.GREEN.getRGB(), image.getRGB(25, 25));
+    }
+
+    @Test
+    public void spritesMovedInBetweenFramesAreFound()
+    {
+        JBurstActiveCanvas canvas = canvas();
+        JBurstSprite sprite = canvas.addSprite(sprite(10, 10, 20, 20, Color.RED));
+        canvas.addCamera(new JBurstCamera(0, 0, 50, 50));
+
+        draw(canvas);
+        assertEquals(1, canvas.getDrawCount());
+
+        sprite.setSpriteLocation(150, 150);
+        draw(canvas);
+        assertEquals(0, canvas.getDrawCount());
+    }
+
+    @Test
+    public void spritesBelongToOneCanvasAtATime()
+    {
+        JBurstActiveCanvas canvas = canvas();
+        JBurstCanvas other = new JBurstCanvas();
+        JBurstSprite sprite = sprite(10, 10, 20, 20, Color.RED);
+
+        other.addSprite(sprite);
+        canvas.addSprite(sprite);
+        assertSame(canvas, sprite.getActiveCanvas());
+        assertNull(sprite.getCanvas());
+        assertEquals(0, other.getNumSprites());
+        assertSame(canvas.getSpatialIndex(), sprite.getSpatialGrid());
+
+        canvas.removeSprite(sprite);
+        assertEquals(0, canvas.getNumSprites());
+        assertTrue(canvas.getSpatialIndex().query(new Rectangle(0, 0, 100, 100)).isEmpty());
+    }
+
+    @Test
+    public void startingRendersWithTheWorld()
+    {
+        JBurstWorld world = new JBurstWorld(60);
+        JBurstActiveCanvas canvas = canvas();
+
+        canvas.start(world);
+        assertSame(world, canvas.getWorld());
+        assertTrue(world.canvases.contains(canvas));
+
+        canvas.stop();
+        assertNull(canvas.getWorld());
+        assertFalse(world.canvases.contains(canvas));
+    }
+
+    private static JBurstActiveCanvas canvas()
+    {
+        JBurstActiveCanvas canvas = new JBurstActiveCanvas();
+        canvas.setSize(100, 100);
+
+        return canvas;
+    }
+
+    private static BufferedImage draw(JBurstActiveCanvas canvas)
+    {
+        BufferedImage image = new BufferedImage(canvas.getWidth(), canvas.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        try
+        {
+            canvas.draw(graphics);
+        }
+        finally
+        {
+            graphics.dispose();
+        }
+
+        return image;
+    }
+
+    private static JBurstSprite sprite(int x, int y, int width, int height, Color color)
+    {
+        JBurstSprite sprite = new JBurstSprite(x, y);
+        sprite.makeGraphic(width, height, color);
+        sprite.exists = true;
+
+        return sprite;
+    }
+}
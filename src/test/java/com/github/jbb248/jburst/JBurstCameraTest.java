@@ -0,0 +1,116 @@
+package com.github.jbb248.jburst;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Rectangle;
+import java.awt.geom.Point2D;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class JBurstCameraTest
+{
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    public void scrollingMovesTheScene()
+    {
+        JBurstCamera camera = new JBurstCamera(0, 0, 200, 100);
+        assertPoint(10, 20, camera.toCanvas(10, 20));
+
+        camera.setScroll(50, 30);
+        assertPoint(0, 0, camera.toCanvas(50, 30));
+        assertPoint(50, 30, camera.toScene(0, 0));
+
+        camera.scrollBy(-50, -30);
+        assertPoint(10, 20, camera.toCanvas(10, 20));
+    }
+
+    @Test
+    public void zoomingMagnifiesAroundTheCenter()
+    {
+        JBurstCamera camera = new JBurstCamera(0, 0, 200, 100);
+        camera.setZoom(2);
+
+        assertPoint(100, 50, camera.toCanvas(100, 50));
+        assertPoint(-100, -50, camera.toCanvas(0, 0));
+        assertEquals(new Rectangle(50, 25, 100, 50), camera.getViewArea());
+
+        camera.setScroll(10, 20);
+        assertEquals(new Rectangle(60, 45, 100, 50), camera.getViewArea());
+    }
+
+    @Test
+    public void focusOnCentersThePoint()
+    {
+        JBurstCamera camera = new JBurstCamera(0, 0, 200, 100);
+        camera.setZoom(3);
+        camera.focusOn(500, 400);
+
+        assertPoint(100, 50, camera.toCanvas(500, 400));
+    }
+
+    @Test
+    public void viewportsAreOffsetOnTheCanvas()
+    {
+        JBurstCamera camera = new JBurstCamera(300, 100, 200, 100);
+        assertPoint(300, 100, camera.toCanvas(0, 0));
+        assertPoint(0, 0, camera.toScene(300, 100));
+    }
+
+    @Test
+    public void rotatedViewsCoverTheTurnedArea()
+    {
+        JBurstCamera camera = new JBurstCamera(0, 0, 200, 100);
+        camera.setAngle(Math.PI / 2);
+
+        assertPoint(100, 50, camera.toCanvas(100, 50));
+
+        Rectangle area = camera.getViewArea();
+        assertTrue(area.contains(new Rectangle(50, -50, 100, 200)));
+        assertTrue(area.width <= 102 && area.height <= 202);
+    }
+
+    @Test
+    public void toSceneAndToCanvasRoundTrip()
+    {
+        Random random = new Random(248);
+        JBurstCamera camera = new JBurstCamera(40, 30, 320, 240);
+        camera.setScroll(-75.5, 1200.25);
+        camera.setZoom(1.75);
+        camera.setAngle(0.6);
+
+        for(int i = 0; i < 100; i++)
+        {
+            double x = random.nextDouble() * 2000 - 1000, y = random.nextDouble() * 2000 - 1000;
+
+            Point2D.Double onCanvas = camera.toCanvas(x, y);
+            assertPoint(x, y, camera.toScene(onCanvas.x, onCanvas.y));
+
+            Point2D.Double inScene = camera.toScene(x, y);
+            assertPoint(x, y, camera.toCanvas(inScene.x, inScene.y));
+        }
+    }
+
+    @Test
+    public void sceneAreasMapBackInsideTheViewport()
+    {
+        JBurstCamera camera = new JBurstCamera(40, 30, 320, 240);
+        camera.setZoom(0.5);
+        camera.setAngle(1);
+
+        JBurstCamera.View view = camera.getView(800, 600);
+        Rectangle scene = view.toScene(view.screen, new Rectangle());
+
+        // Everything shown comes from the scene area, and is drawn within the viewport
+        Rectangle drawn = view.toCanvas(scene, new Rectangle());
+        assertEquals(view.screen, drawn);
+    }
+
+    private static void assertPoint(double x, double y, Point2D.Double point)
+    {
+        assertEquals(x, point.x, EPSILON);
+        assertEquals(y, point.y, EPSILON);
+    }
+}
@@ -0,0 +1,146 @@
+package com.github.jbb248.jburst;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+
+import org.junit.Test;
+
+public class JBurstCanvasTest
+{
+    private static final int RED = Color.RED.getRGB(), GREEN = Color.GREEN.getRGB();
+
+    @Test
+    public void paintingDrawsEverySpriteInOrder()
+    {
+        JBurstCanvas canvas = canvas();
+        canvas.addSprite(sprite(10, 10, 20, 20, Color.RED));
+        canvas.addSprite(sprite(20, 20, 20, 20, Color.GREEN));
+
+        BufferedImage image = paint(canvas, 0, 0, 100, 100);
+        assertEquals(RED, image.getRGB(12, 12));
+        assertEquals(GREEN, image.getRGB(25, 25)); // Added last, so drawn on top
+        assertEquals(0, image.getRGB(50, 50));
+    }
+
+    @Test
+    public void paintingOnlyTouchesTheClip()
+    {
+        JBurstCanvas canvas = canvas();
+        canvas.addSprite(sprite(10, 10, 20, 20, Color.RED));
+        canvas.addSprite(sprite(60, 60, 20, 20, Color.GREEN));
+
+        BufferedImage image = paint(canvas, 0, 0, 20, 20);
+        assertEquals(RED, image.getRGB(15, 15));
+        assertEquals(0, image.getRGB(25, 25));
+        assertEquals(0, image.getRGB(65, 65));
+    }
+
+    @Test
+    public void removedSpritesAreNotPainted()
+    {
+        JBurstCanvas canvas = canvas();
+        JBurstSprite sprite = canvas.addSprite(sprite(10, 10, 20, 20, Color.RED));
+        assertSame(canvas, sprite.getCanvas());
+
+        canvas.removeSprite(sprite);
+        assertNull(sprite.getCanvas());
+        assertEquals(0, canvas.getNumSprites());
+        assertEquals(0, paint(canvas, 0, 0, 100, 100).getRGB(15, 15));
+    }
+
+    @Test
+    public void stoppedCanvasesPaintNothing()
+    {
+        JBurstCanvas canvas = canvas();
+        canvas.addSprite(sprite(10, 10, 20, 20, Color.RED));
+        canvas.exists = false;
+
+        assertEquals(0, paint(canvas, 0, 0, 100, 100).getRGB(15, 15));
+    }
+
+    @Test
+    public void spritesOnlyNeedRepaintingWhenTheyChange()
+    {
+        JBurstSprite sprite = sprite(10, 10, 20, 20, Color.RED);
+        Rectangle oldArea = new Rectangle(), newArea = new Rectangle();
+
+        assertTrue(sprite.checkPaintState(oldArea, newArea));
+        assertTrue(oldArea.isEmpty());
+        assertEquals(new Rectangle(10, 10, 20, 20), newArea);
+
+        assertFalse(sprite.checkPaintState(oldArea, newArea));
+
+        // Both where it was and where it is now are repainted
+        sprite.setSpriteLocation(50, 10);
+        assertTrue(sprite.checkPaintState(oldArea, newArea));
+        assertEquals(new Rectangle(10, 10, 20, 20), oldArea);
+        assertEquals(new Rectangle(50, 10, 20, 20), newArea);
+
+        sprite.flipX = true;
+        assertTrue(sprite.checkPaintState(oldArea, newArea));
+        assertEquals(oldArea, newArea);
+        assertFalse(sprite.checkPaintState(oldArea, newArea));
+
+        sprite.visible = false;
+        assertTrue(sprite.checkPaintState(oldArea, newArea));
+        assertEquals(new Rectangle(50, 10, 20, 20), oldArea);
+        assertTrue(newArea.isEmpty());
+
+        // Nothing is shown before or after, so nothing needs repainting
+        sprite.setSpriteLocation(0, 0);
+        assertFalse(sprite.checkPaintState(oldArea, newArea));
+    }
+
+    @Test
+    public void changingFramesMarksSpritesDirty()
+    {
+        JBurstSprite sprite = sprite(10, 10, 20, 20, Color.RED);
+        Rectangle oldArea = new Rectangle(), newArea = new Rectangle();
+        sprite.checkPaintState(oldArea, newArea);
+
+        sprite.makeGraphic(20, 20, Color.GREEN);
+        assertTrue(sprite.dirty);
+        assertTrue(sprite.checkPaintState(oldArea, newArea));
+        assertFalse(sprite.dirty);
+    }
+
+    private static JBurstCanvas canvas()
+    {
+        JBurstCanvas canvas = new JBurstCanvas();
+        canvas.setSize(100, 100);
+        canvas.exists = true;
+
+        return canvas;
+    }
+
+    /**
+     * Paints {@code canvas} into a new image, clipped to the given area
+     */
+    private static BufferedImage paint(JBurstCanvas canvas, int x, int y, int width, int height)
+    {
+        BufferedImage image = new BufferedImage(canvas.getWidth(), canvas.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setClip(x, y, width, height);
+        canvas.paintComponent(graphics);
+        graphics.dispose();
+
+        return image;
+    }
+
+    private static JBurstSprite sprite(int x, int y, int width, int height, Color color)
+    {
+        JBurstSprite sprite = new JBurstSprite(x, y);
+        sprite.makeGraphic(width, height, color);
+        sprite.exists = true;
+
+        return sprite;
+    }
+}
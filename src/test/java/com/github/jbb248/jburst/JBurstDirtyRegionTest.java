@@ -0,0 +1,105 @@
+package com.github.jbb248.jburst;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+
+import org.junit.Test;
+
+public class JBurstDirtyRegionTest
+{
+    @Test
+    public void emptyAreasAreIgnored()
+    {
+        JBurstDirtyRegion region = new JBurstDirtyRegion(8);
+        region.add(10, 10, 0, 5);
+        region.add(10, 10, 5, -1);
+
+        assertTrue(region.isEmpty());
+    }
+
+    @Test
+    public void containedAreasAreDropped()
+    {
+        JBurstDirtyRegion region = new JBurstDirtyRegion(8);
+        region.add(0, 0, 100, 100);
+        region.add(10, 10, 20, 20);
+
+        assertRects(region.drain(), new Rectangle(0, 0, 100, 100));
+    }
+
+    @Test
+    public void nearbyAreasAreMergedWhenCheaper()
+    {
+        JBurstDirtyRegion region = new JBurstDirtyRegion(8);
+
+        // Their union wastes 2 * 32 * 32 pixels, less than the cost of a second paint
+        region.add(0, 0, 32, 32);
+        region.add(32, 32, 32, 32);
+
+        assertRects(region.drain(), new Rectangle(0, 0, 64, 64));
+    }
+
+    @Test
+    public void distantAreasStaySeparate()
+    {
+        JBurstDirtyRegion region = new JBurstDirtyRegion(8);
+        region.add(0, 0, 16, 16);
+        region.add(500, 500, 16, 16);
+
+        assertRects(region.drain(), new Rectangle(0, 0, 16, 16), new Rectangle(500, 500, 16, 16));
+    }
+
+    @Test
+    public void mergingChainsThroughNewlyReachedAreas()
+    {
+        JBurstDirtyRegion region = new JBurstDirtyRegion(8);
+        region.add(100, 0, 100, 100);
+        region.add(0, 100, 200, 100);
+        assertEquals(2, region.drain().size());
+
+        region.add(100, 0, 100, 100);
+        region.add(0, 100, 200, 100);
+
+        // Only worth merging with the bottom area once merged with the area beside it
+        region.add(0, 0, 100, 100);
+
+        assertRects(region.drain(), new Rectangle(0, 0, 200, 200));
+    }
+
+    @Test
+    public void closestAreasAreMergedPastTheCap()
+    {
+        JBurstDirtyRegion region = new JBurstDirtyRegion(2);
+        region.add(0, 0, 10, 10);
+        region.add(1000, 0, 10, 10);
+        region.add(0, 1000, 10, 10);
+        region.add(1000, 1000, 10, 10);
+
+        ArrayList<Rectangle> rects = region.drain();
+        assertEquals(2, rects.size());
+
+        Rectangle union = new Rectangle(rects.get(0));
+        union.add(rects.get(1));
+        assertEquals(new Rectangle(0, 0, 1010, 1010), union);
+    }
+
+    @Test
+    public void drainEmptiesTheRegion()
+    {
+        JBurstDirtyRegion region = new JBurstDirtyRegion(8);
+        region.add(new Rectangle(5, 5, 5, 5));
+
+        assertEquals(1, region.drain().size());
+        assertTrue(region.isEmpty());
+    }
+
+    private static void assertRects(ArrayList<Rectangle> actual, Rectangle... expected)
+    {
+        assertEquals(expected.length, actual.size());
+        for(Rectangle rect : expected)
+            assertTrue("Missing " + rect + " in " + actual, actual.contains(rect));
+    }
+}
@@ -0,0 +1,115 @@
+package com.github.jbb248.jburst;
+
+import static org.junit.Assert.assertEquals;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.github.jbb248.jburst.graphics.JBurstGraphic;
+
+public class JBurstDrawBatcherTest
+{
+    private final ArrayList<JBurstSprite> _drawn = new ArrayList<>();
+
+    private final Graphics2D _graphics = new BufferedImage(200, 200, BufferedImage.TYPE_INT_ARGB).createGraphics();
+
+    @Test
+    public void withoutReorderingOnlyNeighboursShareABatch()
+    {
+        JBurstGraphic first = graphic(), second = graphic();
+        JBurstSprite a = sprite(first, 0, 0), b = sprite(second, 50, 0), c = sprite(first, 100, 0), d = sprite(first, 150, 0);
+
+        JBurstDrawBatcher batcher = new JBurstDrawBatcher();
+        for(JBurstSprite sprite : Arrays.asList(a, b, c, d))
+            batcher.add(sprite, false);
+
+        assertEquals(3, batcher.draw(_graphics));
+        assertEquals(4, batcher.getDrawCount());
+        assertEquals(Arrays.asList(a, b, c, d), _drawn);
+    }
+
+    @Test
+    public void spritesJoinEarlierBatchesTheyDontOverlap()
+    {
+        JBurstGraphic first = graphic(), second = graphic();
+        JBurstSprite a = sprite(first, 0, 0), b = sprite(second, 50, 0), c = sprite(first, 100, 0);
+
+        JBurstDrawBatcher batcher = new JBurstDrawBatcher();
+        for(JBurstSprite sprite : Arrays.asList(a, b, c))
+            batcher.add(sprite, true);
+
+        assertEquals(2, batcher.draw(_graphics));
+        assertEquals(Arrays.asList(a, c, b), _drawn);
+    }
+
+    @Test
+    public void overlappingSpritesKeepTheirOrder()
+    {
+        JBurstGraphic first = graphic(), second = graphic();
+        JBurstSprite a = sprite(first, 0, 0), b = sprite(second, 50, 0), c = sprite(first, 55, 5);
+
+        JBurstDrawBatcher batcher = new JBurstDrawBatcher();
+        for(JBurstSprite sprite : Arrays.asList(a, b, c))
+            batcher.add(sprite, true);
+
+        // c has to be drawn over b, so it can't join a's batch
+        assertEquals(3, batcher.draw(_graphics));
+        assertEquals(Arrays.asList(a, b, c), _drawn);
+    }
+
+    @Test
+    public void onlyRecentBatchesAreSearched()
+    {
+        JBurstGraphic shared = graphic();
+        JBurstDrawBatcher batcher = new JBurstDrawBatcher();
+
+        batcher.add(sprite(shared, 0, 0), true);
+        for(int i = 0; i < 16; i++)
+            batcher.add(sprite(graphic(), 0, 20 + i * 10), true);
+        batcher.add(sprite(shared, 100, 0), true);
+
+        assertEquals(18, batcher.draw(_graphics));
+    }
+
+    @Test
+    public void batchesAreEmptiedOnceDrawn()
+    {
+        JBurstGraphic shared = graphic();
+        JBurstDrawBatcher batcher = new JBurstDrawBatcher();
+
+        batcher.add(sprite(shared, 0, 0), true);
+        assertEquals(1, batcher.draw(_graphics));
+
+        assertEquals(0, batcher.draw(_graphics));
+        assertEquals(0, batcher.getDrawCount());
+        assertEquals(1, _drawn.size());
+    }
+
+    private static JBurstGraphic graphic()
+    {
+        return new JBurstGraphic(null, new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB));
+    }
+
+    /**
+     * Returns a shown sprite displaying {@code graphic} that records when it's drawn
+     */
+    private JBurstSprite sprite(JBurstGraphic graphic, int x, int y)
+    {
+        JBurstSprite sprite = new JBurstSprite(x, y)
+        {
+            @Override
+            public void draw(Graphics2D graphics)
+            {
+                _drawn.add(this);
+            }
+        };
+        sprite.loadGraphic(graphic);
+        sprite.exists = true;
+
+        return sprite;
+    }
+}
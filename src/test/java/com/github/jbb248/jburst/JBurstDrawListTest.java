@@ -0,0 +1,100 @@
+package com.github.jbb248.jburst;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class JBurstDrawListTest
+{
+    private final ArrayList<JBurstSprite> _drawn = new ArrayList<>();
+
+    private final Graphics2D _graphics = new BufferedImage(200, 200, BufferedImage.TYPE_INT_ARGB).createGraphics();
+
+    @Test
+    public void spritesAreDrawnInLayerThenAddedOrder()
+    {
+        JBurstDrawList list = new JBurstDrawList(JBurstSpatialGrid.DEFAULT_CELL_SIZE);
+        JBurstSprite a = sprite(0, 0), b = sprite(50, 0), c = sprite(100, 0);
+        for(JBurstSprite sprite : Arrays.asList(a, b, c))
+            list.add(sprite);
+
+        a.setZ(1);
+        list.draw(_graphics, null, 200, 200);
+
+        assertEquals(Arrays.asList(b, c, a), _drawn);
+        assertEquals(Arrays.asList(b, c, a), list.getSprites());
+        assertEquals(3, list.getDrawCount());
+    }
+
+    @Test
+    public void onlySpritesInsideTheClipAreDrawn()
+    {
+        JBurstDrawList list = new JBurstDrawList(JBurstSpatialGrid.DEFAULT_CELL_SIZE);
+        JBurstSprite inside = sprite(10, 10), outside = sprite(150, 150);
+        list.add(inside);
+        list.add(outside);
+
+        list.draw(_graphics, new Rectangle(0, 0, 50, 50), 200, 200);
+
+        assertEquals(Arrays.asList(inside), _drawn);
+        assertEquals(1, list.getDrawCount());
+    }
+
+    @Test
+    public void camerasDrawWhatTheyShowAndAddUpTheirCounts()
+    {
+        JBurstDrawList list = new JBurstDrawList(JBurstSpatialGrid.DEFAULT_CELL_SIZE);
+        JBurstSprite near = sprite(10, 10), far = sprite(500, 500);
+        list.add(near);
+        list.add(far);
+
+        list.addCamera(new JBurstCamera(0, 0, 100, 200));
+        JBurstCamera scrolled = new JBurstCamera(100, 0, 100, 200);
+        scrolled.setScroll(480, 480);
+        list.addCamera(scrolled);
+
+        list.draw(_graphics, null, 200, 200);
+
+        assertEquals(Arrays.asList(near, far), _drawn);
+        assertEquals(2, list.getDrawCount());
+    }
+
+    @Test
+    public void removedSpritesLeaveTheGrid()
+    {
+        JBurstDrawList list = new JBurstDrawList(JBurstSpatialGrid.DEFAULT_CELL_SIZE);
+        JBurstSprite sprite = sprite(10, 10);
+        list.add(sprite);
+        list.remove(sprite);
+
+        assertEquals(0, list.size());
+        assertTrue(list.getGrid().query(new Rectangle(0, 0, 200, 200)).isEmpty());
+    }
+
+    /**
+     * Returns a shown sprite that records when it's drawn
+     */
+    private JBurstSprite sprite(int x, int y)
+    {
+        JBurstSprite sprite = new JBurstSprite(x, y)
+        {
+            @Override
+            public void draw(Graphics2D graphics)
+            {
+                _drawn.add(this);
+            }
+        };
+        sprite.makeGraphic(20, 20, Color.RED);
+        sprite.exists = true;
+
+        return sprite;
+    }
+}
@@ -0,0 +1,100 @@
+package com.github.jbb248.jburst;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class JBurstDrawOrderTest
+{
+    @Test
+    public void layerBeatsZ()
+    {
+        ArrayList<JBurstSprite> sprites = sprites(3);
+        sprites.get(0).setLayer(1);
+        sprites.get(1).setZ(100);
+        sprites.get(2).setZ(-5);
+
+        JBurstSprite top = sprites.get(0), middle = sprites.get(1), bottom = sprites.get(2);
+        JBurstDrawOrder.sort(sprites, 3);
+
+        assertSame(bottom, sprites.get(0));
+        assertSame(middle, sprites.get(1));
+        assertSame(top, sprites.get(2));
+    }
+
+    @Test
+    public void tiesKeepTheOrderSpritesWereAdded()
+    {
+        ArrayList<JBurstSprite> sprites = sprites(5);
+        JBurstSprite moved = sprites.get(0);
+        moved.setZ(1);
+        JBurstDrawOrder.sort(sprites, 1);
+
+        moved.setZ(0);
+        JBurstDrawOrder.sort(sprites, 1);
+
+        for(int i = 0; i < sprites.size(); i++)
+            assertEquals(i, sprites.get(i)._addOrder);
+    }
+
+    @Test
+    public void fewChangesUseAnInsertionSort()
+    {
+        ArrayList<JBurstSprite> sprites = sprites(64);
+        assertFalse(JBurstDrawOrder.sort(sprites, 1));
+        assertTrue(JBurstDrawOrder.sort(sprites, 64));
+    }
+
+    @Test
+    public void insertionAndFullSortsAgree()
+    {
+        Random random = new Random(248);
+        ArrayList<JBurstSprite> sprites = sprites(200);
+        for(JBurstSprite sprite : sprites)
+        {
+            sprite.setLayer(random.nextInt(3));
+            sprite.setZ(random.nextInt(10));
+        }
+        JBurstDrawOrder.sort(sprites, sprites.size());
+
+        for(int tick = 0; tick < 50; tick++)
+        {
+            // A few sprites drift a little each tick, with many ties
+            for(int i = 0; i < 5; i++)
+            {
+                JBurstSprite sprite = sprites.get(random.nextInt(sprites.size()));
+                sprite.setZ(sprite.getZ() + random.nextInt(3) - 1);
+            }
+
+            ArrayList<JBurstSprite> expected = new ArrayList<>(sprites);
+            assertTrue(JBurstDrawOrder.sort(expected, expected.size()));
+            assertFalse(JBurstDrawOrder.sort(sprites, 5));
+
+            assertEquals(expected, sprites);
+            for(int i = 0; i < sprites.size(); i++)
+                assertEquals(i, sprites.get(i)._canvasOrder);
+        }
+    }
+
+    /**
+     * Returns {@code count} sprites in the order they were added
+     */
+    private static ArrayList<JBurstSprite> sprites(int count)
+    {
+        ArrayList<JBurstSprite> sprites = new ArrayList<>();
+        for(int i = 0; i < count; i++)
+        {
+            JBurstSprite sprite = new JBurstSprite();
+            sprite._addOrder = i;
+            sprites.add(sprite);
+        }
+
+        return sprites;
+    }
+}
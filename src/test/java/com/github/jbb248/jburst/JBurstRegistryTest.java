@@ -0,0 +1,169 @@
+package com.github.jbb248.jburst;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+public class JBurstRegistryTest
+{
+    @Test
+    public void changesWaitUntilApplied()
+    {
+        JBurstRegistry registry = new JBurstRegistry();
+        JBurstBasic a = new JBurstBasic();
+
+        registry.add(a);
+        assertEquals(0, registry.size());
+
+        assertArrayEquals(new JBurstBasic[] { a }, registry.applyChanges());
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    public void membersKeepTheOrderTheyWereAdded()
+    {
+        JBurstRegistry registry = new JBurstRegistry();
+        JBurstBasic a = new JBurstBasic(), b = new JBurstBasic(), c = new JBurstBasic();
+
+        registry.add(a);
+        registry.add(b);
+        registry.applyChanges();
+
+        registry.add(c);
+        registry.remove(a);
+        registry.add(a);
+
+        // Removing and adding again within one tick keeps the original place
+        assertArrayEquals(new JBurstBasic[] { a, b, c }, registry.applyChanges());
+    }
+
+    @Test
+    public void addAndRemoveInOneTickCancelOut()
+    {
+        JBurstRegistry registry = new JBurstRegistry();
+        JBurstBasic a = new JBurstBasic(), b = new JBurstBasic();
+
+        registry.add(a);
+        registry.applyChanges();
+
+        registry.add(b);
+        registry.remove(b);
+
+        JBurstBasic[] before = registry.getMembers();
+        assertSame(before, registry.applyChanges());
+        assertArrayEquals(new JBurstBasic[] { a }, before);
+    }
+
+    @Test
+    public void addRemoveAddPlacesOnce()
+    {
+        JBurstRegistry registry = new JBurstRegistry();
+        JBurstBasic a = new JBurstBasic(), b = new JBurstBasic();
+
+        registry.add(a);
+        registry.remove(a);
+        registry.add(a);
+        registry.add(b);
+        registry.add(a);
+
+        assertArrayEquals(new JBurstBasic[] { a, b }, registry.applyChanges());
+    }
+
+    @Test
+    public void publishedArraysAreNeverModified()
+    {
+        JBurstRegistry registry = new JBurstRegistry();
+        JBurstBasic a = new JBurstBasic(), b = new JBurstBasic();
+
+        registry.add(a);
+        registry.add(b);
+        JBurstBasic[] published = registry.applyChanges();
+
+        registry.remove(a);
+        assertArrayEquals(new JBurstBasic[] { b }, registry.applyChanges());
+        assertArrayEquals(new JBurstBasic[] { a, b }, published);
+    }
+
+    @Test
+    public void removalsKeepTheOrderOfTheRest()
+    {
+        JBurstRegistry registry = new JBurstRegistry();
+        JBurstBasic a = new JBurstBasic(), b = new JBurstBasic(), c = new JBurstBasic(), d = new JBurstBasic();
+
+        registry.add(a);
+        registry.add(b);
+        registry.add(c);
+        registry.applyChanges();
+
+        registry.remove(b);
+        registry.remove(c);
+        registry.add(c);
+        registry.remove(c);
+        registry.remove(d); // Never added
+        registry.add(d);
+
+        assertArrayEquals(new JBurstBasic[] { a, d }, registry.applyChanges());
+
+        // Nothing is left marked as removed for the next tick
+        registry.add(b);
+        assertArrayEquals(new JBurstBasic[] { a, d, b }, registry.applyChanges());
+    }
+
+    @Test
+    public void worldsRemovingASharedMemberConcurrently() throws Throwable
+    {
+        // An object moving between worlds is briefly a member of both
+        JBurstWorld first = new JBurstWorld(60), second = new JBurstWorld(60);
+        JBurstBasic shared = new JBurstBasic();
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Thread a = new Thread(() -> removeRepeatedly(first, shared, barrier, failure));
+        Thread b = new Thread(() -> removeRepeatedly(second, shared, barrier, failure));
+        a.start();
+        b.start();
+        a.join();
+        b.join();
+
+        if(failure.get() != null)
+            throw failure.get();
+    }
+
+    private static void removeRepeatedly(JBurstWorld world, JBurstBasic shared, CyclicBarrier barrier, AtomicReference<Throwable> failure)
+    {
+        // Enough members ahead of the shared one that both worlds are filtering at the same time
+        JBurstBasic[] own = new JBurstBasic[1000];
+        for(int i = 0; i < own.length; i++)
+        {
+            own[i] = new JBurstBasic();
+            world.members.add(own[i]);
+        }
+
+        JBurstBasic[] withShared = Arrays.copyOf(own, own.length + 1);
+        withShared[own.length] = shared;
+
+        try
+        {
+            for(int i = 0; i < 2000 && failure.get() == null; i++)
+            {
+                world.members.add(shared);
+                assertArrayEquals(withShared, world.members.applyChanges());
+
+                world.members.remove(shared);
+                barrier.await();
+                assertArrayEquals(own, world.members.applyChanges());
+            }
+        }
+        catch(Throwable e)
+        {
+            failure.compareAndSet(null, e);
+            barrier.reset();
+        }
+    }
+}
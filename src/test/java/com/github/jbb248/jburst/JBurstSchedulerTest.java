@@ -0,0 +1,126 @@
+package com.github.jbb248.jburst;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class JBurstSchedulerTest
+{
+    @Test
+    public void ticksNeverOverlapWhenRestarted() throws InterruptedException
+    {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger overlaps = new AtomicInteger();
+        CountDownLatch ticking = new CountDownLatch(1);
+
+        JBurstScheduler scheduler = new JBurstScheduler("test", () -> {
+            if(active.incrementAndGet() > 1)
+                overlaps.incrementAndGet();
+
+            ticking.countDown();
+            long end = System.nanoTime() + 20000000L;
+            while(System.nanoTime() - end < 0) { }
+
+            active.decrementAndGet();
+        });
+        scheduler.setFrameRate(1000);
+
+        scheduler.start();
+        assertTrue(ticking.await(5, TimeUnit.SECONDS));
+
+        for(int i = 0; i < 5; i++)
+        {
+            scheduler.stop();
+            assertFalse(scheduler.isRunning());
+            scheduler.start();
+            assertTrue(scheduler.isRunning());
+        }
+
+        Thread.sleep(50);
+        scheduler.stop();
+
+        assertEquals(0, overlaps.get());
+    }
+
+    @Test
+    public void throwingTaskKeepsTicking() throws InterruptedException
+    {
+        CountDownLatch ticks = new CountDownLatch(3);
+        AtomicBoolean thrown = new AtomicBoolean();
+
+        // Only the first tick throws, so the error is reported once
+        JBurstScheduler scheduler = new JBurstScheduler("test", () -> {
+            ticks.countDown();
+            if(!thrown.getAndSet(true))
+                throw new IllegalStateException("expected");
+        });
+        scheduler.setFrameRate(1000);
+
+        scheduler.start();
+        assertTrue(ticks.await(5, TimeUnit.SECONDS));
+        assertTrue(scheduler.isRunning());
+        assertEquals(1, scheduler.getErrorCount());
+
+        scheduler.stop();
+        assertFalse(scheduler.isRunning());
+    }
+
+    @Test
+    public void repeatedErrorsAreReportedOnce() throws InterruptedException
+    {
+        CountDownLatch ticks = new CountDownLatch(20);
+        JBurstScheduler scheduler = new JBurstScheduler("test", () -> {
+            ticks.countDown();
+            throw new IllegalStateException("always");
+        });
+        scheduler.setFrameRate(1000);
+
+        PrintStream err = System.err;
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        System.setErr(new PrintStream(captured, true));
+        try
+        {
+            scheduler.start();
+            assertTrue(ticks.await(5, TimeUnit.SECONDS));
+            scheduler.stop();
+        }
+        finally
+        {
+            System.setErr(err);
+        }
+
+        // The last tick counted down may still be throwing
+        assertTrue(scheduler.getErrorCount() >= 19);
+
+        String traces = captured.toString();
+        assertEquals(traces.indexOf("IllegalStateException"), traces.lastIndexOf("IllegalStateException"));
+    }
+
+    @Test
+    public void taskCanRestartItsOwnScheduler() throws InterruptedException
+    {
+        CountDownLatch ticks = new CountDownLatch(3);
+        JBurstScheduler[] scheduler = new JBurstScheduler[1];
+
+        scheduler[0] = new JBurstScheduler("test", () -> {
+            scheduler[0].stop();
+            scheduler[0].start();
+            ticks.countDown();
+        });
+        scheduler[0].setFrameRate(1000);
+
+        scheduler[0].start();
+        assertTrue(ticks.await(5, TimeUnit.SECONDS));
+
+        scheduler[0].stop();
+    }
+}
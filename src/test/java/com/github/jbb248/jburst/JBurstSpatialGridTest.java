@@ -0,0 +1,166 @@
+package com.github.jbb248.jburst;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+
+import org.junit.Test;
+
+public class JBurstSpatialGridTest
+{
+    @Test
+    public void queryFindsOverlappingSpritesOnce()
+    {
+        JBurstSpatialGrid grid = new JBurstSpatialGrid(32);
+        JBurstSprite big = sprite(0, 0, 100, 100); // Spans many cells
+        JBurstSprite small = sprite(200, 200, 10, 10);
+        grid.add(big);
+        grid.add(small);
+
+        ArrayList<JBurstSprite> found = grid.query(new Rectangle(0, 0, 300, 300));
+        assertEquals(2, found.size());
+        assertTrue(found.contains(big));
+        assertTrue(found.contains(small));
+
+        found = grid.query(new Rectangle(50, 50, 10, 10));
+        assertEquals(1, found.size());
+        assertSame(big, found.get(0));
+
+        assertTrue(grid.query(new Rectangle(150, 150, 20, 20)).isEmpty());
+        assertTrue(grid.query(new Rectangle(0, 0, 0, 0)).isEmpty());
+    }
+
+    @Test
+    public void movedSpritesAreFoundWhereTheyAre()
+    {
+        JBurstSpatialGrid grid = new JBurstSpatialGrid(32);
+        JBurstSprite sprite = sprite(0, 0, 10, 10);
+        grid.add(sprite);
+
+        sprite.setSpriteLocation(500, 500);
+
+        assertTrue(grid.query(new Rectangle(0, 0, 20, 20)).isEmpty());
+        assertEquals(1, grid.query(new Rectangle(495, 495, 10, 10)).size());
+
+        // A move within the same cells still updates the bounds searched
+        sprite.setSpriteLocation(502, 502);
+        assertTrue(grid.queryPoint(501, 501).isEmpty());
+        assertEquals(1, grid.queryPoint(511, 511).size());
+    }
+
+    @Test
+    public void negativeCoordinatesAreIndexed()
+    {
+        JBurstSpatialGrid grid = new JBurstSpatialGrid(32);
+        JBurstSprite sprite = sprite(-40, -40, 20, 20);
+        grid.add(sprite);
+
+        assertEquals(1, grid.query(new Rectangle(-30, -30, 5, 5)).size());
+        assertEquals(1, grid.queryPoint(-21, -21).size());
+        assertTrue(grid.queryPoint(-20, -20).isEmpty());
+    }
+
+    @Test
+    public void queryPointOnlyFindsContainingSprites()
+    {
+        JBurstSpatialGrid grid = new JBurstSpatialGrid(32);
+        JBurstSprite a = sprite(0, 0, 10, 10);
+        JBurstSprite b = sprite(5, 5, 10, 10);
+        grid.add(a);
+        grid.add(b);
+
+        assertEquals(2, grid.queryPoint(7, 7).size());
+        assertEquals(1, grid.queryPoint(2, 2).size());
+        assertEquals(1, grid.queryPoint(12, 12).size());
+        assertTrue(grid.queryPoint(20, 20).isEmpty());
+    }
+
+    @Test
+    public void spritesBelongToOneGridAtATime()
+    {
+        JBurstSpatialGrid first = new JBurstSpatialGrid();
+        JBurstSpatialGrid second = new JBurstSpatialGrid();
+        JBurstSprite sprite = sprite(0, 0, 10, 10);
+
+        first.add(sprite);
+        first.add(sprite);
+        assertEquals(1, first.size());
+
+        second.add(sprite);
+        assertEquals(0, first.size());
+        assertEquals(1, second.size());
+        assertTrue(first.query(new Rectangle(0, 0, 10, 10)).isEmpty());
+
+        assertFalse(first.remove(sprite));
+        assertTrue(second.remove(sprite));
+        assertEquals(0, second.size());
+        assertTrue(second.query(new Rectangle(0, 0, 10, 10)).isEmpty());
+    }
+
+    @Test
+    public void removedSpritesAreNotReplacedAfterMoving()
+    {
+        JBurstSpatialGrid grid = new JBurstSpatialGrid(32);
+        JBurstSprite sprite = sprite(0, 0, 10, 10);
+        grid.add(sprite);
+
+        sprite.setSpriteLocation(100, 100);
+        grid.remove(sprite);
+
+        assertTrue(grid.query(new Rectangle(0, 0, 200, 200)).isEmpty());
+    }
+
+    @Test
+    public void hugeAreasOnlySearchOccupiedCells()
+    {
+        JBurstSpatialGrid grid = new JBurstSpatialGrid(32);
+        JBurstSprite near = sprite(-100, 40, 10, 10);
+        JBurstSprite far = sprite(100000, -100000, 10, 10);
+        grid.add(near);
+        grid.add(far);
+
+        // Would be billions of cells if every cell in the area were probed
+        Rectangle everywhere = new Rectangle(-1000000000, -1000000000, 2000000000, 2000000000);
+        assertEquals(2, grid.query(everywhere).size());
+        assertEquals(1, grid.query(new Rectangle(-1000000000, 0, 2000000000, 1000)).size());
+    }
+
+    @Test
+    public void cellsStayReachableAfterOthersEmpty()
+    {
+        JBurstSpatialGrid grid = new JBurstSpatialGrid(8);
+        ArrayList<JBurstSprite> sprites = new ArrayList<>();
+        for(int i = 0; i < 200; i++)
+        {
+            JBurstSprite sprite = sprite((i % 20) * 16, (i / 20) * 16, 4, 4);
+            sprites.add(sprite);
+            grid.add(sprite);
+        }
+
+        for(int i = 0; i < sprites.size(); i += 2)
+            grid.remove(sprites.get(i));
+
+        for(int i = 1; i < sprites.size(); i += 2)
+        {
+            Rectangle bounds = sprites.get(i).getSpriteBounds();
+            ArrayList<JBurstSprite> found = grid.query(bounds);
+            assertEquals(1, found.size());
+            assertSame(sprites.get(i), found.get(0));
+        }
+
+        assertEquals(100, grid.query(new Rectangle(0, 0, 400, 400)).size());
+    }
+
+    private static JBurstSprite sprite(int x, int y, int width, int height)
+    {
+        JBurstSprite sprite = new JBurstSprite(x, y);
+        sprite.makeGraphic(width, height, Color.WHITE);
+
+        return sprite;
+    }
+}
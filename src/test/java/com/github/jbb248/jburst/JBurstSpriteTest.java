@@ -0,0 +1,145 @@
+package com.github.jbb248.jburst;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+
+import org.junit.Test;
+
+import com.github.jbb248.jburst.animation.JBurstAnimation;
+import com.github.jbb248.jburst.graphics.JBurstTransformCache;
+
+public class JBurstSpriteTest
+{
+    @Test
+    public void boundsFollowPosition()
+    {
+        JBurstSprite sprite = sprite(10, 20, 30, 40);
+        assertEquals(new Rectangle(10, 20, 30, 40), sprite.getSpriteBounds());
+
+        sprite.setSpriteLocation(-5, 7);
+        assertEquals(new Rectangle(-5, 7, 30, 40), sprite.getSpriteBounds());
+
+        sprite.setSpriteX(1);
+        sprite.setSpriteY(2);
+        assertEquals(new Rectangle(1, 2, 30, 40), sprite.getSpriteBounds());
+    }
+
+    @Test
+    public void boundsGrowFromThePositionWhenScaled()
+    {
+        JBurstSprite sprite = sprite(100, 100, 20, 10);
+        sprite.setScale(2, 3);
+        assertEquals(new Rectangle(100, 100, 40, 30), sprite.getSpriteBounds());
+
+        // Moving keeps the scaled size
+        sprite.setSpriteLocation(0, 0);
+        assertEquals(new Rectangle(0, 0, 40, 30), sprite.getSpriteBounds());
+    }
+
+    @Test
+    public void boundsCoverTheRotatedFrame()
+    {
+        JBurstSprite sprite = sprite(0, 0, 20, 10);
+        sprite.setAngle(Math.PI / 2);
+        assertEquals(new Rectangle(5, -5, 10, 20), sprite.getSpriteBounds());
+
+        sprite.setAngle(0);
+        assertEquals(new Rectangle(0, 0, 20, 10), sprite.getSpriteBounds());
+    }
+
+    @Test
+    public void concurrentReadsNeverLeaveAStaleTransform() throws InterruptedException
+    {
+        JBurstSprite sprite = sprite(0, 0, 20, 20);
+
+        Thread reader = new Thread(() -> {
+            for(int i = 0; i < 200000; i++)
+                sprite.getSpriteBounds();
+        });
+        reader.start();
+
+        for(int i = 1; i <= 20000; i++)
+            sprite.setScale(1 + (i % 7), 1 + (i % 5));
+        sprite.setScale(2, 2);
+
+        reader.join();
+        assertEquals(new Rectangle(0, 0, 40, 40), sprite.getSpriteBounds());
+    }
+
+    @Test
+    public void transformedSpritesDrawFromTheirCache()
+    {
+        JBurstTransformCache cache = new JBurstTransformCache();
+        JBurstSprite sprite = sprite(10, 10, 20, 10);
+        sprite.exists = true;
+        sprite.setTransformCache(cache);
+
+        BufferedImage image = new BufferedImage(40, 40, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+
+        // Plain sprites never need the cache
+        sprite.draw(graphics);
+        assertEquals(0, cache.getStats().misses);
+
+        sprite.setAngle(Math.PI / 2);
+        sprite.draw(graphics);
+        sprite.draw(graphics);
+        graphics.dispose();
+
+        JBurstTransformCache.Stats stats = cache.getStats();
+        assertEquals(1, stats.misses);
+        assertEquals(1, stats.hits);
+
+        // Centered in the rotated bounds
+        Rectangle bounds = sprite.getSpriteBounds();
+        assertEquals(Color.WHITE.getRGB(), image.getRGB(bounds.x + bounds.width / 2, bounds.y + bounds.height / 2));
+        assertEquals(Color.WHITE.getRGB(), image.getRGB(bounds.x + 1, bounds.y + 1));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void deprecatedAnimationFieldsOnlyAffectOneSprite()
+    {
+        JBurstSprite first = sprite(0, 0, 40, 10);
+        first.loadAnimatedGraphic(first.getGraphic(), 10, 10);
+        JBurstSprite second = new JBurstSprite().loadAnimatedGraphic(first.getGraphic(), 10, 10);
+
+        first.animation.add("walk", new int[] { 0, 1, 2 }, 24, true, true, false);
+        second.animation.setAnimationSet(first.animation.getAnimationSet());
+
+        JBurstAnimation a = first.animation.getAnimation("walk");
+        JBurstAnimation b = second.animation.getAnimation("walk");
+        assertSame(a.getData(), b.getData());
+        assertEquals("walk", a.name);
+        assertArrayEquals(new int[] { 0, 1, 2 }, a.frames);
+        assertTrue(a.looped && a.flipX && !a.flipY);
+
+        a.looped = false;
+        a.frames = new int[] { 3 };
+        assertFalse(a.isLooped());
+        assertArrayEquals(new int[] { 3 }, a.getFrames());
+        assertTrue(b.isLooped());
+        assertArrayEquals(new int[] { 0, 1, 2 }, b.getFrames());
+
+        JBurstAnimation unshared = new JBurstAnimation(first.animation, "run", new int[] { 1, 0 }, 12, false, false, true);
+        assertEquals("run", unshared.getData().name);
+        assertEquals(12, unshared.getFrameRate());
+        assertTrue(unshared.isFlipY());
+    }
+
+    private static JBurstSprite sprite(int x, int y, int width, int height)
+    {
+        JBurstSprite sprite = new JBurstSprite(x, y);
+        sprite.makeGraphic(width, height, Color.WHITE);
+
+        return sprite;
+    }
+}
@@ -0,0 +1,130 @@
+package com.github.jbb248.jburst;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+
+import org.junit.Test;
+
+@SuppressWarnings("deprecation")
+public class JBurstTest
+{
+    @Test
+    public void defaultWorldIsCreatedOnce() throws InterruptedException
+    {
+        CountDownLatch ready = new CountDownLatch(1);
+        JBurstWorld[] worlds = new JBurstWorld[8];
+        Thread[] threads = new Thread[worlds.length];
+
+        for(int i = 0; i < threads.length; i++)
+        {
+            final int index = i;
+            threads[i] = new Thread(() -> {
+                try
+                {
+                    ready.await();
+                }
+                catch(InterruptedException e)
+                {
+                    return;
+                }
+
+                worlds[index] = JBurst.getWorld();
+            });
+            threads[i].start();
+        }
+
+        ready.countDown();
+        for(Thread thread : threads)
+            thread.join();
+
+        for(JBurstWorld world : worlds)
+            assertSame(JBurst.getWorld(), world);
+
+        assertTrue(JBurst.getWorld().isRunning());
+    }
+
+    @Test
+    public void settingsPassThroughToTheDefaultWorld()
+    {
+        JBurstWorld world = JBurst.getWorld();
+        int frameRate = JBurst.getFrameRate();
+        JBurstScheduler.Mode mode = JBurst.getSchedulerMode();
+        int chunkSize = JBurst.getParallelChunkSize();
+
+        try
+        {
+            JBurst.setFrameRate(30);
+            assertEquals(30, world.getFrameRate());
+
+            JBurst.setSchedulerMode(JBurstScheduler.Mode.PARK);
+            assertSame(JBurstScheduler.Mode.PARK, world.getSchedulerMode());
+
+            JBurst.setParallelChunkSize(32);
+            assertEquals(32, world.getParallelChunkSize());
+
+            world.setParallelUpdate(true);
+            assertTrue(JBurst.isParallelUpdate());
+        }
+        finally
+        {
+            JBurst.setFrameRate(frameRate);
+            JBurst.setSchedulerMode(mode);
+            JBurst.setParallelChunkSize(chunkSize);
+            JBurst.setParallelUpdate(false);
+        }
+    }
+
+    @Test
+    public void activeFieldFollowsTheDefaultWorld()
+    {
+        JBurstWorld world = JBurst.getWorld();
+        assertTrue(JBurst.active);
+
+        try
+        {
+            JBurst.kill();
+            assertFalse(JBurst.active);
+            assertFalse(world.isActive());
+
+            JBurst.active = true;
+            assertTrue(JBurst.isActive());
+            assertTrue(world.isActive());
+        }
+        finally
+        {
+            JBurst.revive();
+        }
+    }
+
+    @Test
+    public void membersStartAndStopInTheDefaultWorld() throws InterruptedException
+    {
+        JBurstBasic basic = new JBurstBasic();
+
+        assertTrue(JBurst.members.add(basic));
+        assertSame(JBurst.getWorld(), basic.getWorld());
+        assertTrue(waitFor(() -> JBurst.members.contains(basic)));
+
+        assertTrue(JBurst.members.remove(basic));
+        assertTrue(waitFor(() -> !JBurst.members.contains(basic)));
+        assertFalse(JBurst.members.remove(basic));
+    }
+
+    private static boolean waitFor(BooleanSupplier condition) throws InterruptedException
+    {
+        for(int i = 0; i < 200; i++)
+        {
+            if(condition.getAsBoolean())
+                return true;
+
+            Thread.sleep(10);
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,214 @@
+package com.github.jbb248.jburst;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class JBurstWorldTest
+{
+    @Test
+    public void sharedWorldsNeedAHost()
+    {
+        try
+        {
+            new JBurstWorld(null, 60);
+            fail("Expected a NullPointerException");
+        }
+        catch(NullPointerException e)
+        {
+            assertEquals("host", e.getMessage());
+        }
+    }
+
+    @Test
+    public void resetDestroysMembersOnTheWorldThread() throws InterruptedException
+    {
+        JBurstWorld world = new JBurstWorld(1000);
+        CountDownLatch destroyed = new CountDownLatch(1);
+        Thread[] destroyer = new Thread[1];
+
+        JBurstBasic basic = new JBurstBasic()
+        {
+            @Override
+            public void destroy()
+            {
+                destroyer[0] = Thread.currentThread();
+                super.destroy();
+                destroyed.countDown();
+            }
+        };
+        basic.start(world);
+
+        world.start();
+        try
+        {
+            waitForSize(world, 1);
+
+            world.reset();
+            assertTrue(destroyed.await(5, TimeUnit.SECONDS));
+            assertNotSame(Thread.currentThread(), destroyer[0]);
+            assertFalse(basic.exists);
+            waitForSize(world, 0);
+        }
+        finally
+        {
+            world.stop();
+        }
+    }
+
+    @Test
+    public void resetDestroysMembersImmediatelyWhenStopped()
+    {
+        JBurstWorld world = new JBurstWorld(60);
+        JBurstBasic basic = new JBurstBasic();
+        basic.start(world);
+        world.members.applyChanges();
+
+        world.reset();
+        assertFalse(basic.exists);
+    }
+
+    @Test
+    public void parallelUpdatesFinishBeforeAnyPaint() throws InterruptedException
+    {
+        final int count = 1000;
+
+        JBurstWorld world = new JBurstWorld(1000);
+        world.setParallelUpdate(true);
+        world.setParallelChunkSize(16);
+        assertTrue(world.isParallelUpdate());
+
+        AtomicInteger updates = new AtomicInteger();
+        AtomicInteger badPaints = new AtomicInteger();
+        AtomicInteger wrongThreads = new AtomicInteger();
+        AtomicInteger inactiveUpdates = new AtomicInteger();
+        int[] counts = new int[count];
+
+        for(int i = 0; i < count; i++)
+        {
+            final int index = i;
+            JBurstBasic basic = new JBurstBasic()
+            {
+                @Override
+                public void update(double elapsed)
+                {
+                    if(!Thread.currentThread().getName().startsWith("Burst-Update-"))
+                        wrongThreads.incrementAndGet();
+
+                    counts[index]++;
+                    updates.incrementAndGet();
+                }
+
+                @Override
+                protected void requestPaint()
+                {
+                    // Every member has updated exactly once this tick before the first is painted
+                    int ticks = updates.get() / count;
+                    if(updates.get() % count != 0 || counts[index] != ticks)
+                        badPaints.incrementAndGet();
+                }
+            };
+            basic.start(world);
+        }
+
+        JBurstBasic inactive = new JBurstBasic()
+        {
+            @Override
+            public void update(double elapsed)
+            {
+                inactiveUpdates.incrementAndGet();
+            }
+
+            @Override
+            protected void requestPaint() { }
+        };
+        inactive.active = false;
+        inactive.start(world);
+
+        world.start();
+        try
+        {
+            for(int i = 0; i < 500 && updates.get() < count * 5; i++)
+                Thread.sleep(10);
+        }
+        finally
+        {
+            world.stop();
+        }
+
+        assertTrue(updates.get() >= count * 5);
+        assertEquals(0, badPaints.get());
+        assertEquals(0, wrongThreads.get());
+        assertEquals(0, inactiveUpdates.get());
+    }
+
+    @Test
+    public void sequentialUpdatesFinishBeforeAnyPaint() throws InterruptedException
+    {
+        final int count = 10;
+
+        JBurstWorld world = new JBurstWorld(1000);
+        AtomicInteger updates = new AtomicInteger();
+        AtomicInteger badPaints = new AtomicInteger();
+
+        for(int i = 0; i < count; i++)
+        {
+            JBurstBasic basic = new JBurstBasic()
+            {
+                @Override
+                public void update(double elapsed)
+                {
+                    updates.incrementAndGet();
+                }
+
+                @Override
+                protected void requestPaint()
+                {
+                    if(updates.get() % count != 0)
+                        badPaints.incrementAndGet();
+                }
+            };
+            basic.start(world);
+        }
+
+        world.start();
+        try
+        {
+            for(int i = 0; i < 500 && updates.get() < count * 5; i++)
+                Thread.sleep(10);
+        }
+        finally
+        {
+            world.stop();
+        }
+
+        assertTrue(updates.get() >= count * 5);
+        assertEquals(0, badPaints.get());
+    }
+
+    @Test
+    public void chunkSizeMustBePositive()
+    {
+        JBurstWorld world = new JBurstWorld(60);
+        world.setParallelChunkSize(64);
+        world.setParallelChunkSize(0);
+
+        assertEquals(64, world.getParallelChunkSize());
+    }
+
+    private static void waitForSize(JBurstWorld world, int size) throws InterruptedException
+    {
+        for(int i = 0; i < 500 && world.size() != size; i++)
+            Thread.sleep(10);
+
+        assertEquals(size, world.size());
+    }
+}
@@ -0,0 +1,87 @@
+package com.github.jbb248.jburst.animation;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+
+import org.junit.Test;
+
+import com.github.jbb248.jburst.graphics.frames.JBurstFramesCollection;
+
+public class JBurstAnimationSetTest
+{
+    @Test
+    public void sameAdditionsShareASet()
+    {
+        JBurstFramesCollection frames = frames("idle0000", "idle0001");
+        JBurstAnimationSet empty = JBurstAnimationSet.empty(frames);
+
+        JBurstAnimationSet first = empty.with(animation("idle", 24));
+        assertSame(first, empty.with(animation("idle", 24)));
+        assertSame(first, first.with(animation("idle", 24)));
+        assertNotSame(first, empty.with(animation("idle", 30)));
+    }
+
+    @Test
+    public void derivedSetsAreBounded()
+    {
+        JBurstAnimationSet empty = JBurstAnimationSet.empty(frames("idle0000"));
+        JBurstAnimationSet first = empty.with(animation("idle", 1));
+
+        for(int frameRate = 2; frameRate < 100; frameRate++)
+            empty.with(animation("idle", frameRate));
+
+        // Long forgotten, so an equal set is made again
+        JBurstAnimationSet again = empty.with(animation("idle", 1));
+        assertNotSame(first, again);
+        assertEquals(first.get("idle"), again.get("idle"));
+    }
+
+    @Test
+    public void withPrefixFindsFramesAddedSince()
+    {
+        JBurstFramesCollection frames = frames("walk0000", "idle0000");
+        JBurstAnimationSet empty = JBurstAnimationSet.empty(frames);
+
+        JBurstAnimationSet set = empty.withPrefix("walk", "walk", 24, true, false, false);
+        assertSame(set, empty.withPrefix("walk", "walk", 24, true, false, false));
+        assertArrayEquals(new int[] { 0 }, set.get("walk").getFrames());
+
+        frames.addAtlasFrame(new Rectangle(0, 0, 8, 8), new Point(8, 8), new Point(), "walk0001");
+        set = empty.withPrefix("walk", "walk", 24, true, false, false);
+        assertArrayEquals(new int[] { 0, 2 }, set.get("walk").getFrames());
+    }
+
+    @Test
+    public void withPrefixFollowsRenamedFrames()
+    {
+        JBurstFramesCollection frames = frames("walk0000", "idle0000");
+        JBurstAnimationSet empty = JBurstAnimationSet.empty(frames);
+
+        assertSame(empty, empty.withPrefix("run", "run", 24, true, false, false));
+
+        frames.frames.get(1).name = "run0000";
+        frames.invalidateNameIndex();
+
+        JBurstAnimationSet set = empty.withPrefix("run", "run", 24, true, false, false);
+        assertArrayEquals(new int[] { 1 }, set.get("run").getFrames());
+    }
+
+    private static JBurstAnimationData animation(String name, int frameRate)
+    {
+        return new JBurstAnimationData(name, new int[] { 0 }, frameRate, true, false, false);
+    }
+
+    private static JBurstFramesCollection frames(String... names)
+    {
+        JBurstFramesCollection frames = new JBurstFramesCollection(null);
+        for(String name : names)
+            frames.addAtlasFrame(new Rectangle(0, 0, 8, 8), new Point(8, 8), new Point(), name);
+
+        return frames;
+    }
+}
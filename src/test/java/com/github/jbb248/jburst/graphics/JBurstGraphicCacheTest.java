@@ -0,0 +1,137 @@
+package com.github.jbb248.jburst.graphics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.image.BufferedImage;
+
+import org.junit.Test;
+
+public class JBurstGraphicCacheTest
+{
+    /**
+     * The size of every graphic made by {@code graphic()}, 10 by 10 pixels at 4 bytes each
+     */
+    private static final long SIZE = 400;
+
+    @Test
+    public void addKeepsTheFirstGraphicPerKey()
+    {
+        JBurstGraphicCache cache = new JBurstGraphicCache();
+        JBurstGraphic first = graphic("a");
+
+        assertSame(first, cache.add(first));
+        assertSame(first, cache.add(graphic("a")));
+        assertEquals(SIZE, cache.getStats().size);
+    }
+
+    @Test
+    public void unusedGraphicsAreEvictedLeastRecentlyUsedFirst()
+    {
+        JBurstGraphicCache cache = new JBurstGraphicCache();
+        cache.setBudget(SIZE * 2);
+
+        cache.add(graphic("a"));
+        cache.add(graphic("b"));
+        assertNotNull(cache.get("a")); // "b" is now the least recently used
+        cache.add(graphic("c"));
+
+        assertTrue(cache.contains("a"));
+        assertFalse(cache.contains("b"));
+        assertTrue(cache.contains("c"));
+
+        JBurstGraphicCache.Stats stats = cache.getStats();
+        assertEquals(2, stats.count);
+        assertEquals(SIZE * 2, stats.size);
+        assertEquals(1, stats.evictions);
+    }
+
+    @Test
+    public void graphicsInUseAreNeverEvicted()
+    {
+        JBurstGraphicCache cache = new JBurstGraphicCache();
+        cache.setBudget(SIZE);
+
+        JBurstGraphic used = graphic("used");
+        used.incrementUseCount();
+        cache.add(used);
+        cache.add(graphic("other"));
+
+        // Only the newest graphic may be evicted for it, and it's kept while it's being added
+        assertTrue(cache.contains("used"));
+        assertTrue(cache.contains("other"));
+        assertEquals(SIZE * 2, cache.getStats().size);
+
+        cache.add(graphic("third"));
+        assertTrue(cache.contains("used"));
+        assertFalse(cache.contains("other"));
+
+        used.decrementUseCount();
+        cache.released(used);
+        assertFalse(cache.contains("used"));
+        assertTrue(cache.contains("third"));
+        assertEquals(SIZE, cache.getStats().size);
+    }
+
+    @Test
+    public void releasesOnlyTrimWhenOverBudget()
+    {
+        JBurstGraphicCache cache = new JBurstGraphicCache();
+        cache.setBudget(SIZE * 2);
+
+        JBurstGraphic used = graphic("used");
+        used.incrementUseCount();
+        cache.add(used);
+        cache.add(graphic("other"));
+
+        // Within budget, so releasing keeps everything
+        used.decrementUseCount();
+        cache.released(used);
+        assertEquals(2, cache.getStats().count);
+
+        used.incrementUseCount();
+        cache.setBudget(SIZE);
+        cache.add(graphic("third")); // Kept while it's added, leaving the cache over budget
+        assertEquals(2, cache.getStats().count);
+
+        // A graphic that isn't cached doesn't trim anything
+        cache.released(graphic("outsider"));
+        assertEquals(2, cache.getStats().count);
+
+        used.decrementUseCount();
+        cache.released(used);
+        assertFalse(cache.contains("used"));
+        assertTrue(cache.contains("third"));
+    }
+
+    @Test
+    public void loweringTheBudgetTrimsImmediately()
+    {
+        JBurstGraphicCache cache = new JBurstGraphicCache();
+        cache.add(graphic("a"));
+        cache.add(graphic("b"));
+
+        cache.setBudget(0);
+        assertEquals(0, cache.getStats().count);
+        assertEquals(0, cache.getStats().size);
+    }
+
+    @Test
+    public void removeOnlyRemovesTheCachedGraphic()
+    {
+        JBurstGraphicCache cache = new JBurstGraphicCache();
+        JBurstGraphic cached = cache.add(graphic("a"));
+
+        assertFalse(cache.remove(graphic("a")));
+        assertTrue(cache.remove(cached));
+        assertEquals(0, cache.getStats().size);
+    }
+
+    private static JBurstGraphic graphic(String key)
+    {
+        return new JBurstGraphic(key, new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB));
+    }
+}
@@ -0,0 +1,164 @@
+package com.github.jbb248.jburst.graphics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.Image;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.io.File;
+
+import javax.imageio.ImageIO;
+
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class JBurstGraphicTest
+{
+    private static final int RED = Color.RED.getRGB(), BLUE = Color.BLUE.getRGB(), GREEN = Color.GREEN.getRGB();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void compatibleImagesKeepTheirPixels()
+    {
+        BufferedImage opaque = new BufferedImage(2, 1, BufferedImage.TYPE_3BYTE_BGR);
+        opaque.setRGB(0, 0, RED);
+        opaque.setRGB(1, 0, BLUE);
+
+        BufferedImage converted = JBurstGraphic.toCompatibleImage(opaque);
+        assertEquals(Transparency.OPAQUE, converted.getTransparency());
+        assertEquals(RED, converted.getRGB(0, 0));
+        assertEquals(BLUE, converted.getRGB(1, 0));
+
+        BufferedImage translucent = new BufferedImage(2, 1, BufferedImage.TYPE_4BYTE_ABGR);
+        translucent.setRGB(0, 0, GREEN);
+
+        converted = JBurstGraphic.toCompatibleImage(translucent);
+        assertEquals(Transparency.TRANSLUCENT, converted.getTransparency());
+        assertEquals(GREEN, converted.getRGB(0, 0));
+        assertEquals(0, converted.getRGB(1, 0) >>> 24);
+    }
+
+    @Test
+    public void compatibleImagesAreNotCopiedAgain()
+    {
+        BufferedImage image = JBurstGraphic.createCompatibleImage(4, 4);
+        assertSame(image, JBurstGraphic.toCompatibleImage(image));
+        assertNull(JBurstGraphic.toCompatibleImage(null));
+    }
+
+    @Test
+    public void imagesInTheHeadlessFormatsAreNotCopied()
+    {
+        // Without a screen, compatible images are TYPE_INT_RGB or TYPE_INT_ARGB_PRE
+        Assume.assumeTrue(GraphicsEnvironment.isHeadless());
+
+        BufferedImage opaque = new BufferedImage(4, 4, BufferedImage.TYPE_INT_RGB);
+        assertSame(opaque, JBurstGraphic.toCompatibleImage(opaque));
+
+        BufferedImage translucent = new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB_PRE);
+        assertSame(translucent, JBurstGraphic.toCompatibleImage(translucent));
+
+        BufferedImage straight = new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB);
+        assertEquals(BufferedImage.TYPE_INT_ARGB_PRE, JBurstGraphic.toCompatibleImage(straight).getType());
+    }
+
+    @Test
+    public void filesAreConvertedOnLoad() throws Exception
+    {
+        String converted = write("converted.png");
+        String original = write("original.png");
+
+        try
+        {
+            BufferedImage compatible = JBurstGraphic.createCompatibleImage(1, 1);
+            assertEquals(compatible.getType(), JBurstGraphic.fromFile(converted).image.getType());
+
+            JBurstGraphic.setConvertOnLoad(false);
+            assertEquals(ImageIO.read(new File(original)).getType(), JBurstGraphic.fromFile(original).image.getType());
+        }
+        finally
+        {
+            JBurstGraphic.setConvertOnLoad(true);
+        }
+    }
+
+    @Test
+    public void imagesAreDrawnDirectlyWithoutVolatileCopies()
+    {
+        JBurstGraphic graphic = new JBurstGraphic(null, JBurstGraphic.createCompatibleImage(4, 4));
+        assertSame(graphic.image, graphic.getDrawableImage());
+
+        // Without a screen there is nothing to copy to
+        Assume.assumeTrue(GraphicsEnvironment.isHeadless());
+        JBurstGraphic.setUseVolatileImages(true);
+        try
+        {
+            assertSame(graphic.image, graphic.getDrawableImage());
+        }
+        finally
+        {
+            JBurstGraphic.setUseVolatileImages(false);
+        }
+    }
+
+    @Test
+    public void volatileCopiesFollowChangesToTheImage()
+    {
+        Assume.assumeTrue(!GraphicsEnvironment.isHeadless());
+
+        BufferedImage image = JBurstGraphic.createCompatibleImage(4, 4);
+        image.setRGB(0, 0, RED);
+        JBurstGraphic graphic = new JBurstGraphic(null, image);
+
+        JBurstGraphic.setUseVolatileImages(true);
+        try
+        {
+            Image drawable = graphic.getDrawableImage();
+            assertTrue(drawable instanceof VolatileImage);
+            assertEquals(RED, ((VolatileImage) drawable).getSnapshot().getRGB(0, 0));
+
+            Graphics2D graphics = graphic.createGraphics();
+            graphics.setColor(Color.BLUE);
+            graphics.fillRect(0, 0, 1, 1);
+            graphics.dispose();
+            assertEquals(BLUE, snapshot(graphic).getRGB(0, 0));
+
+            // Drawn on directly, so the copy only catches up once invalidated
+            image.setRGB(0, 0, GREEN);
+            graphic.invalidateVolatileImage();
+            assertEquals(GREEN, snapshot(graphic).getRGB(0, 0));
+        }
+        finally
+        {
+            JBurstGraphic.setUseVolatileImages(false);
+        }
+    }
+
+    private String write(String name) throws Exception
+    {
+        BufferedImage image = new BufferedImage(4, 4, BufferedImage.TYPE_4BYTE_ABGR);
+        image.setRGB(1, 1, RED);
+
+        File file = folder.newFile(name);
+        ImageIO.write(image, "png", file);
+
+        return file.getAbsolutePath();
+    }
+
+    private static BufferedImage snapshot(JBurstGraphic graphic)
+    {
+        Image drawable = graphic.getDrawableImage();
+        return drawable instanceof VolatileImage ? ((VolatileImage) drawable).getSnapshot() : (BufferedImage) drawable;
+    }
+}
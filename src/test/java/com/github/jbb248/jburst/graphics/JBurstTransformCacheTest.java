@@ -0,0 +1,165 @@
+package com.github.jbb248.jburst.graphics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+
+import org.junit.Test;
+
+import com.github.jbb248.jburst.graphics.frames.JBurstFrame;
+import com.github.jbb248.jburst.graphics.frames.JBurstFramesCollection;
+
+public class JBurstTransformCacheTest
+{
+    @Test
+    public void imagesFitTheRotatedScaledFrame()
+    {
+        JBurstTransformCache cache = new JBurstTransformCache();
+        JBurstFrame frame = frame(20, 10);
+
+        BufferedImage image = cache.get(frame, Math.PI / 2, 1, 1, false, false);
+        assertEquals(10, image.getWidth());
+        assertEquals(20, image.getHeight());
+
+        image = cache.get(frame, 0, 2, 3, false, false);
+        assertEquals(40, image.getWidth());
+        assertEquals(30, image.getHeight());
+    }
+
+    @Test
+    public void nearbyTransformsShareAnImage()
+    {
+        JBurstTransformCache cache = new JBurstTransformCache();
+        JBurstFrame frame = frame(20, 10);
+
+        BufferedImage image = cache.get(frame, Math.toRadians(45), 1.5, 1.5, false, false);
+        assertSame(image, cache.get(frame, Math.toRadians(45.2), 1.51, 1.49, false, false));
+        assertSame(image, cache.get(frame, Math.toRadians(45 - 360), 1.5, 1.5, false, false));
+        assertNotSame(image, cache.get(frame, Math.toRadians(46), 1.5, 1.5, false, false));
+        assertNotSame(image, cache.get(frame, Math.toRadians(45), 1.5, 1.5, true, false));
+
+        JBurstTransformCache.Stats stats = cache.getStats();
+        assertEquals(3, stats.count);
+        assertEquals(2, stats.hits);
+        assertEquals(3, stats.misses);
+    }
+
+    @Test
+    public void keysCopyTheFrameRegion()
+    {
+        JBurstTransformCache cache = new JBurstTransformCache();
+        JBurstFrame frame = frame(20, 10);
+
+        BufferedImage image = cache.get(frame, 1, 1, 1, false, false);
+
+        // Sprites reuse their frame objects, moving them to the next region of the graphic
+        frame.frame.setLocation(20, 0);
+        assertNotSame(image, cache.get(frame, 1, 1, 1, false, false));
+
+        frame.frame.setLocation(0, 0);
+        assertSame(image, cache.get(frame, 1, 1, 1, false, false));
+    }
+
+    @Test
+    public void leastRecentlyUsedImagesAreEvicted()
+    {
+        JBurstTransformCache cache = new JBurstTransformCache();
+        JBurstFrame frame = frame(20, 10);
+
+        BufferedImage first = cache.get(frame, 0, 2, 2, false, false);
+        long size = cache.getStats().size;
+        cache.setBudget(size * 2);
+
+        BufferedImage second = cache.get(frame, 0, 2, 2, true, false);
+        assertSame(first, cache.get(frame, 0, 2, 2, false, false)); // The second is now the least recently used
+        cache.get(frame, 0, 2, 2, false, true);
+
+        assertSame(first, cache.get(frame, 0, 2, 2, false, false));
+        assertNotSame(second, cache.get(frame, 0, 2, 2, true, false));
+        assertEquals(2, cache.getStats().evictions);
+
+        cache.setBudget(0);
+        assertEquals(0, cache.getStats().count);
+        assertEquals(0, cache.getStats().size);
+    }
+
+    @Test
+    public void changingStepsClearsTheCache()
+    {
+        JBurstTransformCache cache = new JBurstTransformCache();
+        JBurstFrame frame = frame(20, 10);
+
+        BufferedImage image = cache.get(frame, Math.toRadians(10), 1, 1, false, false);
+
+        cache.setAngleSteps(360);
+        assertSame(image, cache.get(frame, Math.toRadians(10), 1, 1, false, false));
+
+        cache.setAngleSteps(4);
+        assertEquals(0, cache.getStats().count);
+
+        // Rounded down to no rotation at all
+        image = cache.get(frame, Math.toRadians(10), 1, 1, false, false);
+        assertEquals(20, image.getWidth());
+        assertEquals(10, image.getHeight());
+
+        cache.setScaleStep(0.5);
+        assertEquals(0, cache.getStats().count);
+        assertEquals(0.5, cache.getScaleStep(), 0);
+
+        cache.setScaleStep(-1);
+        cache.setAngleSteps(0);
+        assertEquals(0.5, cache.getScaleStep(), 0);
+        assertEquals(4, cache.getAngleSteps());
+    }
+
+    @Test
+    public void emptyFramesAreNotRendered()
+    {
+        JBurstTransformCache cache = new JBurstTransformCache();
+        JBurstFrame empty = new JBurstFramesCollection(null).addAtlasFrame(new Rectangle(0, 0, 4, 4), new Point(4, 4), new Point(), "empty");
+
+        assertNull(cache.get(null, 1, 1, 1, false, false));
+        assertNull(cache.get(empty, 1, 1, 1, false, false));
+        assertEquals(0, cache.getStats().misses);
+    }
+
+    /**
+     * Returns a frame covering the left half of a graphic twice its width
+     */
+    @Test
+    public void imagesOfCollectedGraphicsAreRemoved() throws InterruptedException
+    {
+        JBurstTransformCache cache = new JBurstTransformCache();
+        JBurstFrame kept = frame(20, 10);
+        cache.get(kept, 1, 1, 1, false, false);
+        long size = cache.getStats().size;
+
+        cache.get(frame(20, 10), 1, 1, 1, false, false);
+        assertEquals(2, cache.getStats().count);
+
+        // Nothing else holds the second graphic, so the cache mustn't either
+        for(int i = 0; i < 50 && cache.getStats().count > 1; i++)
+        {
+            System.gc();
+            Thread.sleep(20);
+        }
+
+        JBurstTransformCache.Stats stats = cache.getStats();
+        assertEquals(1, stats.count);
+        assertEquals(size, stats.size);
+        assertNotNull(kept.graphic);
+    }
+
+    private static JBurstFrame frame(int width, int height)
+    {
+        JBurstGraphic graphic = new JBurstGraphic(null, new BufferedImage(width * 2, height, BufferedImage.TYPE_INT_ARGB));
+        JBurstFramesCollection frames = new JBurstFramesCollection(graphic);
+        return frames.addAtlasFrame(new Rectangle(0, 0, width, height), new Point(width, height), new Point(), "frame");
+    }
+}
@@ -0,0 +1,146 @@
+package com.github.jbb248.jburst.graphics.frames;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.jbb248.jburst.graphics.JBurstGraphic;
+
+public class JBurstAtlasCacheTest 
+{
+    private static final String SPARROW = 
+        "<TextureAtlas imagePath=\"sheet.png\">\n" +
+        "  <SubTexture name=\"idle0000\" x=\"0\" y=\"0\" width=\"32\" height=\"32\"/>\n" +
+        "  <SubTexture name=\"idle0001\" x=\"32\" y=\"0\" width=\"32\" height=\"32\"/>\n" +
+        "</TextureAtlas>\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File _description;
+
+    @Before
+    public void setUp() throws IOException
+    {
+        JBurstAtlasFrames.setCacheDirectory(folder.newFolder("cache").getPath());
+
+        _description = folder.newFile("sheet.xml");
+        Files.write(_description.toPath(), SPARROW.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @After
+    public void tearDown()
+    {
+        JBurstAtlasFrames.setCacheDirectory(null);
+    }
+
+    private static JBurstGraphic sheet(int width, int height)
+    {
+        return new JBurstGraphic("sheet-" + width + "x" + height, new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB));
+    }
+
+    @Test
+    public void cachedFramesAreNotFittedToTheFirstSpritesheet()
+    {
+        JBurstAtlasFrames small = JBurstAtlasFrames.fromSparrow(sheet(48, 16), _description.getPath());
+        assertEquals(16, small.frames.get(1).frame.width);
+        assertEquals(16, small.frames.get(1).frame.height);
+
+        // Read back from the cache, fitted to the larger re-export
+        JBurstAtlasFrames large = JBurstAtlasFrames.fromSparrow(sheet(64, 64), _description.getPath());
+        assertEquals(32, large.frames.get(1).frame.width);
+        assertEquals(32, large.frames.get(1).frame.height);
+    }
+
+    @Test
+    public void placeholderGraphicsAreNeverCached()
+    {
+        JBurstGraphic missing = JBurstGraphic.fromFile(new File(folder.getRoot(), "missing.png").getPath());
+        assertTrue(missing.isPlaceholder());
+
+        JBurstAtlasFrames frames = JBurstAtlasFrames.fromSparrow(missing, _description.getPath());
+        assertEquals(2, frames.frames.size());
+        assertNull(JBurstAtlasCache.read(_description, new JBurstFramesCollection(null)));
+    }
+
+    @Test
+    public void touchedDescriptionsStillHit() throws IOException
+    {
+        JBurstAtlasFrames.fromSparrow(sheet(16, 16), _description.getPath());
+
+        assertTrue(_description.setLastModified(_description.lastModified() - 60_000));
+        JBurstFramesCollection touched = JBurstAtlasCache.read(_description, new JBurstFramesCollection(null));
+        assertNotNull(touched);
+        assertEquals(32, touched.frames.get(0).frame.width);
+
+        // Renewing the header kept the frames as described, rather than as fitted on the first read
+        JBurstFramesCollection again = JBurstAtlasCache.read(_description, new JBurstFramesCollection(null));
+        assertNotNull(again);
+        assertEquals(32, again.frames.get(1).frame.width);
+        assertEquals("idle0001", again.frames.get(1).name);
+    }
+
+    @Test
+    public void changedDescriptionsAreStale() throws IOException
+    {
+        JBurstAtlasFrames.fromSparrow(sheet(64, 64), _description.getPath());
+        assertNotNull(JBurstAtlasCache.read(_description, new JBurstFramesCollection(null)));
+
+        Files.write(_description.toPath(), SPARROW.replace("width=\"32\"", "width=\"30\"").getBytes(StandardCharsets.UTF_8));
+        assertNull(JBurstAtlasCache.read(_description, new JBurstFramesCollection(null)));
+
+        JBurstAtlasFrames frames = JBurstAtlasFrames.fromSparrow(sheet(64, 64), _description.getPath());
+        assertEquals(30, frames.frames.get(0).frame.width);
+    }
+
+    @Test
+    public void framesAreParsedForTheGraphicWithoutACache()
+    {
+        File cache = JBurstAtlasCache.getDirectory();
+        JBurstAtlasFrames.setCacheDirectory(null);
+
+        JBurstGraphic graphic = sheet(48, 16);
+        JBurstAtlasFrames frames = JBurstAtlasFrames.fromSparrow(graphic, _description.getPath());
+        assertEquals(16, frames.frames.get(1).frame.width);
+        assertSame(graphic, frames.frames.get(1).graphic);
+        assertEquals(0, cache.list().length);
+    }
+
+    @Test
+    public void corruptPathLengthsAreMisses() throws IOException
+    {
+        JBurstAtlasFrames.fromSparrow(sheet(64, 64), _description.getPath());
+        File[] files = JBurstAtlasCache.getDirectory().listFiles();
+        assertEquals(1, files.length);
+
+        // The path length follows the magic number and version
+        byte[] bytes = Files.readAllBytes(files[0].toPath());
+        ByteBuffer.wrap(bytes).putInt(8, Integer.MAX_VALUE - 8);
+        Files.write(files[0].toPath(), bytes);
+        assertNull(JBurstAtlasCache.read(_description, new JBurstFramesCollection(null)));
+
+        ByteBuffer.wrap(bytes).putInt(8, -1);
+        Files.write(files[0].toPath(), bytes);
+        assertNull(JBurstAtlasCache.read(_description, new JBurstFramesCollection(null)));
+
+        // Parsed again, replacing the damaged file
+        JBurstAtlasFrames frames = JBurstAtlasFrames.fromSparrow(sheet(64, 64), _description.getPath());
+        assertEquals(32, frames.frames.get(0).frame.width);
+        assertNotNull(JBurstAtlasCache.read(_description, new JBurstFramesCollection(null)));
+    }
+}
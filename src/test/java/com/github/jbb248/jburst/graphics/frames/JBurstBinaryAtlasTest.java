@@ -0,0 +1,116 @@
+package com.github.jbb248.jburst.graphics.frames;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+public class JBurstBinaryAtlasTest
+{
+    @Test
+    public void writeThenReadRoundTrips() throws IOException
+    {
+        JBurstFramesCollection written = new JBurstFramesCollection(null);
+        written.addAtlasFrame(new Rectangle(0, 0, 32, 32), new Point(40, 36), new Point(4, 2), "idle0000");
+        written.addAtlasFrame(new Rectangle(32, 0, 32, 32), new Point(32, 32), new Point(0, 0), "idle0001");
+        written.addAtlasFrame(new Rectangle(64, 16, 8, 8), new Point(8, 8), new Point(0, 0), "été");
+        written.addSpriteSheetFrame(new Rectangle(0, 32, 16, 16));
+
+        ByteBuffer buffer = toBuffer(written);
+        JBurstFramesCollection read = JBurstBinaryAtlas.read(buffer, new JBurstFramesCollection(null));
+
+        assertEquals(0, buffer.remaining());
+        assertEquals(written.frames.size(), read.frames.size());
+        for(int i = 0; i < written.frames.size(); i++)
+        {
+            JBurstFrame expected = written.frames.get(i);
+            JBurstFrame actual = read.frames.get(i);
+
+            assertEquals(expected.name, actual.name);
+            assertEquals(expected.frame, actual.frame);
+            assertEquals(expected.offset, actual.offset);
+            assertEquals(expected.sourceSize, actual.sourceSize);
+        }
+
+        assertNull(read.frames.get(3).name);
+    }
+
+    @Test
+    public void readStopsAtTheEndOfTheAtlas() throws IOException
+    {
+        JBurstFramesCollection written = new JBurstFramesCollection(null);
+        written.addSpriteSheetFrame(new Rectangle(0, 0, 16, 16));
+
+        ByteBuffer atlas = toBuffer(written);
+        ByteBuffer buffer = ByteBuffer.allocate(atlas.remaining() + 4);
+        buffer.put(atlas).putInt(1234).flip();
+
+        JBurstBinaryAtlas.read(buffer, new JBurstFramesCollection(null));
+        assertEquals(1234, buffer.getInt());
+    }
+
+    @Test
+    public void oversizedCountsAreRejected()
+    {
+        assertCorrupt(header(Integer.MAX_VALUE, 0));
+        assertCorrupt(header(0x7FFFFFF, 0)); // Overflows when multiplied by the record size
+        assertCorrupt(header(0, Integer.MAX_VALUE));
+        assertCorrupt(header(-1, 0));
+    }
+
+    @Test
+    public void negativeNameLengthIsRejected()
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(16 + 4);
+        buffer.putInt(JBurstBinaryAtlas.MAGIC).putInt(JBurstBinaryAtlas.VERSION).putInt(0).putInt(1);
+        buffer.putInt(-5).flip();
+
+        assertCorrupt(buffer);
+    }
+
+    @Test
+    public void truncatedAtlasIsRejected() throws IOException
+    {
+        JBurstFramesCollection written = new JBurstFramesCollection(null);
+        written.addAtlasFrame(new Rectangle(0, 0, 32, 32), new Point(32, 32), new Point(0, 0), "idle0000");
+
+        ByteBuffer buffer = toBuffer(written);
+        buffer.limit(buffer.limit() - 3);
+
+        assertCorrupt(buffer);
+    }
+
+    private static ByteBuffer toBuffer(JBurstFramesCollection frames) throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JBurstBinaryAtlas.write(frames, out);
+
+        return ByteBuffer.wrap(out.toByteArray());
+    }
+
+    private static ByteBuffer header(int frameCount, int nameCount)
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(16 + 64);
+        buffer.putInt(JBurstBinaryAtlas.MAGIC).putInt(JBurstBinaryAtlas.VERSION).putInt(frameCount).putInt(nameCount);
+        buffer.position(0);
+
+        return buffer;
+    }
+
+    private static void assertCorrupt(ByteBuffer buffer)
+    {
+        try
+        {
+            JBurstBinaryAtlas.read(buffer, new JBurstFramesCollection(null));
+            fail("Expected an IOException");
+        }
+        catch(IOException e) { }
+    }
+}
@@ -0,0 +1,98 @@
+package com.github.jbb248.jburst.graphics.frames;
+
+import static org.junit.Assert.assertEquals;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+
+import org.junit.Test;
+
+import com.github.jbb248.jburst.graphics.JBurstGraphic;
+
+public class JBurstFrameTest
+{
+    private static final int RED = Color.RED.getRGB(), GREEN = Color.GREEN.getRGB(), BLUE = Color.BLUE.getRGB();
+
+    private static final int EMPTY = 0;
+
+    @Test
+    public void framesPaintTheirRegion()
+    {
+        JBurstFrame frame = frame(new Point(4, 2), new Point());
+
+        assertRow(paint(frame, 1, 0, 1, false, false), 0, EMPTY, RED, RED, GREEN, GREEN, EMPTY);
+    }
+
+    @Test
+    public void flipXMirrorsHorizontally()
+    {
+        JBurstFrame frame = frame(new Point(4, 2), new Point());
+
+        assertRow(paint(frame, 1, 0, 1, true, false), 0, EMPTY, GREEN, GREEN, RED, RED, EMPTY);
+    }
+
+    @Test
+    public void flipYMirrorsVertically()
+    {
+        JBurstFrame frame = frame(new Point(4, 2), new Point());
+
+        BufferedImage image = paint(frame, 0, 0, 1, false, true);
+        assertRow(image, 0, BLUE, BLUE, BLUE, BLUE);
+        assertRow(image, 1, RED, RED, GREEN, GREEN);
+    }
+
+    @Test
+    public void trimmedFramesFlipWithinTheirSourceSize()
+    {
+        // Trimmed from an 8 pixel wide image, where it sat a pixel from the left
+        JBurstFrame frame = frame(new Point(8, 2), new Point(1, 0));
+
+        assertRow(paint(frame, 0, 0, 1, false, false), 0, EMPTY, RED, RED, GREEN, GREEN, EMPTY, EMPTY, EMPTY);
+        assertRow(paint(frame, 0, 0, 1, true, false), 0, EMPTY, EMPTY, EMPTY, GREEN, GREEN, RED, RED, EMPTY);
+    }
+
+    @Test
+    public void scaledFramesStretchFromTheirCorner()
+    {
+        JBurstFrame frame = frame(new Point(4, 2), new Point());
+
+        BufferedImage image = paint(frame, 0, 0, 2, true, false);
+        assertRow(image, 0, GREEN, GREEN, GREEN, GREEN, RED, RED, RED, RED);
+        assertRow(image, 3, BLUE, BLUE, BLUE, BLUE, BLUE, BLUE, BLUE, BLUE);
+    }
+
+    /**
+     * Returns a 4 by 2 frame whose top row is red on the left and green on the right, with a blue bottom row
+     */
+    private static JBurstFrame frame(Point sourceSize, Point offset)
+    {
+        BufferedImage image = new BufferedImage(4, 2, BufferedImage.TYPE_INT_ARGB);
+        for(int x = 0; x < 4; x++)
+        {
+            image.setRGB(x, 0, x < 2 ? RED : GREEN);
+            image.setRGB(x, 1, BLUE);
+        }
+
+        JBurstFramesCollection frames = new JBurstFramesCollection(new JBurstGraphic(null, image));
+        return frames.addAtlasFrame(new Rectangle(0, 0, 4, 2), sourceSize, offset, "frame");
+    }
+
+    private static BufferedImage paint(JBurstFrame frame, int x, int y, double scale, boolean flipX, boolean flipY)
+    {
+        BufferedImage image = new BufferedImage(8, 4, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        frame.paint(graphics, x, y, scale, scale, flipX, flipY);
+        graphics.dispose();
+
+        return image;
+    }
+
+    private static void assertRow(BufferedImage image, int y, int... expected)
+    {
+        for(int x = 0; x < expected.length; x++)
+            assertEquals("Pixel at (" + x + ", " + y + ")", expected[x], image.getRGB(x, y));
+    }
+}
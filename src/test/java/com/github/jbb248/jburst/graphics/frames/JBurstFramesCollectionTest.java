@@ -0,0 +1,58 @@
+package com.github.jbb248.jburst.graphics.frames;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+
+import org.junit.Test;
+
+public class JBurstFramesCollectionTest
+{
+    @Test
+    public void prefixMatchesComeInStoredOrder()
+    {
+        JBurstFramesCollection frames = frames("walk0001", "idle0000", "walk0000", "walk0002");
+
+        assertArrayEquals(new int[] { 0, 2, 3 }, frames.getFrameIndicesByPrefix("walk"));
+        assertArrayEquals(new int[] { 1 }, frames.getFrameIndicesByPrefix("idle"));
+        assertArrayEquals(new int[0], frames.getFrameIndicesByPrefix("run"));
+
+        // Remembered results aren't handed out to be modified
+        frames.getFrameIndicesByPrefix("walk")[0] = 99;
+        assertArrayEquals(new int[] { 0, 2, 3 }, frames.getFrameIndicesByPrefix("walk"));
+    }
+
+    @Test
+    public void prefixLookupSeesPushedFrames()
+    {
+        JBurstFramesCollection frames = frames("walk0000", "walk0002");
+        assertArrayEquals(new int[] { 0, 1 }, frames.getFrameIndicesByPrefix("walk"));
+
+        frames.addAtlasFrame(new Rectangle(0, 0, 8, 8), new Point(8, 8), new Point(), "walk0001");
+        assertArrayEquals(new int[] { 0, 1, 2 }, frames.getFrameIndicesByPrefix("walk"));
+    }
+
+    @Test
+    public void prefixLookupSeesRenamedFramesOnceInvalidated()
+    {
+        JBurstFramesCollection frames = frames("walk0000", "walk0001", "idle0000");
+        assertArrayEquals(new int[] { 0, 1 }, frames.getFrameIndicesByPrefix("walk"));
+
+        frames.frames.get(0).name = "run0000";
+        frames.frames.get(2).name = "walk0002";
+        frames.invalidateNameIndex();
+
+        assertArrayEquals(new int[] { 1, 2 }, frames.getFrameIndicesByPrefix("walk"));
+        assertArrayEquals(new int[] { 0 }, frames.getFrameIndicesByPrefix("run"));
+    }
+
+    private static JBurstFramesCollection frames(String... names)
+    {
+        JBurstFramesCollection frames = new JBurstFramesCollection(null);
+        for(String name : names)
+            frames.addAtlasFrame(new Rectangle(0, 0, 8, 8), new Point(8, 8), new Point(), name);
+
+        return frames;
+    }
+}
@@ -0,0 +1,131 @@
+package com.github.jbb248.jburst.graphics.frames;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import com.github.jbb248.jburst.util.XmlParser;
+
+/**
+ * Compares parsing a Sparrow description through the old DOM path against the streaming parser.
+ * <p>
+ * Not run as part of the tests. After {@code mvn test-compile}, run from the project root with
+ * <pre>
+ * java -cp target/classes:target/test-classes com.github.jbb248.jburst.graphics.frames.JBurstSparrowBenchmark [subtextures] [rounds]
+ * </pre>
+ * The description holds {@code subtextures} trimmed SubTextures (5000 by default).
+ * Each of {@code rounds} rounds (10 by default) parses it 20 times per path, after 5 rounds of warm-up,
+ * and prints the average time and bytes allocated per parse.
+ * <p>
+ * <i>The DOM path only walks the tree and reads the attributes, as {@code fromSparrow()} did before.
+ * The streaming path also builds the frames.</i>
+ */
+@SuppressWarnings("deprecation")
+public class JBurstSparrowBenchmark
+{
+    private static final int PARSES_PER_ROUND = 20;
+    private static final int WARMUP_ROUNDS = 5;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static long _sink;
+
+    public static void main(String[] args) throws IOException
+    {
+        int subtextures = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        File description = File.createTempFile("sparrow-benchmark", ".xml");
+        description.deleteOnExit();
+        Files.write(description.toPath(), sparrow(subtextures).getBytes(StandardCharsets.UTF_8));
+
+        System.out.println(String.format("%d SubTextures, %d parses per round, %s %s",
+            subtextures, PARSES_PER_ROUND, System.getProperty("java.vm.name"), System.getProperty("java.version")));
+
+        for(int round = -WARMUP_ROUNDS; round < rounds; round++)
+        {
+            String dom = measure(() -> parseDom(description));
+            String stax = measure(() -> parseStax(description));
+
+            if(round >= 0)
+                System.out.println(String.format("round %2d  DOM: %s  StAX: %s", round, dom, stax));
+        }
+
+        // Printed so neither path can be optimized away
+        System.out.println("checksum " + _sink);
+    }
+
+    private static String sparrow(int subtextures)
+    {
+        StringBuilder xml = new StringBuilder("<?xml version=\"1.0\" encoding=\"utf-8\"?>\n<TextureAtlas imagePath=\"sheet.png\">\n");
+        for(int i = 0; i < subtextures; i++)
+        {
+            xml.append(String.format(
+                "  <SubTexture name=\"frame%04d\" x=\"%d\" y=\"%d\" width=\"60\" height=\"58\" frameX=\"-2\" frameY=\"-3\" frameWidth=\"64\" frameHeight=\"64\"/>\n",
+                i, (i % 64) * 64, (i / 64) * 64));
+        }
+
+        return xml.append("</TextureAtlas>\n").toString();
+    }
+
+    private static long parseDom(File description)
+    {
+        Document document = XmlParser.parse(description.getPath());
+        NodeList list = document.getElementsByTagName("SubTexture");
+
+        long sum = 0;
+        for(int i = 0; i < list.getLength(); i++)
+        {
+            Element element = (Element) list.item(i);
+            sum += element.getAttribute("name").length();
+            sum += Integer.parseInt(element.getAttribute("x")) + Integer.parseInt(element.getAttribute("y"));
+            sum += Integer.parseInt(element.getAttribute("width")) + Integer.parseInt(element.getAttribute("height"));
+            sum += Integer.parseInt(element.getAttribute("frameX")) + Integer.parseInt(element.getAttribute("frameY"));
+            sum += Integer.parseInt(element.getAttribute("frameWidth")) + Integer.parseInt(element.getAttribute("frameHeight"));
+        }
+
+        return sum;
+    }
+
+    private static long parseStax(File description)
+    {
+        try(InputStream stream = new BufferedInputStream(new FileInputStream(description)))
+        {
+            return JBurstAtlasFrames.parseSparrow(null, stream, description.getPath()).frames.size();
+        }
+        catch(IOException e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static String measure(Parse parse)
+    {
+        long thread = Thread.currentThread().getId();
+        long allocated = THREADS.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+
+        for(int i = 0; i < PARSES_PER_ROUND; i++)
+            _sink += parse.run();
+
+        double millis = (System.nanoTime() - start) / 1e6 / PARSES_PER_ROUND;
+        double megabytes = (THREADS.getThreadAllocatedBytes(thread) - allocated) / 1e6 / PARSES_PER_ROUND;
+
+        return String.format("%6.2f ms %5.2f MB", millis, megabytes);
+    }
+
+    private interface Parse
+    {
+        long run();
+    }
+}
@@ -0,0 +1,150 @@
+package com.github.jbb248.jburst.graphics.frames;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.awt.Dimension;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.jbb248.jburst.graphics.JBurstGraphic;
+
+public class JBurstSparrowTest
+{
+    private static final String SPARROW = 
+        "<TextureAtlas imagePath=\"sheet.png\">\n" +
+        "  <SubTexture name=\"idle0000\" x=\"0\" y=\"0\" width=\"32\" height=\"32\"/>\n" +
+        "  <SubTexture name=\"idle0001\" x=\"32\" y=\"0\" width=\"24\" height=\"28\" frameX=\"-4\" frameY=\"-2\" frameWidth=\"32\" frameHeight=\"32\"/>\n" +
+        "</TextureAtlas>\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static JBurstGraphic sheet()
+    {
+        return new JBurstGraphic("sparrow-sheet", new BufferedImage(64, 32, BufferedImage.TYPE_INT_ARGB));
+    }
+
+    private static InputStream stream(String xml)
+    {
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void assertSheetFrames(JBurstGraphic graphic, JBurstAtlasFrames frames)
+    {
+        assertNotNull(frames);
+        assertEquals(2, frames.frames.size());
+
+        // Untrimmed frames are their own source size
+        JBurstFrame untrimmed = frames.frames.get(0);
+        assertEquals("idle0000", untrimmed.name);
+        assertEquals(new Rectangle(0, 0, 32, 32), untrimmed.frame);
+        assertEquals(new Point(0, 0), untrimmed.offset);
+        assertEquals(new Dimension(32, 32), untrimmed.sourceSize);
+        assertSame(graphic, untrimmed.graphic);
+
+        // Trimmed frames are offset into their untrimmed size
+        JBurstFrame trimmed = frames.frames.get(1);
+        assertEquals("idle0001", trimmed.name);
+        assertEquals(new Rectangle(32, 0, 24, 28), trimmed.frame);
+        assertEquals(new Point(4, 2), trimmed.offset);
+        assertEquals(new Dimension(32, 32), trimmed.sourceSize);
+    }
+
+    @Test
+    public void framesAreReadFromAStream()
+    {
+        JBurstGraphic graphic = sheet();
+        assertSheetFrames(graphic, JBurstAtlasFrames.fromSparrow(graphic, stream(SPARROW)));
+    }
+
+    @Test
+    public void framesAreReadFromAResource()
+    {
+        JBurstGraphic graphic = sheet();
+        assertSheetFrames(graphic, JBurstAtlasFrames.fromSparrowResource(graphic, "atlases/sheet.xml"));
+
+        assertNull(JBurstAtlasFrames.fromSparrowResource(graphic, "atlases/missing.xml"));
+    }
+
+    @Test
+    public void framesAreReadFromAFile() throws IOException
+    {
+        File description = folder.newFile("sheet.xml");
+        Files.write(description.toPath(), SPARROW.getBytes(StandardCharsets.UTF_8));
+
+        JBurstGraphic graphic = sheet();
+        assertSheetFrames(graphic, JBurstAtlasFrames.fromSparrow(graphic, description.getPath()));
+    }
+
+    @Test
+    public void emptyTrimAttributesAreUntrimmed()
+    {
+        String xml = "<TextureAtlas><SubTexture name=\"a\" x=\"0\" y=\"0\" width=\"8\" height=\"6\" frameX=\"\" frameY=\"\" frameWidth=\"\" frameHeight=\"\"/></TextureAtlas>";
+        JBurstAtlasFrames frames = JBurstAtlasFrames.fromSparrow(sheet(), stream(xml));
+
+        assertEquals(new Point(0, 0), frames.frames.get(0).offset);
+        assertEquals(new Dimension(8, 6), frames.frames.get(0).sourceSize);
+    }
+
+    @Test
+    public void malformedDocumentsReturnNull()
+    {
+        assertNull(JBurstAtlasFrames.fromSparrow(sheet(), stream("<TextureAtlas><SubTexture name=\"a\"")));
+        assertNull(JBurstAtlasFrames.fromSparrow(sheet(), stream("<TextureAtlas><SubTexture name=\"a\" x=\"one\"/></TextureAtlas>")));
+    }
+
+    @Test
+    public void externalEntitiesAreNeverRead() throws IOException
+    {
+        File external = folder.newFile("external.xml");
+        Files.write(external.toPath(), "<SubTexture name=\"leaked\" x=\"0\" y=\"0\" width=\"8\" height=\"8\"/>".getBytes(StandardCharsets.UTF_8));
+
+        String xml = 
+            "<?xml version=\"1.0\"?>\n" +
+            "<!DOCTYPE TextureAtlas [<!ENTITY leak SYSTEM \"" + external.toURI() + "\">]>\n" +
+            "<TextureAtlas>&leak;</TextureAtlas>";
+
+        // The entity is left undeclared, so the document is rejected rather than reading the file
+        assertNull(JBurstAtlasFrames.fromSparrow(sheet(), stream(xml)));
+    }
+
+    @Test
+    public void externalDtdsAreNeverRead() throws IOException
+    {
+        File dtd = folder.newFile("atlas.dtd");
+        Files.write(dtd.toPath(), "<!ATTLIST SubTexture name CDATA \"leaked\">".getBytes(StandardCharsets.UTF_8));
+
+        String xml = 
+            "<?xml version=\"1.0\"?>\n" +
+            "<!DOCTYPE TextureAtlas SYSTEM \"" + dtd.toURI() + "\">\n" +
+            "<TextureAtlas><SubTexture x=\"0\" y=\"0\" width=\"8\" height=\"8\"/></TextureAtlas>";
+
+        JBurstAtlasFrames frames = JBurstAtlasFrames.fromSparrow(sheet(), stream(xml));
+        assertEquals("", frames.frames.get(0).name);
+    }
+
+    @Test
+    public void internalEntitiesAreNotExpanded()
+    {
+        String xml = 
+            "<?xml version=\"1.0\"?>\n" +
+            "<!DOCTYPE TextureAtlas [<!ENTITY a \"aaaaaaaaaa\"><!ENTITY b \"&a;&a;&a;&a;&a;&a;&a;&a;&a;&a;\">]>\n" +
+            "<TextureAtlas><SubTexture name=\"&b;\" x=\"0\" y=\"0\" width=\"8\" height=\"8\"/></TextureAtlas>";
+
+        assertNull(JBurstAtlasFrames.fromSparrow(sheet(), stream(xml)));
+    }
+}
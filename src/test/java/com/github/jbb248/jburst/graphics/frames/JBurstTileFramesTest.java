@@ -0,0 +1,83 @@
+package com.github.jbb248.jburst.graphics.frames;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+
+import org.junit.Test;
+
+import com.github.jbb248.jburst.JBurstSprite;
+import com.github.jbb248.jburst.graphics.JBurstGraphic;
+
+public class JBurstTileFramesTest
+{
+    @Test
+    public void slicingFillsTheSheetRowByRow()
+    {
+        JBurstTileFrames frames = JBurstTileFrames.fromGraphic(graphic(30, 20), 10, 10);
+
+        assertEquals(6, frames.frames.size());
+        assertEquals(new Rectangle(0, 0, 10, 10), frames.frames.get(0).frame);
+        assertEquals(new Rectangle(20, 0, 10, 10), frames.frames.get(2).frame);
+        assertEquals(new Rectangle(0, 10, 10, 10), frames.frames.get(3).frame);
+        assertEquals(10, frames.getFrameWidth());
+        assertEquals(10, frames.getFrameHeight());
+    }
+
+    @Test
+    public void missingSizesUseTheShorterSide()
+    {
+        JBurstTileFrames frames = JBurstTileFrames.fromGraphic(graphic(40, 10), 0, 0);
+
+        assertEquals(4, frames.frames.size());
+        assertEquals(10, frames.getFrameWidth());
+        assertEquals(10, frames.getFrameHeight());
+    }
+
+    @Test
+    public void sameSlicingIsShared()
+    {
+        JBurstGraphic graphic = graphic(40, 40);
+
+        JBurstTileFrames frames = JBurstTileFrames.fromGraphic(graphic, 10, 10);
+        assertSame(frames, JBurstTileFrames.fromGraphic(graphic, 10, 10));
+        assertNotSame(frames, JBurstTileFrames.fromGraphic(graphic, 20, 20));
+        assertNotSame(frames, JBurstTileFrames.fromGraphic(graphic(40, 40), 10, 10));
+    }
+
+    @Test
+    public void sharedFramesSurviveUntilTheLastSpriteIsDestroyed()
+    {
+        JBurstGraphic graphic = graphic(40, 40);
+        JBurstSprite first = new JBurstSprite().loadAnimatedGraphic(graphic, 10, 10);
+        JBurstSprite second = new JBurstSprite().loadAnimatedGraphic(graphic, 10, 10);
+
+        JBurstFramesCollection frames = first.getFrames();
+        assertSame(frames, second.getFrames());
+        assertEquals(2, frames.getUseCount());
+
+        first.destroy();
+        assertEquals(1, frames.getUseCount());
+        assertEquals(16, frames.frames.size());
+        assertNotNull(second.getFrames().frames.get(0).graphic);
+
+        // Still in use, so releasing the graphic's collections keeps it
+        graphic.releaseFrameCollections();
+        assertSame(frames, JBurstTileFrames.fromGraphic(graphic, 10, 10));
+
+        second.destroy();
+        assertEquals(0, frames.getUseCount());
+
+        graphic.releaseFrameCollections();
+        assertNotSame(frames, JBurstTileFrames.fromGraphic(graphic, 10, 10));
+    }
+
+    private static JBurstGraphic graphic(int width, int height)
+    {
+        return new JBurstGraphic(null, new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB));
+    }
+}
@@ -0,0 +1,152 @@
+package com.github.jbb248.jburst.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.imageio.ImageIO;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.jbb248.jburst.graphics.JBurstGraphic;
+import com.github.jbb248.jburst.graphics.JBurstGraphicCache;
+
+public class JBurstAssetLoaderTest
+{
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void loadsOfTheSameKeyShareOneFuture() throws Exception
+    {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<String> first = JBurstAssetLoader.load("dedupe", () -> {
+            calls.incrementAndGet();
+            await(release);
+            return "loaded";
+        });
+        CompletableFuture<String> second = JBurstAssetLoader.load("dedupe", () -> {
+            calls.incrementAndGet();
+            return "again";
+        });
+
+        assertSame(first, second);
+
+        release.countDown();
+        assertEquals("loaded", second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void finishedKeysCanBeLoadedAgain() throws Exception
+    {
+        CompletableFuture<Integer> first = JBurstAssetLoader.load("again", () -> 1);
+        assertEquals(Integer.valueOf(1), first.get(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Integer> second = waitUntilFreed("again", () -> 2);
+        assertNotSame(first, second);
+        assertEquals(Integer.valueOf(2), second.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void failedLoadsCompleteExceptionally() throws Exception
+    {
+        CompletableFuture<Object> failed = JBurstAssetLoader.load("failing", () -> {
+            throw new IllegalStateException("expected");
+        });
+
+        try
+        {
+            failed.get(5, TimeUnit.SECONDS);
+            fail("Expected the load to fail");
+        }
+        catch(ExecutionException e)
+        {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+
+        // A failure doesn't keep the key from being loaded again
+        assertEquals("fine", waitUntilFreed("failing", () -> "fine").get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void graphicsLoadedTogetherAreReadOnce() throws Exception
+    {
+        File file = folder.newFile("image.png");
+        ImageIO.write(new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB), "png", file);
+
+        String path = file.getAbsolutePath();
+        CompletableFuture<JBurstGraphic> first = JBurstGraphic.fromFileAsync(path);
+        CompletableFuture<JBurstGraphic> second = JBurstGraphic.fromFileAsync(path);
+
+        JBurstGraphic graphic = first.get(5, TimeUnit.SECONDS);
+        assertSame(graphic, second.get(5, TimeUnit.SECONDS));
+        assertEquals(4, graphic.getWidth());
+
+        // Already cached, so no load is needed
+        assertTrue(JBurstGraphic.fromFileAsync(path).isDone());
+        assertSame(graphic, JBurstGraphic.fromFileAsync(path).get());
+
+        graphic.destroy();
+    }
+
+    @Test
+    public void asyncLoadsCountOneMiss() throws Exception
+    {
+        File file = folder.newFile("counted.png");
+        ImageIO.write(new BufferedImage(4, 4, BufferedImage.TYPE_INT_ARGB), "png", file);
+
+        String path = file.getAbsolutePath();
+        JBurstGraphicCache cache = JBurstGraphic.getCache();
+        cache.resetStats();
+
+        JBurstGraphic graphic = JBurstGraphic.fromFileAsync(path).get(5, TimeUnit.SECONDS);
+        assertEquals(1, cache.getStats().misses);
+        assertEquals(0, cache.getStats().hits);
+
+        JBurstGraphic.fromFileAsync(path).get();
+        assertEquals(1, cache.getStats().misses);
+        assertEquals(1, cache.getStats().hits);
+
+        graphic.destroy();
+    }
+
+    /**
+     * Loads under {@code key} once the previous load under it has been forgotten
+     */
+    private static <T> CompletableFuture<T> waitUntilFreed(String key, Supplier<T> loader) throws InterruptedException
+    {
+        // The key is forgotten just after its future completes
+        for(int i = 0; i < 500 && JBurstAssetLoader.getNumLoading() > 0; i++)
+            Thread.sleep(1);
+
+        return JBurstAssetLoader.load(key, loader);
+    }
+
+    private static void await(CountDownLatch latch)
+    {
+        try
+        {
+            latch.await(5, TimeUnit.SECONDS);
+        }
+        catch(InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
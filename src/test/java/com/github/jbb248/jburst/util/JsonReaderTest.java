@@ -0,0 +1,230 @@
+package com.github.jbb248.jburst.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import com.github.jbb248.jburst.graphics.JBurstGraphic;
+import com.github.jbb248.jburst.graphics.frames.JBurstAtlasFrames;
+import com.github.jbb248.jburst.graphics.frames.JBurstFrame;
+
+public class JsonReaderTest
+{
+    @Test
+    public void leadingBomAndJunkAreSkipped() throws IOException
+    {
+        byte[] json = "\uFEFFjunk {\"a\": 1}".getBytes(StandardCharsets.UTF_8);
+
+        JsonReader reader = new JsonReader(new ByteArrayInputStream(json));
+        reader.beginObject();
+        assertEquals("a", reader.nextName());
+        assertEquals(1, reader.nextInt());
+        reader.endObject();
+
+        assertEquals(JsonReader.Token.END_DOCUMENT, reader.peek());
+    }
+
+    @Test
+    public void escapesAreDecoded() throws IOException
+    {
+        assertEquals("a\"b\\c/d\b\f\n\r\t", string("\"a\\\"b\\\\c\\/d\\b\\f\\n\\r\\t\""));
+        assertEquals("\u00e9\u4e2d", string("\"\\u00e9\\u4E2D\""));
+        assertEquals("\u00e9", string("\"\u00e9\""));
+    }
+
+    @Test
+    public void invalidEscapesAreRejected() throws IOException
+    {
+        assertMalformed("[\"\\x\"]");
+        assertMalformed("[\"\\u12G4\"]");
+        assertMalformed("[\"abc");
+    }
+
+    @Test
+    public void malformedNumbersAreRejected() throws IOException
+    {
+        assertMalformed("[1.2.3]");
+        assertMalformed("[1-2]");
+        assertMalformed("[--5]");
+        assertMalformed("[-]");
+        assertMalformed("[-, 1]");
+        assertMalformed("[01]");
+        assertMalformed("[1.]");
+        assertMalformed("[.5]");
+        assertMalformed("[1e]");
+        assertMalformed("[1e+]");
+        assertMalformed("[12abc]");
+    }
+
+    @Test
+    public void longNumbersDontOverflow() throws IOException
+    {
+        JsonReader reader = reader("[12345678901234567890, -99999999999999999999, 123456789012345678]");
+        reader.beginArray();
+        assertEquals(12345678901234567890.0, reader.nextDouble(), 0);
+        assertEquals(-99999999999999999999.0, reader.nextDouble(), 0);
+        assertEquals(123456789012345678.0, reader.nextDouble(), 0);
+        reader.endArray();
+    }
+
+    @Test
+    public void surrogatePairsAreJoined() throws IOException
+    {
+        assertEquals("\uD83D\uDE00", string("\"\\uD83D\\uDE00\""));
+    }
+
+    @Test
+    public void loneSurrogatesKeepWhatFollows() throws IOException
+    {
+        assertEquals("\uFFFD\n", string("\"\\uD83D\\n\""));
+        assertEquals("\uFFFDx", string("\"\\uD83Dx\""));
+        assertEquals("\uFFFDA", string("\"\\uD83D\\u0041\""));
+        assertEquals("\uFFFD\uD83D\uDE00", string("\"\\uD83D\\uD83D\\uDE00\""));
+        assertEquals("\uFFFD", string("\"\\uD83D\""));
+        assertEquals("\uFFFDa", string("\"\\uDE00a\""));
+    }
+
+    @Test
+    public void numbersAreRead() throws IOException
+    {
+        JsonReader reader = reader("[-12, 0, 3.75, -2.5e2, 1E3, 7e-1, 9.9]");
+        reader.beginArray();
+        assertEquals(-12, reader.nextInt());
+        assertEquals(0, reader.nextInt());
+        assertEquals(3.75, reader.nextDouble(), 0);
+        assertEquals(-250, reader.nextDouble(), 0);
+        assertEquals(1000, reader.nextInt());
+        assertEquals(0.7, reader.nextDouble(), 1e-12);
+        assertEquals(9, reader.nextInt());
+        reader.endArray();
+    }
+
+    @Test
+    public void nestedValuesAreSkipped() throws IOException
+    {
+        JsonReader reader = reader(
+            "{\"skip\": {\"a\": [1, {\"b\": [true, false, null]}, \"]}\"], \"c\": {}}, \"keep\": \"yes\"}");
+
+        reader.beginObject();
+        assertEquals("skip", reader.nextName());
+        reader.skipValue();
+        assertEquals("keep", reader.nextName());
+        assertEquals("yes", reader.nextString());
+        assertFalse(reader.hasNext());
+        reader.endObject();
+    }
+
+    @Test
+    public void hashAndArrayAtlasesMatch()
+    {
+        String hash =
+            "{\"frames\": {\n" +
+            "  \"walk0001\": " + frame(16, 0, 1) + ",\n" +
+            "  \"Idle0000\": " + frame(0, 0, 2) + ",\n" +
+            "  \"walk0000\": " + frame(8, 0, 3) + "\n" +
+            "}, \"meta\": {\"image\": \"sheet.png\", \"size\": {\"w\": 64, \"h\": 64}}}";
+        String array =
+            "{\"frames\": [\n" +
+            "  {\"filename\": \"Idle0000\", \"frame\": " + frame(0, 0, 2).substring(10) + ",\n" +
+            "  {\"filename\": \"walk0000\", \"frame\": " + frame(8, 0, 3).substring(10) + ",\n" +
+            "  {\"filename\": \"walk0001\", \"frame\": " + frame(16, 0, 1).substring(10) + "\n" +
+            "]}";
+
+        JBurstAtlasFrames fromHash = atlas(hash);
+        JBurstAtlasFrames fromArray = atlas(array);
+
+        // Hash entries are sorted by name without regard to case, as they always have been
+        assertEquals(3, fromHash.frames.size());
+        assertEquals(fromArray.frames.size(), fromHash.frames.size());
+        for(int i = 0; i < fromArray.frames.size(); i++)
+        {
+            JBurstFrame expected = fromArray.frames.get(i);
+            JBurstFrame actual = fromHash.frames.get(i);
+
+            assertEquals(expected.name, actual.name);
+            assertEquals(expected.frame, actual.frame);
+            assertEquals(expected.offset, actual.offset);
+            assertEquals(expected.sourceSize, actual.sourceSize);
+        }
+        assertEquals(1, fromHash.getFrameIndicesByPrefix("Idle").length);
+        assertEquals(2, fromHash.getFrameIndicesByPrefix("walk").length);
+    }
+
+    @Test
+    public void hashKeysNameFramesOverFilenames()
+    {
+        String hash =
+            "{\"frames\": {\n" +
+            "  \"idle0000\": {\"filename\": \"other.png\", " + frame(0, 0, 0).substring(1) + "\n" +
+            "}}";
+
+        JBurstAtlasFrames frames = atlas(hash);
+        assertEquals(1, frames.frames.size());
+        assertEquals("idle0000", frames.frames.get(0).name);
+    }
+
+    @Test
+    public void atlasesWithMalformedNumbersAreNull()
+    {
+        assertNull(atlas("{\"frames\": [" + frame(0, 0, 0).replace("\"x\": 0", "\"x\": 1.2.3") + "]}"));
+        assertNull(atlas("{\"frames\": [" + frame(0, 0, 0).replace("\"x\": 0", "\"x\": -") + "]}"));
+    }
+
+    /**
+     * Returns a hash entry's value, whose members after the first 10 characters also make up an array entry
+     */
+    private static String frame(int x, int y, int offset)
+    {
+        return "{\"frame\": " +
+            "{\"x\": " + x + ", \"y\": " + y + ", \"w\": 8, \"h\": 8}, \"rotated\": false, \"trimmed\": true, " +
+            "\"spriteSourceSize\": {\"x\": " + offset + ", \"y\": " + offset + ", \"w\": 8, \"h\": 8}, " +
+            "\"sourceSize\": {\"w\": 10, \"h\": 10}}";
+    }
+
+    private static JBurstAtlasFrames atlas(String json)
+    {
+        JBurstGraphic graphic = new JBurstGraphic("sheet", new BufferedImage(64, 64, BufferedImage.TYPE_INT_ARGB));
+        return JBurstAtlasFrames.fromJsonPacker(graphic, ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static JsonReader reader(String json)
+    {
+        return new JsonReader(ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Reads {@code json} as the only element of an array
+     */
+    private static String string(String json) throws IOException
+    {
+        JsonReader reader = reader("[" + json + "]");
+        reader.beginArray();
+        String value = reader.nextString();
+        reader.endArray();
+
+        return value;
+    }
+
+    private static void assertMalformed(String json) throws IOException
+    {
+        try
+        {
+            JsonReader reader = reader(json);
+            reader.beginArray();
+            while(reader.hasNext())
+                reader.skipValue();
+            reader.endArray();
+            fail("Expected malformed JSON");
+        }
+        catch(IOException e) { }
+    }
+}